@@ -0,0 +1,27 @@
+package model;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+/*Source of events of a frameWorld that are kept on disk instead of in memory, grouped into one page per initial
+ *frame; a page is named after the id of its initial frame (in decimal), which stays the same when the frame is renamed.
+ *Failures to read a page are reported as unchecked exceptions, since pages are read whenever events are accessed*/
+public interface EventPager {
+    // EFFECTS: return the names of all pages
+    Set<String> getPageNames();
+
+    // EFFECTS: return the number of events in the page named pageName
+    int getPageSize(String pageName);
+
+    // EFFECTS: return the sum of the content hashes of all events in all pages
+    long getPagedContentHash();
+
+    // EFFECTS: return the names of the pages that may hold an event named eventName; the page holding it (if any) is
+    //          always included, but others may be included as well
+    Collection<String> findPagesOfEvent(String eventName);
+
+    // MODIFIES: initialFrame
+    // EFFECTS: construct the events in the page named pageName as observed in initialFrame, and return them
+    List<PhysicalEvent> loadPage(String pageName, RefFrame initialFrame);
+}
@@ -1,6 +1,8 @@
 package model;
 
 
+import model.exceptions.EmptyNameException;
+import model.exceptions.ExceedSpeedOfLightException;
 import model.exceptions.FrameConstructException;
 import model.exceptions.SameNameException;
 import org.json.JSONArray;
@@ -8,86 +10,179 @@ import org.json.JSONObject;
 import persistence.Writable;
 
 import java.util.*;
+import java.util.function.Consumer;
 
 /*A physical universe containing a list of Frames and Events;
  *it must include an absolute stationary frame;
  *all frames must have different names so that they can be traced by their name*/
 public class FrameWorld implements ContainsEvents, Writable {
     public static final String ABSOLUTE_STATIONARY_FRAME_NAME = "Absolute Stationary Frame";
+    public static final long ABSOLUTE_STATIONARY_FRAME_ID = 0; // the same in every frameWorld, since it is not saved
     public static final String CURRENT_FRAMEWORLD_NAME = "Current FrameWorld";
     public static final String TEMPORARY_FRAMEWORLD = "Saved FrameWorld";
 
     private String name; // name used to indicate whether this is the current frame world or a temporary loaded one
-    private List<PhysicalObject> frameList; //the list of frames
-    private List<PhysicalObject> eventList; //the list of events
+    private PhysicalObjectList frameList; //the list of frames
+    private PhysicalObjectList eventList; //the list of events
+    private Map<String, PhysicalObject> frameIndex; //frames in frameList keyed by their names
+    private Map<String, PhysicalObject> eventIndex; //events in eventList keyed by their names
+    private IdIndex<RefFrame> frameIds; //frames in frameList keyed by their ids
     private RefFrame absoluteStationaryFrame; //the stationary frame(ideal)
     private RefFrame currentReference; //the current reference frame
+    private long objectsHash; //sum of the content hashes of all frames and events; frames in this must only be
+                              //renamed or edited through renameFrame and editFrame to keep it up to date
+    private long modificationCount; //number of changes made to this so far
+    private long objectsVersion; //number of changes made to the frames and events in memory so far, which make views
+                                 //of this from any reference frame invalid
+    private ViewCache viewCache; //recently used views of this from other reference frames, for the current version
+    private EventPager eventPager; //source of events kept on disk, paged in on demand; null if all are in memory
+    private Map<RefFrame, String> pagedOutFrames; //frames whose observed events are only on disk, with their pages
+    private LinkedHashMap<RefFrame, String> residentPages; //pages in memory that are unchanged since they were paged
+                                                           //in, least recently used first; they may be paged out
+    private int residentEventCount; //number of events in residentPages
+    private int eventBudget; //number of events in residentPages above which least recently used pages are paged out
 
     // EFFECTS: construct the frameWorld by initializing the frameList (containing Absolute Stationary Frame which is
     //          set to be the current reference frame) and an empty eventList.
     //          the name of this is CURRENT_FRAMEWORLD_NAME by default
-    //          The two lists are set as LinkedList to keep the order of insertion and allow convenience for deletion
-    //          of elements; maps could not work well because it is not possible to change the key of elements without
-    //          disturbing the order
+    //          The two lists are linked lists to keep the order of insertion and allow convenience for deletion
+    //          of elements, with their nodes indexed by id so that an element is removed in constant time;
+    //          maps keyed by name could not work well because it is not possible to change the key of elements without
+    //          disturbing the order; instead, two name indexes are kept alongside the lists for constant-time lookup
     public FrameWorld() throws FrameConstructException {
         name = CURRENT_FRAMEWORLD_NAME;
-        frameList = new LinkedList<PhysicalObject>();
-        eventList = new LinkedList<PhysicalObject>();
-        absoluteStationaryFrame = new RefFrame(ABSOLUTE_STATIONARY_FRAME_NAME, 0, 0, 0, 0);
+        frameList = new PhysicalObjectList();
+        eventList = new PhysicalObjectList();
+        frameIndex = new HashMap<String, PhysicalObject>();
+        eventIndex = new HashMap<String, PhysicalObject>();
+        frameIds = new IdIndex<RefFrame>();
+        absoluteStationaryFrame = new RefFrame(ABSOLUTE_STATIONARY_FRAME_ID, ABSOLUTE_STATIONARY_FRAME_NAME,
+                0, 0, 0, 0);
         frameList.add(absoluteStationaryFrame);
+        frameIndex.put(ABSOLUTE_STATIONARY_FRAME_NAME, absoluteStationaryFrame);
+        frameIds.put(ABSOLUTE_STATIONARY_FRAME_ID, absoluteStationaryFrame);
+        objectsHash = absoluteStationaryFrame.contentHash();
         currentReference = absoluteStationaryFrame;
+        pagedOutFrames = new HashMap<RefFrame, String>();
+        residentPages = new LinkedHashMap<RefFrame, String>(16, 0.75f, true);
+        viewCache = new ViewCache(ViewCache.DEFAULT_MAX_BYTES);
     }
 
     // EFFECTS: Look for frame with given frameName; if found, return the frame object; if not, return null
     public RefFrame findFrameByName(String frameName) {
-        return (RefFrame) findPhysicalObjectByName(frameName, frameList);
+        return (RefFrame) frameIndex.get(frameName);
     }
 
-    // EFFECTS: Look for event with given eventName; if found, return the events object; if not, return null
-    @Override
-    public PhysicalEvent findEventByName(String eventName) {
-        return (PhysicalEvent) findPhysicalObjectByName(eventName, eventList);
+    // EFFECTS: Look for frame with given id; if found, return the frame object; if not, return null
+    public RefFrame findFrameById(long frameId) {
+        return frameIds.get(frameId);
     }
 
-    // private helper method
-    // REQUIRES: physicalObjects is either frameList or eventList
-    // EFFECTS: return the PhysicalObject with name in physicalObjects; if not found, return null
-    private PhysicalObject findPhysicalObjectByName(String name, List<PhysicalObject> physicalObjects) {
-        for (PhysicalObject nextPhysicalObject : physicalObjects) {
-            if (name.equals(nextPhysicalObject.getName())) {
-                return nextPhysicalObject;
+    // EFFECTS: Look for event with given eventName; if found, return the events object; if not, return null;
+    //          if events are paged, pages that may hold the event are paged in first
+    @Override
+    public PhysicalEvent findEventByName(String eventName) {
+        PhysicalEvent found = (PhysicalEvent) eventIndex.get(eventName);
+        if (found != null || pagedOutFrames.isEmpty()) {
+            return found;
+        }
+        for (String nextPage : eventPager.findPagesOfEvent(eventName)) {
+            RefFrame pagedOutFrame = findPagedOutFrame(nextPage);
+            if (pagedOutFrame != null) {
+                pageIn(pagedOutFrame);
+                found = (PhysicalEvent) eventIndex.get(eventName);
+                if (found != null) {
+                    return found;
+                }
             }
         }
-
         return null;
     }
 
     // REQUIRES: newFrame is constructed with respect to the current reference frame
     // MODIFIES: this
     // EFFECTS: add newFrame to the end of frameList
-    //          throws SameNameException if there exists frame in frameList with the same name as newFrame
+    //          throws SameNameException if there exists frame in frameList with the same name or id as newFrame
     public void addFrame(PhysicalObject newFrame) throws SameNameException {
-        addPhysicalObject(newFrame, frameList);
+        addPhysicalObject(newFrame, frameList, frameIndex);
     }
 
     // REQUIRES: newEvent is constructed with respect to the current reference frame
     // MODIFIES: this
     // EFFECTS: add newEvent to the end of eventList
-    //          throws SameNameException if there exists event in eventList with the same name as newEvent
+    //          throws SameNameException if there exists event in eventList with the same name or id as newEvent
     public void addEvent(PhysicalObject newEvent) throws SameNameException {
-        addPhysicalObject(newEvent, eventList);
+        addPhysicalObject(newEvent, eventList, eventIndex);
+    }
+
+    // REQUIRES: every frame in newFrames is constructed with respect to the current reference frame
+    // MODIFIES: this
+    // EFFECTS: add all of newFrames to the end of frameList in order, logging the batch as a single entry;
+    //          throws SameNameException and adds none of them if any of newFrames has the same name or id as an
+    //          existing frame or as another one of newFrames
+    public void addFrames(List<? extends PhysicalObject> newFrames) throws SameNameException {
+        addPhysicalObjects(newFrames, frameList, frameIndex);
+    }
+
+    // REQUIRES: every event in newEvents is constructed with respect to the current reference frame
+    // MODIFIES: this
+    // EFFECTS: add all of newEvents to the end of eventList in order, logging the batch as a single entry;
+    //          throws SameNameException and adds none of them if any of newEvents has the same name or id as an
+    //          existing event or as another one of newEvents
+    public void addEvents(List<? extends PhysicalObject> newEvents) throws SameNameException {
+        addPhysicalObjects(newEvents, eventList, eventIndex);
     }
 
     // private helper
+    // REQUIRES: physicalObjects and index are either frameList and frameIndex or eventList and eventIndex
     // MODIFIES: this
-    // EFFECTS: add newPhysicalObject to the end of eventList
-    //          throws SameNameException if there exists physicalObject in given physicalObjects with the
-    //          same name as newPhysicalObject
-    private void addPhysicalObject(PhysicalObject newPhysicalObject, List<PhysicalObject> physicalObjects)
+    // EFFECTS: add all of newPhysicalObjects to the end of physicalObjects and to index as one modification;
+    //          throws SameNameException and adds none of them if any two of them, or any of them and an existing
+    //          physicalObject, have the same name or id
+    private void addPhysicalObjects(List<? extends PhysicalObject> newPhysicalObjects,
+                                    PhysicalObjectList physicalObjects, Map<String, PhysicalObject> index)
             throws SameNameException {
-        if (findPhysicalObjectByName(newPhysicalObject.getName(), physicalObjects) == null) {
+        Set<String> newNames = new HashSet<>();
+        IdIndex<PhysicalObject> newIds = new IdIndex<>();
+        for (PhysicalObject next : newPhysicalObjects) {
+            keepEventsOfInitialFrame(next);
+        }
+        for (PhysicalObject next : newPhysicalObjects) {
+            if (isNameTaken(next.getName(), index) || !newNames.add(next.getName())
+                    || physicalObjects.containsId(next.getId()) || newIds.get(next.getId()) != null) {
+                throw new SameNameException();
+            }
+            newIds.put(next.getId(), next);
+        }
+        for (PhysicalObject next : newPhysicalObjects) {
+            next.viewInGivenFrame(currentReference);
+            physicalObjects.add(next);
+            index(next, index);
+            objectsHash += next.contentHash();
+        }
+        objectsChanged();
+        String kind = physicalObjects == frameList ? "RefFrames" : "PhysicalEvents";
+        EventLog.getInstance().logEvent(
+                new Event(newPhysicalObjects.size() + " " + kind + " added to " + this.name));
+    }
+
+    // private helper
+    // MODIFIES: this
+    // REQUIRES: physicalObjects and index are either frameList and frameIndex or eventList and eventIndex
+    // MODIFIES: this
+    // EFFECTS: add newPhysicalObject to the end of physicalObjects and to index
+    //          throws SameNameException if there exists physicalObject in given physicalObjects with the
+    //          same name or id as newPhysicalObject
+    private void addPhysicalObject(PhysicalObject newPhysicalObject, PhysicalObjectList physicalObjects,
+                                   Map<String, PhysicalObject> index) throws SameNameException {
+        keepEventsOfInitialFrame(newPhysicalObject);
+        if (!isNameTaken(newPhysicalObject.getName(), index)
+                && !physicalObjects.containsId(newPhysicalObject.getId())) {
             newPhysicalObject.viewInGivenFrame(currentReference);
             physicalObjects.add(newPhysicalObject);
+            index(newPhysicalObject, index);
+            objectsHash += newPhysicalObject.contentHash();
+            objectsChanged();
             EventLog.getInstance().logEvent(
                     new Event(newPhysicalObject.getClass().getSimpleName() + " "
                             + newPhysicalObject.name + " added to " + this.name));
@@ -96,11 +191,40 @@ public class FrameWorld implements ContainsEvents, Writable {
         }
     }
 
+    // private helper
+    // REQUIRES: index is either frameIndex or eventIndex
+    // MODIFIES: this
+    // EFFECTS: add physicalObject to index by its name, and to frameIds by its id if it is a frame
+    private void index(PhysicalObject physicalObject, Map<String, PhysicalObject> index) {
+        index.put(physicalObject.getName(), physicalObject);
+        if (index == frameIndex) {
+            frameIds.put(physicalObject.getId(), (RefFrame) physicalObject);
+        }
+    }
+
+    // private helper
+    // EFFECTS: return true if a physicalObject in index is named name; events that are paged out are looked up too
+    private boolean isNameTaken(String name, Map<String, PhysicalObject> index) {
+        return index == eventIndex ? findEventByName(name) != null : index.containsKey(name);
+    }
+
+    // private helper
+    // MODIFIES: this
+    // EFFECTS: if physicalObject is an event, keep all events of its initial frame in memory from now on, since the
+    //          page on disk no longer holds all of them
+    private void keepEventsOfInitialFrame(PhysicalObject physicalObject) {
+        if (physicalObject instanceof PhysicalEvent) {
+            keepEventsInMemory(((PhysicalEvent) physicalObject).getInitialFrame());
+        }
+    }
+
     // MODIFIES: this
     // EFFECTS: adjust the posX, properTime and velocity of all existing frames to those viewed from the perspective of
     //          the current reference frame;
     //          adjust the occurTime, position and hasOccurred of all events to those viewed from the perspective of
     //          the current reference frame;
+    //          every change made through this frameWorld already keeps them viewed in the current reference, so this
+    //          is only needed after frames or events are changed directly
     public void viewAllInCurrentReference() {
         viewPhysicalObjectsInCurrentReference(frameList);
         viewPhysicalObjectsInCurrentReference(eventList);
@@ -120,6 +244,7 @@ public class FrameWorld implements ContainsEvents, Writable {
     // EFFECTS: change the proper time of the current reference frame, then update all frames
     public void setCurrentReferenceProperTime(double newProperTime) {
         this.currentReference.setProperTime(newProperTime);
+        modificationCount++;
         viewAllInCurrentReference();
         EventLog.getInstance().logEvent(
                 new Event("Proper Time of reference frame (" + this.currentReference.getName() + ") of "
@@ -128,33 +253,54 @@ public class FrameWorld implements ContainsEvents, Writable {
 
     // REQUIRES: newReference exists in frameList
     // MODIFIES: this
-    // EFFECTS: set the current reference frame to the chosen newReference
+    // EFFECTS: set the current reference frame to the chosen newReference;
+    //          the view from the previous reference frame is kept in viewCache, and if a view from newReference is
+    //          still there since frames and events last changed, it is restored instead of viewing everything again
     public void setCurrentReferenceAndUpdate(RefFrame newReference) {
+        if (!viewCache.contains(currentReference.getId(), objectsVersion)) {
+            viewCache.put(currentReference.getId(), objectsVersion,
+                    new WorldView(currentReference, frameList, eventList));
+        }
         this.currentReference = newReference;
-        viewAllInCurrentReference();
+        modificationCount++;
+        WorldView cachedView = viewCache.get(newReference.getId(), objectsVersion);
+        if (cachedView == null) {
+            viewAllInCurrentReference();
+        } else {
+            cachedView.applyTo(newReference, frameList, eventList);
+        }
         EventLog.getInstance().logEvent(
                 new Event(newReference.getName() + " is set as the new reference frame of " + this.name));
     }
 
     // REQUIRES: frameToDelete exists in frameList, and is not the stationaryFrame
-    // MODIFIES: this
+    // MODIFIES: this, frameToDelete
     // EFFECTS: remove frameToDelete from frameList; if frameToDelete is the current reference Frame, reset the current
     //          reference frame to Absolute Stationary Frame and update
-    //          All events observed in frameToDelete are removed at the same time
-    public void deleteFrame(RefFrame frameToDelete) {
+    //          All events observed in frameToDelete are removed at the same time, in time linear in their number, and
+    //          returned; the deletion is logged as a single entry
+    public List<PhysicalEvent> deleteFrame(RefFrame frameToDelete) {
         if (currentReference.equals(frameToDelete)) {
             setCurrentReferenceAndUpdate(absoluteStationaryFrame);
         }
 
-        List<PhysicalEvent> eventsToDelete = new LinkedList<>(frameToDelete.getObservedEvents());
-        for (PhysicalEvent eventToDelete : eventsToDelete) {
-            deleteEvent(eventToDelete);
+        keepEventsInMemory(frameToDelete);
+        List<PhysicalEvent> deletedEvents = frameToDelete.clearObservedEvents();
+        for (PhysicalEvent nextEvent : deletedEvents) {
+            eventList.remove(nextEvent);
+            eventIndex.remove(nextEvent.getName());
+            objectsHash -= nextEvent.contentHash();
         }
 
         frameList.remove(frameToDelete);
-
-        EventLog.getInstance().logEvent(
-                new Event("Frame " + frameToDelete.getName() + " is deleted from " + this.name));
+        frameIndex.remove(frameToDelete.getName());
+        frameIds.remove(frameToDelete.getId());
+        objectsHash -= frameToDelete.contentHash();
+        objectsChanged();
+
+        EventLog.getInstance().logEvent(new Event("Frame " + frameToDelete.getName() + " and its "
+                + deletedEvents.size() + " events are deleted from " + this.name));
+        return deletedEvents;
     }
 
     // REQUIRES: eventToDelete exists in frameList
@@ -162,12 +308,212 @@ public class FrameWorld implements ContainsEvents, Writable {
     // EFFECTS: remove eventToDelete from eventList and the observedEvents from its initialFrame
     public void deleteEvent(PhysicalEvent physicalEventToDelete) {
         RefFrame targetFrame = physicalEventToDelete.getInitialFrame();
+        keepEventsInMemory(targetFrame);
         targetFrame.deleteEvent(physicalEventToDelete);
         eventList.remove(physicalEventToDelete);
+        eventIndex.remove(physicalEventToDelete.getName());
+        objectsHash -= physicalEventToDelete.contentHash();
+        objectsChanged();
         EventLog.getInstance().logEvent(
                 new Event("Event " + physicalEventToDelete.getName() + " is deleted from " + this.name));
     }
 
+    // REQUIRES: frameToRename exists in frameList
+    // MODIFIES: this, frameToRename
+    // EFFECTS: rename frameToRename to newName and re-index it, in constant time if its observed events are in
+    //          memory; the content hashes of its observed events change as well, since they include the name of
+    //          their initial frame, but they are all updated at once through their sum kept in frameToRename
+    //          throws SameNameException if another frame in frameList is already named newName
+    //          throws EmptyNameException if newName is empty
+    public void renameFrame(RefFrame frameToRename, String newName) throws SameNameException, EmptyNameException {
+        String oldName = frameToRename.getName();
+        if (oldName.equals(newName)) {
+            return;
+        }
+        if (frameIndex.containsKey(newName)) {
+            throw new SameNameException();
+        }
+        setFrameName(frameToRename, newName);
+        frameIndex.remove(oldName);
+        frameIndex.put(newName, frameToRename);
+        objectsChanged();
+    }
+
+    // private helper
+    // REQUIRES: frame exists in frameList
+    // MODIFIES: this, frame
+    // EFFECTS: set the name of frame to newName without re-indexing it, updating the content hashes of frame and its
+    //          observed events in this at once
+    //          throws EmptyNameException if newName is empty
+    private void setFrameName(RefFrame frame, String newName) throws EmptyNameException {
+        pageIn(frame);
+        long eventsHash = frame.getObservedEventsHash();
+        objectsHash -= frame.contentHash() + eventsHash * frame.eventHashFactor();
+        try {
+            frame.setName(newName);
+        } finally {
+            objectsHash += frame.contentHash() + eventsHash * frame.eventHashFactor();
+        }
+    }
+
+    // REQUIRES: frameToEdit exists in frameList
+    // MODIFIES: this, frameToEdit
+    // EFFECTS: set the initial conditions of frameToEdit (relative to Absolute Stationary Frame) to the given ones,
+    //          then view again only what they affect: every frame and event if frameToEdit is the current reference,
+    //          otherwise just frameToEdit and its observed events, since nothing else depends on it
+    //          throws ExceedSpeedOfLightException if newInitialVelocity >= 1 or newInitialVelocity <= -1, in which
+    //          case frameToEdit is left unchanged
+    public void editFrame(RefFrame frameToEdit, double newInitialPosX, double newOccurTime,
+                          double newInitialProperTime, double newInitialVelocity) throws ExceedSpeedOfLightException {
+        setInitialConditions(frameToEdit, newInitialPosX, newOccurTime, newInitialProperTime, newInitialVelocity);
+        if (frameToEdit == currentReference) {
+            viewAllInCurrentReference();
+        } else {
+            viewInCurrentReference(frameToEdit);
+        }
+    }
+
+    // private helper
+    // REQUIRES: frame exists in frameList
+    // MODIFIES: this, frame
+    // EFFECTS: view frame and those of its observed events in memory in the current reference; paged-out events are
+    //          viewed when they are paged in
+    private void viewInCurrentReference(RefFrame frame) {
+        frame.viewInGivenFrame(currentReference);
+        if (!isPagedOut(frame)) {
+            for (PhysicalEvent nextEvent : frame.getObservedEvents()) {
+                nextEvent.viewInGivenFrame(currentReference);
+            }
+        }
+    }
+
+    // private helper
+    // REQUIRES: frameToEdit exists in frameList
+    // MODIFIES: this, frameToEdit
+    // EFFECTS: set the initial conditions of frameToEdit to the given ones without viewing anything again
+    //          throws ExceedSpeedOfLightException if newInitialVelocity >= 1 or newInitialVelocity <= -1, in which
+    //          case frameToEdit is left unchanged
+    private void setInitialConditions(RefFrame frameToEdit, double newInitialPosX, double newOccurTime,
+                                      double newInitialProperTime, double newInitialVelocity)
+            throws ExceedSpeedOfLightException {
+        objectsHash -= frameToEdit.contentHash();
+        try {
+            frameToEdit.setInitialVelocity(newInitialVelocity);
+            frameToEdit.setInitialPosX(newInitialPosX);
+            frameToEdit.setOccurTime(newOccurTime);
+            frameToEdit.setInitialProperTime(newInitialProperTime);
+        } finally {
+            objectsHash += frameToEdit.contentHash();
+            objectsChanged();
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: apply diff to this in bulk: removed frames (with their events) and events are dropped in one pass over
+    //          each list, updated frames and events are changed in place, added ones are appended; then the reference
+    //          frame and its proper time are set and everything is viewed in the current reference once
+    //          ids and names in diff that no longer (or already) exist in this are treated as already removed (or
+    //          updates); updated frames take the names they have in the target all at once, so names may be swapped
+    //          throws FrameConstructException if an added physical object cannot be constructed
+    public void applyDiff(FrameWorldDiff diff) throws FrameConstructException {
+        removeInBulk(diff.getFrameIdsToRemove(), diff.getEventNamesToRemove());
+        for (RefFrame nextFrame : diff.getFramesToAddOrUpdate()) {
+            RefFrame existing = findFrameById(diff.getIdInCurrent(nextFrame));
+            if (existing != null) {
+                frameIndex.remove(existing.getName());
+            }
+        }
+        for (RefFrame nextFrame : diff.getFramesToAddOrUpdate()) {
+            addOrUpdateFrame(nextFrame, diff.getIdInCurrent(nextFrame));
+        }
+        for (PhysicalEvent nextEvent : diff.getEventsToAddOrUpdate()) {
+            addOrUpdateEvent(nextEvent);
+        }
+
+        RefFrame newReference = findFrameById(diff.getReferenceId());
+        this.currentReference = (newReference == null ? absoluteStationaryFrame : newReference);
+        this.currentReference.setProperTime(diff.getReferenceProperTime());
+        objectsChanged();
+        viewAllInCurrentReference();
+        EventLog.getInstance().logEvent(new Event(diff + " applied to " + this.name));
+    }
+
+    // private helper
+    // MODIFIES: this
+    // EFFECTS: remove the frames with the ids in idsToRemove (except Absolute Stationary Frame) together with their
+    //          observed events, and the events named in eventNames, in time linear in the number of removed objects
+    private void removeInBulk(Collection<Long> idsToRemove, Collection<String> eventNames) {
+        for (long nextId : idsToRemove) {
+            RefFrame nextFrame = findFrameById(nextId);
+            if (nextFrame != null && nextFrame != absoluteStationaryFrame) {
+                keepEventsInMemory(nextFrame);
+                for (PhysicalEvent nextEvent : nextFrame.getObservedEvents()) {
+                    eventList.remove(nextEvent);
+                    eventIndex.remove(nextEvent.getName());
+                    objectsHash -= nextEvent.contentHash();
+                }
+                frameList.remove(nextFrame);
+                frameIndex.remove(nextFrame.getName());
+                frameIds.remove(nextId);
+                objectsHash -= nextFrame.contentHash();
+            }
+        }
+        for (String nextName : eventNames) {
+            PhysicalEvent nextEvent = (PhysicalEvent) eventIndex.remove(nextName);
+            if (nextEvent != null) {
+                eventList.remove(nextEvent);
+                objectsHash -= nextEvent.contentHash();
+                keepEventsInMemory(nextEvent.getInitialFrame());
+                nextEvent.getInitialFrame().deleteEvent(nextEvent);
+            }
+        }
+    }
+
+    // private helper
+    // REQUIRES: the frame with id in this, if any, is not in frameIndex
+    // MODIFIES: this
+    // EFFECTS: copy the name and initial conditions of target into the frame with id in this and index it by its
+    //          name, or append a copy of target (without its events) that keeps the id of target if there is no such
+    //          frame
+    private void addOrUpdateFrame(RefFrame target, long id) throws FrameConstructException {
+        RefFrame existing = findFrameById(id);
+        if (existing == null) {
+            RefFrame newFrame = new RefFrame(target.getId(), target.getName(), target.getInitialPosX(),
+                    target.getOccurTime(), target.getInitialProperTime(), target.getInitialVelocity());
+            frameList.add(newFrame);
+            index(newFrame, frameIndex);
+            objectsHash += newFrame.contentHash();
+        } else {
+            setFrameName(existing, target.getName());
+            frameIndex.put(target.getName(), existing);
+            setInitialConditions(existing, target.getInitialPosX(), target.getOccurTime(),
+                    target.getInitialProperTime(), target.getInitialVelocity());
+        }
+    }
+
+    // private helper
+    // REQUIRES: the initial frame of target has already been added to or updated in this
+    // MODIFIES: this
+    // EFFECTS: move the event of the same name in this to target's initial frame and coordinates, or append a copy
+    //          of target observed in the corresponding frame of this if there is no such event
+    private void addOrUpdateEvent(PhysicalEvent target) throws FrameConstructException {
+        RefFrame initialFrame = findFrameByName(target.getInitialFrame().getName());
+        PhysicalEvent existing = findEventByName(target.getName());
+        keepEventsInMemory(initialFrame);
+        if (existing == null) {
+            PhysicalEvent newEvent = new PhysicalEvent(target.getName(), target.getInitialPosX(),
+                    target.getOccurTime(), initialFrame);
+            eventList.add(newEvent);
+            eventIndex.put(newEvent.getName(), newEvent);
+            objectsHash += newEvent.contentHash();
+        } else {
+            keepEventsInMemory(existing.getInitialFrame());
+            objectsHash -= existing.contentHash();
+            existing.relocate(initialFrame, target.getInitialPosX(), target.getOccurTime());
+            objectsHash += existing.contentHash();
+        }
+    }
+
     // EFFECTS: return the apparent status (position, proper time, velocity) of all frames under the perspective of
     //          the current reference frame; emphasize the current reference
     public String allFramesInfo() {
@@ -186,7 +532,7 @@ public class FrameWorld implements ContainsEvents, Writable {
     //          all events under the perspective of the current reference frame
     public String allEventsInfo() {
         StringBuilder allInfo = new StringBuilder();
-        for (PhysicalObject nextEvent : eventList) {
+        for (PhysicalObject nextEvent : getEventList()) {
             allInfo.append(nextEvent.currentInfo());
             allInfo.append("\n");
         }
@@ -210,7 +556,7 @@ public class FrameWorld implements ContainsEvents, Writable {
     // EFFECTS: return the names of all events
     @Override
     public String eventNameList() {
-        return physicalObjectNameList(eventList);
+        return physicalObjectNameList(getEventList());
     }
 
     // EFFECTS: return the names of all physicalObjects in chosen list
@@ -239,7 +585,7 @@ public class FrameWorld implements ContainsEvents, Writable {
     public JSONObject toJson() {
         JSONObject json = new JSONObject();
         json.put("frameList", physicalObjectsToJson(frameList));
-        json.put("eventList", physicalObjectsToJson(eventList));
+        json.put("eventList", physicalObjectsToJson(getEventList()));
         json.put("currentReference", this.currentReference.getName());
         json.put("referenceProperTime", this.currentReference.getProperTime());
 
@@ -266,8 +612,11 @@ public class FrameWorld implements ContainsEvents, Writable {
         return getPhysicalObjectList(frameList);
     }
 
-    // EFFECTS: return an unmodifiable list containing all events in FrameWorld
+    // EFFECTS: return an unmodifiable list containing all events in FrameWorld;
+    //          all events that are paged out are paged in first, and stay in memory until another page is paged in,
+    //          whatever the event budget; use forEachEvent to go through the events of a paged world under the budget
     public List<PhysicalObject> getEventList() {
+        pageInAll();
         return getPhysicalObjectList(eventList);
     }
 
@@ -276,6 +625,36 @@ public class FrameWorld implements ContainsEvents, Writable {
         return Collections.unmodifiableList(physicalObjects);
     }
 
+    // EFFECTS: return the number of all events in this, those paged out included, without paging any in
+    public int getEventCount() {
+        int count = eventList.size();
+        for (String nextPage : pagedOutFrames.values()) {
+            count += eventPager.getPageSize(nextPage);
+        }
+        return count;
+    }
+
+    // REQUIRES: action does not change this
+    // MODIFIES: this
+    // EFFECTS: run action on every event of this: first on the events in memory, in the order of the event list,
+    //          then on the events of each frame that is paged out, in the order of the frame list, paging them in one
+    //          frame at a time; pages are paged out again as usual once over the event budget, so unlike
+    //          getEventList this never holds much more than the budget of events in memory
+    public void forEachEvent(Consumer<PhysicalEvent> action) {
+        for (PhysicalObject next : eventList) {
+            action.accept((PhysicalEvent) next);
+        }
+        for (PhysicalObject next : frameList) {
+            RefFrame frame = (RefFrame) next;
+            if (pagedOutFrames.containsKey(frame)) {
+                pageIn(frame);
+                for (PhysicalEvent nextEvent : frame.getObservedEvents()) {
+                    action.accept(nextEvent);
+                }
+            }
+        }
+    }
+
     // EFFECTS: return true if all parts of o and this are equal
     @Override
     public boolean equals(Object o) {
@@ -302,6 +681,152 @@ public class FrameWorld implements ContainsEvents, Writable {
         return this.name;
     }
 
+    // EFFECTS: return a hash of everything in this that is saved to file, in constant time: the content hashes of
+    //          all frames and events are summed up incrementally as they change, and then combined with the name and
+    //          proper time of the current reference frame
+    //          Unlike hashCode, the result does not depend on the order of frames and events
+    public long contentHash() {
+        long hash = PhysicalObject.mixHash(objectsHash, currentReference.getName().hashCode());
+        return PhysicalObject.mixHash(hash, Double.doubleToLongBits(currentReference.getProperTime()));
+    }
+
+    // EFFECTS: return the number of changes made to this so far; it serves as the version of this
+    public long getModificationCount() {
+        return modificationCount;
+    }
+
+    // EFFECTS: return the number of changes made to the frames and events in memory so far, including paging them in
+    //          and out; unlike getModificationCount, it does not change when the reference frame or its proper
+    //          time does
+    public long getObjectsVersion() {
+        return objectsVersion;
+    }
+
+    // EFFECTS: return the cache of views of this from recently used reference frames, whose memory limit can be set
+    //          and which counts how often switching the reference frame found a view there
+    public ViewCache getViewCache() {
+        return viewCache;
+    }
+
+    // private helper
+    // MODIFIES: this
+    // EFFECTS: count a change to the frames or events in memory, which also invalidates all views of this
+    private void objectsChanged() {
+        modificationCount++;
+        objectsVersion++;
+    }
+
+    // REQUIRES: no events in this are observed in frames whose ids (in decimal) name pages of eventPager
+    // MODIFIES: this
+    // EFFECTS: keep the events in the pages of eventPager on disk, and page in the events of the frame whose id names
+    //          a page only when they are first accessed (through the frame, the event list or a lookup by name); once
+    //          more than eventBudget events that are unchanged since they were paged in are in memory, the least
+    //          recently used pages are paged out again
+    public void attachEventPager(EventPager eventPager, int eventBudget) {
+        this.eventPager = eventPager;
+        this.eventBudget = eventBudget;
+        Set<String> pageNames = eventPager.getPageNames();
+        for (String nextPage : pageNames) {
+            RefFrame frame = findFrameById(Long.parseLong(nextPage));
+            if (frame != null) {
+                pagedOutFrames.put(frame, nextPage);
+                frame.setEventPageLoader(this::pageIn);
+            }
+        }
+        objectsHash += eventPager.getPagedContentHash();
+    }
+
+    // EFFECTS: return true if the observed events of frame are kept on disk only
+    public boolean isPagedOut(RefFrame frame) {
+        return pagedOutFrames.containsKey(frame);
+    }
+
+    // EFFECTS: return the number of events in memory that may be paged out again
+    public int getResidentEventCount() {
+        return residentEventCount;
+    }
+
+    // private helper
+    // MODIFIES: this, frame
+    // EFFECTS: page in the observed events of frame if they are paged out, then page out least recently used pages
+    //          other than that of frame while over the event budget; mark the page of frame as most recently used
+    private void pageIn(RefFrame frame) {
+        if (residentPages.get(frame) != null || !pagedOutFrames.containsKey(frame)) {
+            return;
+        }
+        loadPage(frame);
+        Iterator<Map.Entry<RefFrame, String>> leastRecentlyUsed = residentPages.entrySet().iterator();
+        while (residentEventCount > eventBudget && residentPages.size() > 1) {
+            Map.Entry<RefFrame, String> eldest = leastRecentlyUsed.next();
+            leastRecentlyUsed.remove();
+            pageOut(eldest.getKey(), eldest.getValue());
+        }
+    }
+
+    // private helper
+    // REQUIRES: frame is paged out
+    // MODIFIES: this, frame
+    // EFFECTS: construct the events in the page of frame, view them in the current reference and add them to this
+    private void loadPage(RefFrame frame) {
+        String pageName = pagedOutFrames.remove(frame);
+        List<PhysicalEvent> events = eventPager.loadPage(pageName, frame);
+        for (PhysicalEvent nextEvent : events) {
+            nextEvent.viewInGivenFrame(currentReference);
+            eventList.add(nextEvent);
+            eventIndex.put(nextEvent.getName(), nextEvent);
+        }
+        residentPages.put(frame, pageName);
+        residentEventCount += events.size();
+        objectsVersion++;
+    }
+
+    // private helper
+    // REQUIRES: frame has been removed from residentPages, and its page on disk named pageName holds exactly its
+    //           observed events
+    // MODIFIES: this, frame
+    // EFFECTS: drop the observed events of frame from memory, keeping them in the content hash of this
+    private void pageOut(RefFrame frame, String pageName) {
+        List<PhysicalEvent> events = frame.clearObservedEvents();
+        for (PhysicalEvent nextEvent : events) {
+            eventIndex.remove(nextEvent.getName());
+            eventList.remove(nextEvent);
+        }
+        residentEventCount -= events.size();
+        pagedOutFrames.put(frame, pageName);
+        objectsVersion++;
+    }
+
+    // private helper
+    // MODIFIES: this
+    // EFFECTS: page in all pages without paging any out
+    private void pageInAll() {
+        for (RefFrame next : new ArrayList<>(pagedOutFrames.keySet())) {
+            loadPage(next);
+        }
+    }
+
+    // private helper
+    // MODIFIES: this, frame
+    // EFFECTS: page in the observed events of frame if they are paged out, and never page them out again, because
+    //          they are about to change
+    private void keepEventsInMemory(RefFrame frame) {
+        if (pagedOutFrames.containsKey(frame)) {
+            loadPage(frame);
+        }
+        String pageName = residentPages.remove(frame);
+        if (pageName != null) {
+            residentEventCount -= frame.getEventsSize();
+            frame.setEventPageLoader(null);
+        }
+    }
+
+    // private helper
+    // EFFECTS: return the frame whose events are paged out to the page named pageName, or null if there is none
+    private RefFrame findPagedOutFrame(String pageName) {
+        RefFrame frame = findFrameById(Long.parseLong(pageName));
+        return pageName.equals(pagedOutFrames.get(frame)) ? frame : null;
+    }
+
     // MODIFIES: this
     // EFFECTS: if isCurrentFrameWorld == TRUE, set the name of this as CURRENT_FRAMEWORLD_NAME;
     //          otherwise, set the name as TEMPORARY_FRAMEWORLD
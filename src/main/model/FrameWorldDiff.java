@@ -0,0 +1,134 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/*The keyed difference between the current frameWorld and a target frameWorld (e.g. one loaded from file).
+ *Frames are matched by their ids, so that a frame renamed in the target is updated rather than removed and added
+ *again; a frame of the target whose id is not in the current frameWorld (e.g. read from a file saved without ids)
+ *falls back to the frame of the same name, if that one is not matched by id. Events are matched by their names.
+ *Only what has to be removed from, added to or updated in the current frameWorld is recorded, together with the
+ *reference frame and its proper time in the target*/
+public class FrameWorldDiff {
+    private List<Long> frameIdsToRemove; // frames of current that do not exist in target
+    private List<String> eventNamesToRemove; // events of current that do not exist in target
+    private List<RefFrame> framesToAddOrUpdate; // frames of target that are missing from or different in current
+    private List<PhysicalEvent> eventsToAddOrUpdate; // events of target that are missing from or different in current
+    private Map<Long, Long> idsInCurrent; // ids of frames of target matched by name to frames of current
+    private long referenceId; // id in current of the reference frame, once the diff is applied
+    private double referenceProperTime;
+    private boolean sameReference;
+
+    // EFFECTS: compute the difference that turns current into target, in time linear in the sizes of both
+    public FrameWorldDiff(FrameWorld current, FrameWorld target) {
+        idsInCurrent = new HashMap<>();
+        framesToAddOrUpdate = new ArrayList<>();
+        Set<Long> matchedIds = new HashSet<>();
+        for (PhysicalObject next : target.getFrameList()) {
+            RefFrame currentFrame = matchingFrame(current, target, (RefFrame) next);
+            if (currentFrame != null) {
+                matchedIds.add(currentFrame.getId());
+                if (currentFrame.getId() != next.getId()) {
+                    idsInCurrent.put(next.getId(), currentFrame.getId());
+                }
+            }
+            if (!next.equals(currentFrame)) {
+                framesToAddOrUpdate.add((RefFrame) next);
+            }
+        }
+        frameIdsToRemove = new ArrayList<>();
+        for (PhysicalObject next : current.getFrameList()) {
+            if (!matchedIds.contains(next.getId())) {
+                frameIdsToRemove.add(next.getId());
+            }
+        }
+        eventNamesToRemove = new ArrayList<>();
+        for (PhysicalObject next : current.getEventList()) {
+            if (target.findEventByName(next.getName()) == null) {
+                eventNamesToRemove.add(next.getName());
+            }
+        }
+        eventsToAddOrUpdate = new ArrayList<>();
+        for (PhysicalObject nextEvent : target.getEventList()) {
+            if (!nextEvent.equals(current.findEventByName(nextEvent.getName()))) {
+                eventsToAddOrUpdate.add((PhysicalEvent) nextEvent);
+            }
+        }
+        referenceId = getIdInCurrent(target.getCurrentReference());
+        referenceProperTime = target.getCurrentReference().getProperTime();
+        sameReference = referenceId == current.getCurrentReference().getId()
+                && Double.compare(referenceProperTime, current.getCurrentReference().getProperTime()) == 0;
+    }
+
+    // EFFECTS: return the frame of current with the id of targetFrame, or else the frame of current with the name of
+    //          targetFrame if its id is not in target; return null if there is none
+    private static RefFrame matchingFrame(FrameWorld current, FrameWorld target, RefFrame targetFrame) {
+        RefFrame byId = current.findFrameById(targetFrame.getId());
+        if (byId != null) {
+            return byId;
+        }
+        RefFrame byName = current.findFrameByName(targetFrame.getName());
+        return byName == null || target.findFrameById(byName.getId()) != null ? null : byName;
+    }
+
+    // EFFECTS: return true if the current and target frameWorlds have the same frames, events, reference frame and
+    //          reference proper time (regardless of the order of frames and events)
+    public boolean isEmpty() {
+        return frameIdsToRemove.isEmpty() && eventNamesToRemove.isEmpty() && framesToAddOrUpdate.isEmpty()
+                && eventsToAddOrUpdate.isEmpty() && sameReference;
+    }
+
+    public List<Long> getFrameIdsToRemove() {
+        return frameIdsToRemove;
+    }
+
+    public List<String> getEventNamesToRemove() {
+        return eventNamesToRemove;
+    }
+
+    public List<RefFrame> getFramesToAddOrUpdate() {
+        return framesToAddOrUpdate;
+    }
+
+    public List<PhysicalEvent> getEventsToAddOrUpdate() {
+        return eventsToAddOrUpdate;
+    }
+
+    // EFFECTS: return the id of the frame of current that targetFrame is added as or updates
+    public long getIdInCurrent(RefFrame targetFrame) {
+        return idsInCurrent.getOrDefault(targetFrame.getId(), targetFrame.getId());
+    }
+
+    public long getReferenceId() {
+        return referenceId;
+    }
+
+    public double getReferenceProperTime() {
+        return referenceProperTime;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: if the current reference frame of current is not removed by this, keep it and its current proper time
+    //          instead of taking the reference frame and proper time of the target (e.g. to carry on a running
+    //          playback while reloading a file)
+    public void keepReferenceOf(FrameWorld current) {
+        RefFrame currentReference = current.getCurrentReference();
+        if (!frameIdsToRemove.contains(currentReference.getId())) {
+            referenceId = currentReference.getId();
+            referenceProperTime = currentReference.getProperTime();
+            sameReference = true;
+        }
+    }
+
+    // EFFECTS: return a summary of the number of changes in this
+    @Override
+    public String toString() {
+        return "Differences (" + frameIdsToRemove.size() + " frames and " + eventNamesToRemove.size()
+                + " events removed, " + framesToAddOrUpdate.size() + " frames and " + eventsToAddOrUpdate.size()
+                + " events added or updated)";
+    }
+}
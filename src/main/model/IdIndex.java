@@ -0,0 +1,104 @@
+package model;
+
+import java.util.Arrays;
+
+/*Index of values keyed by the long ids of physical objects, stored in two primitive arrays with open addressing
+ *(linear probing) instead of boxing every id into a Long as a HashMap would*/
+final class IdIndex<V> {
+    private static final long EMPTY = Long.MIN_VALUE; // key of an empty slot; never an id
+    private static final int INITIAL_CAPACITY = 16;
+
+    private long[] keys;
+    private Object[] values;
+    private int size;
+
+    // EFFECTS: construct an empty index
+    IdIndex() {
+        keys = new long[INITIAL_CAPACITY];
+        Arrays.fill(keys, EMPTY);
+        values = new Object[INITIAL_CAPACITY];
+    }
+
+    // EFFECTS: return the value with given id, or null if there is none
+    @SuppressWarnings("unchecked")
+    V get(long id) {
+        for (int slot = slotOf(id, keys.length); keys[slot] != EMPTY; slot = (slot + 1) & (keys.length - 1)) {
+            if (keys[slot] == id) {
+                return (V) values[slot];
+            }
+        }
+        return null;
+    }
+
+    // REQUIRES: id != Long.MIN_VALUE and value is not null
+    // MODIFIES: this
+    // EFFECTS: map id to value, replacing the previous value with that id if there is one
+    void put(long id, V value) {
+        if ((size + 1) * 2 > keys.length) {
+            resize(keys.length * 2);
+        }
+        int slot = slotOf(id, keys.length);
+        while (keys[slot] != EMPTY && keys[slot] != id) {
+            slot = (slot + 1) & (keys.length - 1);
+        }
+        if (keys[slot] == EMPTY) {
+            size++;
+        }
+        keys[slot] = id;
+        values[slot] = value;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: remove the value with given id if there is one, shifting back the entries probed past it so that
+    //          they can still be found
+    void remove(long id) {
+        int mask = keys.length - 1;
+        int slot = slotOf(id, keys.length);
+        while (keys[slot] != id) {
+            if (keys[slot] == EMPTY) {
+                return;
+            }
+            slot = (slot + 1) & mask;
+        }
+        size--;
+        for (int next = (slot + 1) & mask; keys[next] != EMPTY; next = (next + 1) & mask) {
+            int home = slotOf(keys[next], keys.length);
+            if (((next - home) & mask) >= ((next - slot) & mask)) {
+                keys[slot] = keys[next];
+                values[slot] = values[next];
+                slot = next;
+            }
+        }
+        keys[slot] = EMPTY;
+        values[slot] = null;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: move all entries into tables of the given capacity (a power of 2)
+    private void resize(int capacity) {
+        long[] oldKeys = keys;
+        Object[] oldValues = values;
+        keys = new long[capacity];
+        Arrays.fill(keys, EMPTY);
+        values = new Object[capacity];
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != EMPTY) {
+                int slot = slotOf(oldKeys[i], capacity);
+                while (keys[slot] != EMPTY) {
+                    slot = (slot + 1) & (capacity - 1);
+                }
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+
+    // EFFECTS: return the slot where probing for id starts in tables of the given capacity (a power of 2)
+    private static int slotOf(long id, int capacity) {
+        return (int) PhysicalObject.mixHash(id, 0) & (capacity - 1);
+    }
+}
@@ -27,7 +27,14 @@ public class PhysicalEvent extends PhysicalObject {
     //          updates its status to satisfy the current proper time in referenceFrame
     public PhysicalEvent(String name, double initialPosX, double occurTime, RefFrame referenceFrame)
             throws EmptyNameException {
-        super(name, initialPosX, occurTime);
+        this(NEW_ID, name, initialPosX, occurTime, referenceFrame);
+    }
+
+    // REQUIRES: referenceFrame is the current reference frame in frameWorld, and id >= 0 or id == NEW_ID
+    // EFFECTS: create an event as above with given id (e.g. the id it was saved with)
+    public PhysicalEvent(long id, String name, double initialPosX, double occurTime, RefFrame referenceFrame)
+            throws EmptyNameException {
+        super(id, name, initialPosX, occurTime);
         this.initialFrame = referenceFrame;
         this.hasOccurred = false;
         referenceFrame.addObservedEvent(this);
@@ -55,7 +62,23 @@ public class PhysicalEvent extends PhysicalObject {
             this.currentOccurTime = refProperTimeWhenMeet + inverseLorentzTime(deltaT, deltaX, velocity);
             this.currentOccurX = inverseLorentzX(deltaT, deltaX, velocity);
         }
+        updateOccurrence(referenceFrame);
+    }
 
+    // REQUIRES: referenceFrame is the current reference frame in the frame world
+    // MODIFIES: this
+    // EFFECTS: set the position and time at which this occurs in referenceFrame to the given ones, as worked out
+    //          before in a view of the frame world from referenceFrame, and update whether it has occurred
+    void restoreView(double currentOccurX, double currentOccurTime, RefFrame referenceFrame) {
+        this.currentOccurX = currentOccurX;
+        this.currentOccurTime = currentOccurTime;
+        updateOccurrence(referenceFrame);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: update whether this has occurred at the current proper time of referenceFrame;
+    //          if this changed from not occurred to hasOccurred, log this event
+    private void updateOccurrence(RefFrame referenceFrame) {
         if (referenceFrame.getProperTime() >= this.currentOccurTime) {
             if (!this.hasOccurred) {
                 EventLog.getInstance().logEvent(new Event("Event " + this.name + " is observed to occur at: ("
@@ -99,16 +122,43 @@ public class PhysicalEvent extends PhysicalObject {
         return initialFrame;
     }
 
+    // REQUIRES: newInitialFrame exists in the same frameWorld as this
+    // MODIFIES: this, getInitialFrame(), newInitialFrame
+    // EFFECTS: make this occur at (newInitialPosX, newOccurTime) in newInitialFrame instead, moving it from the
+    //          observed events of its previous initial frame to those of newInitialFrame
+    void relocate(RefFrame newInitialFrame, double newInitialPosX, double newOccurTime) {
+        long oldHash = contentHashApartFromFrame();
+        if (newInitialFrame != this.initialFrame) {
+            this.initialFrame.deleteEvent(this);
+            newInitialFrame.addObservedEvent(this);
+            this.initialFrame = newInitialFrame;
+        }
+        this.initialPosX = newInitialPosX;
+        this.occurTime = newOccurTime;
+        this.initialFrame.observedEventChanged(contentHashApartFromFrame() - oldHash);
+    }
+
     // EFFECTS: return this as a JSONObjective
-    //          initialFrame is stored as the name of the frame, so that we can refer to the Frame object directly
-    //          by findFrameByName
+    //          initialFrame is stored as the id of the frame, so that we can refer to the Frame object directly
+    //          by findFrameById
     @Override
     public JSONObject toJson() {
         JSONObject json = super.toJson();
-        json.put("initialFrame", this.initialFrame.getName());
+        json.put("initialFrameId", this.initialFrame.getId());
         return json;
     }
 
+    // EFFECTS: return the content hash of this, including the name of its initial frame
+    @Override
+    public long contentHash() {
+        return contentHashApartFromFrame() * initialFrame.eventHashFactor();
+    }
+
+    // EFFECTS: return the content hash of this without its initial frame (name and initial conditions)
+    long contentHashApartFromFrame() {
+        return super.contentHash();
+    }
+
     // EFFECTS: return true if o has same features as this (the initialFrame is only checked by its
     //          name assuming that frameWorld is validly constructed)
     @Override
@@ -120,9 +170,10 @@ public class PhysicalEvent extends PhysicalObject {
         return initialFrame.getName().equals(physicalEvent.initialFrame.getName());
     }
 
-    // EFFECTS: return the hashCode for this
+    // EFFECTS: return the hashCode for this, consistent with equals: the position, time and status of this as
+    //          viewed in the current reference frame change over time and are left out
     @Override
     public int hashCode() {
-        return Objects.hash(super.hashCode(), initialFrame, currentOccurX, currentOccurTime, hasOccurred);
+        return Objects.hash(super.hashCode(), initialFrame.getName());
     }
 }
@@ -5,6 +5,7 @@ import org.json.JSONObject;
 import persistence.Writable;
 
 import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
 
 import static java.lang.Math.sqrt;
 
@@ -15,23 +16,41 @@ import static java.lang.Math.sqrt;
    constructed. Therefore, the REQUIRES clauses are kept*/
 public abstract class PhysicalObject implements Writable {
     public static final int ROUND_UP_STANDARD = 10000; // round numbers to the 4th decimal place
+    public static final long NEW_ID = -1; // id asking for the next unused id when constructing a physical object
+    private static final AtomicLong LAST_ID = new AtomicLong(); // largest id given out or restored so far
 
     // sThe following fields do not change with time or reference frame
+    protected final long id; // Identity of the object; unlike its name it never changes, and it is saved to file
     protected String name; // Name of the Frame
     protected double initialPosX; // Position of the Frame when it is first observed from the stationary frame
     protected double occurTime; // Time when the Frame is first observed from the stationary frame
 
 
-    // EFFECTS: assign name, initial position and occurTime to the new Physical Object
+    // EFFECTS: assign a new id, name, initial position and occurTime to the new Physical Object
     public PhysicalObject(String name, double initialPosX, double occurTime) throws EmptyNameException {
+        this(NEW_ID, name, initialPosX, occurTime);
+    }
+
+    // REQUIRES: id >= 0 or id == NEW_ID
+    // EFFECTS: assign id (e.g. the id it was saved with; a new id if id == NEW_ID), name, initial position and
+    //          occurTime to the new Physical Object; ids given out afterwards are all larger than id
+    public PhysicalObject(long id, String name, double initialPosX, double occurTime) throws EmptyNameException {
         if (name.isEmpty()) {
             throw new EmptyNameException();
         }
+        this.id = (id == NEW_ID ? LAST_ID.incrementAndGet() : restoreId(id));
         this.name = name;
         this.initialPosX = initialPosX;
         this.occurTime = occurTime;
     }
 
+    // MODIFIES: this class
+    // EFFECTS: make sure that ids given out from now on are larger than id, then return id
+    private static long restoreId(long id) {
+        LAST_ID.accumulateAndGet(id, Math::max);
+        return id;
+    }
+
     // EFFECTS: round the decimal number up to standard (4 decimal places)
     public static double roundUp(double rawNumber) {
         return (double) Math.round(rawNumber * ROUND_UP_STANDARD) / ROUND_UP_STANDARD;
@@ -88,10 +107,31 @@ public abstract class PhysicalObject implements Writable {
         return this.name;
     }
 
+    public long getId() {
+        return this.id;
+    }
+
+    // EFFECTS: return a 64-bit hash of the content of this that is saved to file (name and initial conditions);
+    //          FrameWorld sums these hashes up to maintain its own content hash incrementally
+    public long contentHash() {
+        long hash = mixHash(name.hashCode(), Double.doubleToLongBits(initialPosX));
+        return mixHash(hash, Double.doubleToLongBits(occurTime));
+    }
+
+    // EFFECTS: combine hash with value and scramble the bits of the result (finalizer of SplitMix64), so that sums
+    //          of such hashes rarely collide
+    public static long mixHash(long hash, long value) {
+        long mixed = hash * 31 + value;
+        mixed = (mixed ^ (mixed >>> 30)) * 0xbf58476d1ce4e5b9L;
+        mixed = (mixed ^ (mixed >>> 27)) * 0x94d049bb133111ebL;
+        return mixed ^ (mixed >>> 31);
+    }
+
     // EFFECTS: return this as a JSONObjective
     @Override
     public JSONObject toJson() {
         JSONObject json = new JSONObject();
+        json.put("id", this.id);
         json.put("name", this.name);
         json.put("initialPosX", this.initialPosX);
         json.put("occurTime", this.occurTime);
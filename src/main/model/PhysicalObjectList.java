@@ -0,0 +1,220 @@
+package model;
+
+import java.util.AbstractSequentialList;
+import java.util.ConcurrentModificationException;
+import java.util.ListIterator;
+import java.util.NoSuchElementException;
+
+/*Doubly linked list of physical objects that keeps the order of insertion like a LinkedList, but also indexes its
+ *nodes by the ids of their objects, so that an object is found or removed in constant time instead of by a scan of
+ *the whole list; all objects in the list must have different ids*/
+final class PhysicalObjectList extends AbstractSequentialList<PhysicalObject> {
+    private final Node head; // sentinel before the first and after the last node
+    private final IdIndex<Node> nodes; // nodes keyed by the ids of their objects
+    private int size;
+
+    // EFFECTS: construct an empty list
+    PhysicalObjectList() {
+        head = new Node(null);
+        head.previous = head;
+        head.next = head;
+        nodes = new IdIndex<>();
+    }
+
+    // EFFECTS: return true if an object with given id is in this, in constant time
+    boolean containsId(long id) {
+        return nodes.get(id) != null;
+    }
+
+    // REQUIRES: no object in this has the same id as physicalObject
+    // MODIFIES: this
+    // EFFECTS: append physicalObject to the end of this
+    @Override
+    public boolean add(PhysicalObject physicalObject) {
+        Node node = new Node(physicalObject);
+        linkBefore(node, head);
+        return true;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: remove o from this in constant time and return true if o is in this, otherwise return false
+    @Override
+    public boolean remove(Object o) {
+        if (!(o instanceof PhysicalObject)) {
+            return false;
+        }
+        Node node = nodes.get(((PhysicalObject) o).getId());
+        if (node == null || node.physicalObject != o) {
+            return false;
+        }
+        unlink(node);
+        return true;
+    }
+
+    // EFFECTS: return true if o is in this, in constant time
+    @Override
+    public boolean contains(Object o) {
+        if (!(o instanceof PhysicalObject)) {
+            return false;
+        }
+        Node node = nodes.get(((PhysicalObject) o).getId());
+        return node != null && node.physicalObject == o;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    // REQUIRES: 0 <= index <= size()
+    // EFFECTS: return an iterator over this starting before the element at index, walking from the nearer end
+    @Override
+    public ListIterator<PhysicalObject> listIterator(int index) {
+        if (index < 0 || index > size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        return new NodeIterator(index);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: insert node before successor
+    private void linkBefore(Node node, Node successor) {
+        node.previous = successor.previous;
+        node.next = successor;
+        successor.previous.next = node;
+        successor.previous = node;
+        nodes.put(node.physicalObject.getId(), node);
+        size++;
+        modCount++;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: remove node from this
+    private void unlink(Node node) {
+        node.previous.next = node.next;
+        node.next.previous = node.previous;
+        nodes.remove(node.physicalObject.getId());
+        size--;
+        modCount++;
+    }
+
+    /*Node of the list holding one physical object*/
+    private static class Node {
+        private final PhysicalObject physicalObject;
+        private Node previous;
+        private Node next;
+
+        // EFFECTS: construct an unlinked node holding physicalObject
+        Node(PhysicalObject physicalObject) {
+            this.physicalObject = physicalObject;
+        }
+    }
+
+    /*Iterator walking the nodes of the list in both directions; it can remove, but not add or replace, elements*/
+    private class NodeIterator implements ListIterator<PhysicalObject> {
+        private Node next; // node returned by next(), or head at the end
+        private Node lastReturned; // node last returned by next() or previous(); null if there is none to remove
+        private int nextIndex;
+        private int expectedModCount = modCount;
+
+        // REQUIRES: 0 <= index <= size
+        // EFFECTS: construct an iterator positioned before the element at index
+        NodeIterator(int index) {
+            next = head.next;
+            if (index > size / 2) {
+                next = head;
+                for (int i = size; i > index; i--) {
+                    next = next.previous;
+                }
+            } else {
+                for (int i = 0; i < index; i++) {
+                    next = next.next;
+                }
+            }
+            nextIndex = index;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next != head;
+        }
+
+        // MODIFIES: this
+        // EFFECTS: return the next element and move past it
+        @Override
+        public PhysicalObject next() {
+            checkForModification();
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            lastReturned = next;
+            next = next.next;
+            nextIndex++;
+            return lastReturned.physicalObject;
+        }
+
+        @Override
+        public boolean hasPrevious() {
+            return next.previous != head;
+        }
+
+        // MODIFIES: this
+        // EFFECTS: return the previous element and move before it
+        @Override
+        public PhysicalObject previous() {
+            checkForModification();
+            if (!hasPrevious()) {
+                throw new NoSuchElementException();
+            }
+            next = next.previous;
+            lastReturned = next;
+            nextIndex--;
+            return lastReturned.physicalObject;
+        }
+
+        @Override
+        public int nextIndex() {
+            return nextIndex;
+        }
+
+        @Override
+        public int previousIndex() {
+            return nextIndex - 1;
+        }
+
+        // MODIFIES: PhysicalObjectList.this
+        // EFFECTS: remove the element last returned by next() or previous()
+        @Override
+        public void remove() {
+            checkForModification();
+            if (lastReturned == null) {
+                throw new IllegalStateException();
+            }
+            if (next == lastReturned) {
+                next = lastReturned.next;
+            } else {
+                nextIndex--;
+            }
+            unlink(lastReturned);
+            lastReturned = null;
+            expectedModCount = modCount;
+        }
+
+        @Override
+        public void set(PhysicalObject physicalObject) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void add(PhysicalObject physicalObject) {
+            throw new UnsupportedOperationException();
+        }
+
+        // EFFECTS: throw ConcurrentModificationException if the list was changed other than through this
+        private void checkForModification() {
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+        }
+    }
+}
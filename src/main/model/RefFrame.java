@@ -9,6 +9,7 @@ import java.util.Collections;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Objects;
+import java.util.function.Consumer;
 
 /*A relativistic inertial reference frame (abbreviated as frame) in Physics.
  *There exists an "absolute" stationary frame, which we refer to as the default frame with velocity equal to 0*/
@@ -25,6 +26,8 @@ public class RefFrame extends PhysicalObject implements ContainsEvents {
     private double posX; // Position of Frame, viewed from the current reference frame
 
     private List<PhysicalEvent> observedPhysicalEvents; // Events that are observed by this
+    private long observedEventsHash; // sum of the content hashes of observedEvents apart from their initial frame
+    private Consumer<RefFrame> eventPageLoader; // pages in observed events kept on disk; null if all are in memory
 
     // EFFECTS: constructs a frame related to the absolute stationary frame, with given name, initial position,
     //          time when it is observed (occurTime), initial proper time and velocity; its current position, proper
@@ -33,7 +36,17 @@ public class RefFrame extends PhysicalObject implements ContainsEvents {
     //          throws EmptyNameException if given name is empty
     public RefFrame(String name, double initialPosX, double occurTime, double initialProperTime, double initialVelocity)
             throws EmptyNameException, ExceedSpeedOfLightException {
-        super(name, initialPosX, occurTime);
+        this(NEW_ID, name, initialPosX, occurTime, initialProperTime, initialVelocity);
+    }
+
+    // REQUIRES: id >= 0 or id == NEW_ID
+    // EFFECTS: constructs a frame with given id (e.g. the id it was saved with), related to the absolute stationary
+    //          frame as above
+    //          throws ExceedSpeedOfLightException if given initialVelocity >= 1 or initialVelocity <= -1
+    //          throws EmptyNameException if given name is empty
+    public RefFrame(long id, String name, double initialPosX, double occurTime, double initialProperTime,
+                    double initialVelocity) throws EmptyNameException, ExceedSpeedOfLightException {
+        super(id, name, initialPosX, occurTime);
 
         if (initialVelocity >= 1 || initialVelocity <= -1) {
             throw new ExceedSpeedOfLightException();
@@ -48,25 +61,40 @@ public class RefFrame extends PhysicalObject implements ContainsEvents {
     }
 
     // REQUIRES: referenceFrame already exists in FrameWorld
-    // EFFECTS: construct a frame related to referenceFrame
+    // EFFECTS: construct a frame related to referenceFrame, i.e. with initial position (relative to referenceFrame),
+    //          occur time (on the clock of referenceFrame) and initial velocity as observed in referenceFrame
     //          throws ExceedSpeedOfLightException if given initialVelocity >= 1 or initialVelocity <= -1
     //          throws EmptyNameException if given name is empty
     public RefFrame(String name, double initialPosX, double occurTime, double initialProperTime, double initialVelocity,
                     RefFrame referenceFrame) throws EmptyNameException, ExceedSpeedOfLightException {
         this(name, initialPosX, occurTime, initialProperTime, initialVelocity);
-        RefFrame mirrorFrame = new RefFrame("mirror", 0, 0, 0, 0);
-        mirrorFrame.viewInGivenFrame(referenceFrame); //mirrorFrame is how stationary frame looks from referenceFrame
-        mirrorFrame.initialPosX = mirrorFrame.getPosX();
-        mirrorFrame.initialVelocity = mirrorFrame.getVelocity();
-        mirrorFrame.occurTime = referenceFrame.getProperTime();
-        mirrorFrame.initialProperTime = mirrorFrame.getProperTime();
+        relateTo(Worldline.stationaryFrameSeenFrom(referenceFrame));
+    }
+
+    // REQUIRES: referenceFrame already exists in FrameWorld, and frames are not in any FrameWorld yet
+    // MODIFIES: frames
+    // EFFECTS: take the initial conditions of all frames as observed in referenceFrame (as for the constructor
+    //          taking a reference frame) and express them relative to the stationary frame instead; how the stationary
+    //          frame looks from referenceFrame is worked out only once for all of them
+    public static void relateAllTo(List<RefFrame> frames, RefFrame referenceFrame) {
+        Worldline stationaryFrame = Worldline.stationaryFrameSeenFrom(referenceFrame);
+        for (RefFrame nextFrame : frames) {
+            nextFrame.relateTo(stationaryFrame);
+        }
+    }
 
-        //Now regard reference frame as stationary, and mirrorFrame(original stationary frame) as a new reference
-        this.viewInGivenFrame(mirrorFrame);
-        this.initialPosX = this.posX;
-        this.initialVelocity = this.velocity;
-        this.occurTime = mirrorFrame.getProperTime();
-        this.initialProperTime = this.properTime;
+    // MODIFIES: this
+    // EFFECTS: regard the initial conditions of this as observed in a frame from which the stationary frame looks like
+    //          stationaryFrame, and replace them by the initial conditions observed in the stationary frame
+    private void relateTo(Worldline stationaryFrame) {
+        Worldline related = worldline().seenFrom(stationaryFrame, stationaryFrame.initialProperTime);
+        this.initialPosX = related.initialPosX;
+        this.initialVelocity = related.initialVelocity;
+        this.occurTime = related.occurTime;
+        this.initialProperTime = related.initialProperTime;
+        this.posX = this.initialPosX;
+        this.velocity = this.initialVelocity;
+        this.properTime = this.initialProperTime;
     }
 
     // REQUIRES: referenceFrame is an existing frame
@@ -74,21 +102,15 @@ public class RefFrame extends PhysicalObject implements ContainsEvents {
     // EFFECT: change the position, proper time and velocity as viewed from the given reference frame
     @Override
     public void viewInGivenFrame(RefFrame referenceFrame) {
-        if (this.initialVelocity == referenceFrame.initialVelocity) {
-            this.posX = (this.positionWhenZero() - referenceFrame.positionWhenZero())
-                    * gamma(referenceFrame.initialVelocity);
-            this.velocity = 0;
-            this.properTime = this.initialProperTime + referenceFrame.properTime - referenceFrame.initialProperTime;
-        } else {
-            MeetEvent meetEvent = this.meetingEvent(referenceFrame);
-            double relativeV = this.relativeVelocity(referenceFrame);
-            double refProperTimeWhenMeet = referenceFrame.properTimeAtEvent(meetEvent);
-            double thisProperTimeWhenMeet = this.properTimeAtEvent(meetEvent);
-            double deltaT = referenceFrame.getProperTime() - refProperTimeWhenMeet; //time changed in reference frame
-            this.posX = deltaT * relativeV;
-            this.properTime = thisProperTimeWhenMeet + deltaT / gamma(relativeV);
-            this.velocity = relativeV;
-        }
+        Worldline seen = worldline().seenFrom(referenceFrame.worldline(), referenceFrame.properTime);
+        this.posX = seen.initialPosX;
+        this.properTime = seen.initialProperTime;
+        this.velocity = seen.initialVelocity;
+    }
+
+    // EFFECTS: return the initial conditions of this alone
+    private Worldline worldline() {
+        return new Worldline(this.initialPosX, this.occurTime, this.initialProperTime, this.initialVelocity);
     }
 
 
@@ -237,6 +259,15 @@ public class RefFrame extends PhysicalObject implements ContainsEvents {
         this.properTime = newProperTime;
     }
 
+    // MODIFIES: this
+    // EFFECTS: set the position, proper time and velocity of this to the given ones, as worked out before in a view
+    //          of the frame world from the current reference frame
+    void restoreView(double posX, double properTime, double velocity) {
+        this.posX = posX;
+        this.properTime = properTime;
+        this.velocity = velocity;
+    }
+
     // MODIFIES: this
     // EFFECTS: set this' s name to newName
     //          log this change
@@ -253,20 +284,66 @@ public class RefFrame extends PhysicalObject implements ContainsEvents {
 
     // EFFECTS: return the size of observedEvents
     public int getEventsSize() {
+        loadEventPage();
         return this.observedPhysicalEvents.size();
     }
 
+    // MODIFIES: this
+    // EFFECTS: set the loader that pages in the observed events of this that are kept on disk when they are first
+    //          accessed; null if all observed events are in memory
+    void setEventPageLoader(Consumer<RefFrame> eventPageLoader) {
+        this.eventPageLoader = eventPageLoader;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: page in the observed events of this if they are kept on disk
+    private void loadEventPage() {
+        if (eventPageLoader != null) {
+            eventPageLoader.accept(this);
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: remove all events from observedEvents without paging any in, and return them
+    List<PhysicalEvent> clearObservedEvents() {
+        List<PhysicalEvent> removed = new LinkedList<>(this.observedPhysicalEvents);
+        this.observedPhysicalEvents.clear();
+        this.observedEventsHash = 0;
+        return removed;
+    }
+
 
     // MODIFIES: this
     // EFFECTS: add newEvent to observedEvents
     public void addObservedEvent(PhysicalEvent newPhysicalEvent) {
         this.observedPhysicalEvents.add(newPhysicalEvent);
+        this.observedEventsHash += newPhysicalEvent.contentHashApartFromFrame();
+    }
+
+    // EFFECTS: return the sum of the content hashes of the observed events in memory apart from their initial frame;
+    //          multiplied by eventHashFactor(), it is the sum of their content hashes
+    long getObservedEventsHash() {
+        return observedEventsHash;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: account for a change of delta in the content hash apart from frame of one of observedEvents
+    void observedEventChanged(long delta) {
+        this.observedEventsHash += delta;
+    }
+
+    // EFFECTS: return the odd factor that combines the content hash of an event apart from its frame with the name of
+    //          this as its initial frame; being a product, the content hashes of all observed events can be updated
+    //          at once when this is renamed
+    long eventHashFactor() {
+        return mixHash(name.hashCode(), 0) | 1;
     }
 
     // EFFECTS: if event named eventName exists in this' s observedEvents, return the found event;
     //          otherwise, return null
     @Override
     public PhysicalEvent findEventByName(String eventName) {
+        loadEventPage();
         for (PhysicalEvent nextPhysicalEvent : observedPhysicalEvents) {
             if (nextPhysicalEvent.getName().equals(eventName)) {
                 return nextPhysicalEvent;
@@ -279,24 +356,29 @@ public class RefFrame extends PhysicalObject implements ContainsEvents {
     // MODIFIES: this
     // EFFECTS: remove eventToDelete from this' s observedEvents
     public void deleteEvent(PhysicalEvent physicalEventToDelete) {
-        this.observedPhysicalEvents.remove(physicalEventToDelete);
+        if (this.observedPhysicalEvents.remove(physicalEventToDelete)) {
+            this.observedEventsHash -= physicalEventToDelete.contentHashApartFromFrame();
+        }
     }
 
     // REQUIRES: eventList contains all elements of observedEvents
     // MODIFIES: eventList
     // EFFECTS: remove all events in this' s observedEvents from eventList
     public void removeAllEventsInGivenEventList(List<PhysicalObject> eventList) {
+        loadEventPage();
         eventList.removeAll(this.observedPhysicalEvents);
     }
 
     // EFFECTS: return an unmodifiable list of this' s observed events
     public List<PhysicalEvent> getObservedEvents() {
+        loadEventPage();
         return Collections.unmodifiableList(this.observedPhysicalEvents);
     }
 
     // EFFECTS: return the names of all observedEvents
     @Override
     public String eventNameList() {
+        loadEventPage();
         StringBuilder allEventNames = new StringBuilder();
         for (PhysicalEvent nextPhysicalEvent : observedPhysicalEvents) {
             allEventNames.append(nextPhysicalEvent.getName());
@@ -316,6 +398,13 @@ public class RefFrame extends PhysicalObject implements ContainsEvents {
         return json;
     }
 
+    // EFFECTS: return the content hash of this, including its initial proper time and initial velocity
+    @Override
+    public long contentHash() {
+        long hash = mixHash(super.contentHash(), Double.doubleToLongBits(initialProperTime));
+        return mixHash(hash, Double.doubleToLongBits(initialVelocity));
+    }
+
     // EFFECTS: return true if o has same features as this (the observedEvents are not checked and
     //          left as the task for frameWorld)
     @Override
@@ -334,4 +423,55 @@ public class RefFrame extends PhysicalObject implements ContainsEvents {
     public int hashCode() {
         return Objects.hash(super.hashCode(), initialProperTime, initialVelocity);
     }
+
+    /*Initial conditions of a frame alone, without name, events or validation, so that viewing a frame and relating a
+     *new frame to a reference frame share the same plain arithmetic instead of constructing a temporary frame*/
+    private static final class Worldline {
+        private static final Worldline STATIONARY = new Worldline(0, 0, 0, 0);
+
+        private final double initialPosX;
+        private final double occurTime;
+        private final double initialProperTime;
+        private final double initialVelocity;
+
+        // EFFECTS: construct the initial conditions with the given values
+        Worldline(double initialPosX, double occurTime, double initialProperTime, double initialVelocity) {
+            this.initialPosX = initialPosX;
+            this.occurTime = occurTime;
+            this.initialProperTime = initialProperTime;
+            this.initialVelocity = initialVelocity;
+        }
+
+        // EFFECTS: return how the stationary frame looks from referenceFrame at its current proper time, taken as
+        //          initial conditions with referenceFrame regarded as stationary
+        static Worldline stationaryFrameSeenFrom(RefFrame referenceFrame) {
+            return STATIONARY.seenFrom(referenceFrame.worldline(), referenceFrame.properTime);
+        }
+
+        // EFFECTS: return this as viewed from reference when the clock of reference reads referenceProperTime, taken
+        //          as initial conditions with reference regarded as stationary: the position, proper time and
+        //          velocity of this at that moment are the initial position, initial proper time and velocity
+        Worldline seenFrom(Worldline reference, double referenceProperTime) {
+            double v1 = reference.initialVelocity;
+            double v2 = this.initialVelocity;
+            if (v2 == v1) {
+                double positionWhenZero = this.initialPosX - this.occurTime * v2;
+                double referencePositionWhenZero = reference.initialPosX - reference.occurTime * v1;
+                return new Worldline((positionWhenZero - referencePositionWhenZero) * gamma(v1), referenceProperTime,
+                        this.initialProperTime + referenceProperTime - reference.initialProperTime, 0);
+            }
+            double meetTime = (this.initialPosX - reference.initialPosX + v1 * reference.occurTime
+                    - v2 * this.occurTime) / (v1 - v2) + 0.0;
+            double meetPosX = reference.initialPosX + v1 * (meetTime - reference.occurTime) + 0.0;
+            double relativeV = (v2 - v1) / (1 - v2 * v1);
+            double deltaT = referenceProperTime - reference.properTimeAt(meetTime, meetPosX);
+            return new Worldline(deltaT * relativeV, referenceProperTime,
+                    this.properTimeAt(meetTime, meetPosX) + deltaT / gamma(relativeV), relativeV);
+        }
+
+        // EFFECTS: return the reading of the clock of this at the event (posX, time)
+        private double properTimeAt(double time, double posX) {
+            return lorentzTime(time - occurTime, posX - initialPosX, initialVelocity) + initialProperTime;
+        }
+    }
 }
@@ -0,0 +1,124 @@
+package model;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/*Bounded cache of views of a frameWorld, one per reference frame, so that switching back to a recently used reference
+ *frame restores its view instead of viewing every frame and event again.
+ *A view only stays valid while the frames and events of the frameWorld are unchanged, so all views belong to one
+ *version of the frameWorld, and the views of an older version are dropped as soon as one of a newer version is kept.
+ *The proper time of the reference frame is not part of the key, since a view tells the state of the world at any
+ *proper time of its reference frame. Least recently used views are dropped while the estimated memory taken by all
+ *views is over the limit*/
+public class ViewCache {
+    public static final long DEFAULT_MAX_BYTES = 64L * 1024 * 1024;
+
+    private LinkedHashMap<Long, WorldView> views; // views keyed by the id of their reference frame, least recently
+                                                  // used first
+    private long version; // version of the frameWorld all views were taken of
+    private long maxBytes; // limit of the estimated memory taken by all views
+    private long bytes; // estimated memory taken by all views
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    // REQUIRES: maxBytes >= 0
+    // EFFECTS: construct an empty cache keeping views up to maxBytes in total
+    public ViewCache(long maxBytes) {
+        this.views = new LinkedHashMap<>(16, 0.75f, true);
+        this.maxBytes = maxBytes;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: return the view taken in the reference frame with referenceId when the frameWorld was at version, and
+    //          mark it as most recently used, counting a hit; return null and count a miss if there is none
+    public WorldView get(long referenceId, long version) {
+        WorldView view = version == this.version ? views.get(referenceId) : null;
+        if (view == null) {
+            misses++;
+        } else {
+            hits++;
+        }
+        return view;
+    }
+
+    // EFFECTS: return true if there is a view taken in the reference frame with referenceId when the frameWorld was at
+    //          version, without counting a hit or miss
+    public boolean contains(long referenceId, long version) {
+        return version == this.version && views.containsKey(referenceId);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: keep view, taken in the reference frame with referenceId when the frameWorld was at version, as the most
+    //          recently used one; drop all views of an older version first, then least recently used views while over
+    //          the memory limit; a view that alone is over the limit is not kept
+    public void put(long referenceId, long version, WorldView view) {
+        if (version != this.version) {
+            clear();
+            this.version = version;
+        }
+        WorldView replaced = views.put(referenceId, view);
+        if (replaced != null) {
+            bytes -= replaced.estimatedBytes();
+        }
+        bytes += view.estimatedBytes();
+        evictOverLimit();
+    }
+
+    // MODIFIES: this
+    // EFFECTS: drop all views
+    public void clear() {
+        views.clear();
+        bytes = 0;
+    }
+
+    // REQUIRES: maxBytes >= 0
+    // MODIFIES: this
+    // EFFECTS: set the limit of the estimated memory taken by all views, dropping least recently used views if over it
+    public void setMaxBytes(long maxBytes) {
+        this.maxBytes = maxBytes;
+        evictOverLimit();
+    }
+
+    // MODIFIES: this
+    // EFFECTS: drop least recently used views while the estimated memory taken by all views is over maxBytes
+    private void evictOverLimit() {
+        Iterator<Map.Entry<Long, WorldView>> leastRecentlyUsed = views.entrySet().iterator();
+        while (bytes > maxBytes && leastRecentlyUsed.hasNext()) {
+            bytes -= leastRecentlyUsed.next().getValue().estimatedBytes();
+            leastRecentlyUsed.remove();
+            evictions++;
+        }
+    }
+
+    public long getMaxBytes() {
+        return maxBytes;
+    }
+
+    public long getBytes() {
+        return bytes;
+    }
+
+    public int size() {
+        return views.size();
+    }
+
+    public long getHits() {
+        return hits;
+    }
+
+    public long getMisses() {
+        return misses;
+    }
+
+    public long getEvictions() {
+        return evictions;
+    }
+
+    // EFFECTS: return the fraction of lookups that found a view, or 0 if there has been no lookup
+    public double getHitRate() {
+        long lookups = hits + misses;
+        return lookups == 0 ? 0 : (double) hits / lookups;
+    }
+}
@@ -0,0 +1,169 @@
+package model;
+
+import java.util.List;
+
+/*Immutable snapshot of a frameWorld as viewed from its current reference frame, which can tell the state of every
+ *frame and event at any proper time T of the reference frame without changing the frameWorld.
+ *Viewed from a fixed reference frame, every frame moves at constant velocity and its clock runs slower by the
+ *Lorentz factor, so its position and proper time are linear in T; the position and time at which an event occurs
+ *do not depend on T, and the event has occurred once T reaches that time. The snapshot is kept in primitive arrays
+ *indexed in the order of the frame list and event list*/
+public class WorldView {
+    private static final long REFERENCE_BYTES = 8; // estimated memory taken by a reference to an object
+    private static final long ARRAY_BYTES = 16; // estimated memory taken by the header of an array
+
+    private final String referenceName;
+    private final double referenceProperTime; // proper time of the reference frame when this was taken
+    private final String[] frameNames;
+    private final double[] framePosXs;
+    private final double[] frameProperTimes;
+    private final double[] frameVelocities;
+    private final String[] eventNames;
+    private final double[] eventOccurXs;
+    private final double[] eventOccurTimes;
+
+    // REQUIRES: all frames and events of frameWorld are viewed in its current reference frame
+    // MODIFIES: frameWorld
+    // EFFECTS: take a snapshot of frameWorld as it is viewed in its current reference frame; events of frameWorld
+    //          that are paged out are paged in one frame at a time, so that no more than its event budget stays in
+    //          memory (see FrameWorld.forEachEvent)
+    public WorldView(FrameWorld frameWorld) {
+        this(frameWorld.getCurrentReference(), frameWorld.getFrameList(), frameWorld.getEventCount());
+        int[] i = {0};
+        frameWorld.forEachEvent(event -> setEvent(i[0]++, event));
+    }
+
+    // REQUIRES: all of frames and events are viewed in reference
+    // EFFECTS: take a snapshot of frames and events as they are viewed in reference
+    WorldView(RefFrame reference, List<PhysicalObject> frames, List<PhysicalObject> events) {
+        this(reference, frames, events.size());
+        int i = 0;
+        for (PhysicalObject next : events) {
+            setEvent(i++, (PhysicalEvent) next);
+        }
+    }
+
+    // REQUIRES: all of frames are viewed in reference
+    // EFFECTS: take a snapshot of frames as they are viewed in reference, with room for eventCount events
+    private WorldView(RefFrame reference, List<PhysicalObject> frames, int eventCount) {
+        referenceName = reference.getName();
+        referenceProperTime = reference.getProperTime();
+        frameNames = new String[frames.size()];
+        framePosXs = new double[frames.size()];
+        frameProperTimes = new double[frames.size()];
+        frameVelocities = new double[frames.size()];
+        int i = 0;
+        for (PhysicalObject next : frames) {
+            RefFrame frame = (RefFrame) next;
+            frameNames[i] = frame.getName();
+            framePosXs[i] = frame.getPosX();
+            frameProperTimes[i] = frame.getProperTime();
+            frameVelocities[i++] = frame.getVelocity();
+        }
+        eventNames = new String[eventCount];
+        eventOccurXs = new double[eventCount];
+        eventOccurTimes = new double[eventCount];
+    }
+
+    // REQUIRES: 0 <= i < number of events in this, and event is viewed in the reference frame of this
+    // MODIFIES: this
+    // EFFECTS: record event as the i-th event of this
+    private void setEvent(int i, PhysicalEvent event) {
+        eventNames[i] = event.getName();
+        eventOccurXs[i] = event.getCurrentOccurX();
+        eventOccurTimes[i] = event.getCurrentOccurTime();
+    }
+
+    // REQUIRES: frames and events are the ones this was taken of, in the same order and unchanged since, and reference
+    //           is the reference frame this was taken in
+    // MODIFIES: frames, events
+    // EFFECTS: set frames and events to their state in this when reference reads its current proper time, which
+    //          needs no Lorentz transformation since they are linear in it; the proper time of reference stays
+    void applyTo(RefFrame reference, List<PhysicalObject> frames, List<PhysicalObject> events) {
+        double properTime = reference.getProperTime();
+        int i = 0;
+        for (PhysicalObject next : frames) {
+            if (next == reference) {
+                reference.restoreView(0, properTime, 0);
+            } else {
+                ((RefFrame) next).restoreView(posXAt(i, properTime), properTimeAt(i, properTime), frameVelocities[i]);
+            }
+            i++;
+        }
+        i = 0;
+        for (PhysicalObject next : events) {
+            ((PhysicalEvent) next).restoreView(eventOccurXs[i], eventOccurTimes[i], reference);
+            i++;
+        }
+    }
+
+    // EFFECTS: return an estimate of the memory taken by the arrays of this in bytes, not counting the names they
+    //          refer to, which are shared with the frames and events
+    public long estimatedBytes() {
+        return 7 * ARRAY_BYTES + frameNames.length * (REFERENCE_BYTES + 3 * Double.BYTES)
+                + (long) eventNames.length * (REFERENCE_BYTES + 2 * Double.BYTES);
+    }
+
+    public String getReferenceName() {
+        return referenceName;
+    }
+
+    public double getReferenceProperTime() {
+        return referenceProperTime;
+    }
+
+    public int getFrameCount() {
+        return frameNames.length;
+    }
+
+    public int getEventCount() {
+        return eventNames.length;
+    }
+
+    // REQUIRES: 0 <= frame < getFrameCount()
+    public String getFrameName(int frame) {
+        return frameNames[frame];
+    }
+
+    // REQUIRES: 0 <= frame < getFrameCount()
+    // EFFECTS: return the position of the given frame when the reference frame reads properTime
+    public double posXAt(int frame, double properTime) {
+        return framePosXs[frame] + frameVelocities[frame] * (properTime - referenceProperTime);
+    }
+
+    // REQUIRES: 0 <= frame < getFrameCount()
+    // EFFECTS: return the reading of the clock of the given frame when the reference frame reads properTime
+    public double properTimeAt(int frame, double properTime) {
+        return frameProperTimes[frame]
+                + (properTime - referenceProperTime) / PhysicalObject.gamma(frameVelocities[frame]);
+    }
+
+    // REQUIRES: 0 <= frame < getFrameCount()
+    // EFFECTS: return the velocity of the given frame relative to the reference frame
+    public double velocityOf(int frame) {
+        return frameVelocities[frame];
+    }
+
+    // REQUIRES: 0 <= event < getEventCount()
+    public String getEventName(int event) {
+        return eventNames[event];
+    }
+
+    // REQUIRES: 0 <= event < getEventCount()
+    // EFFECTS: return the position at which the given event occurs in the reference frame
+    public double occurXOf(int event) {
+        return eventOccurXs[event];
+    }
+
+    // REQUIRES: 0 <= event < getEventCount()
+    // EFFECTS: return the time at which the given event occurs in the reference frame
+    public double occurTimeOf(int event) {
+        return eventOccurTimes[event];
+    }
+
+    // REQUIRES: 0 <= event < getEventCount()
+    // EFFECTS: return true if the given event has occurred when the reference frame reads properTime
+    public boolean hasOccurredAt(int event, double properTime) {
+        return properTime >= eventOccurTimes[event];
+    }
+}
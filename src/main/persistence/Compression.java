@@ -0,0 +1,48 @@
+package persistence;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/*Streaming compressed container for saved data, built on java.util.zip.
+ *Data is written as gzip; on reading, gzip and zlib (deflate) data are detected by their magic bytes and
+ *decompressed on the fly, while anything else is passed through unchanged*/
+public final class Compression {
+    public static final int BUFFER_SIZE = 1 << 16;
+    private static final int GZIP_MAGIC_FIRST = 0x1f;
+    private static final int GZIP_MAGIC_SECOND = 0x8b;
+    private static final int ZLIB_DEFLATE_METHOD = 0x78;
+
+    private Compression() {
+    }
+
+    // MODIFIES: out
+    // EFFECTS: return a buffered stream that gzip-compresses everything written to it into out
+    //          throws IOException if the gzip header cannot be written
+    public static OutputStream compressing(OutputStream out) throws IOException {
+        return new BufferedOutputStream(new GZIPOutputStream(out, BUFFER_SIZE), BUFFER_SIZE);
+    }
+
+    // MODIFIES: in
+    // EFFECTS: return a buffered stream reading the data in in, which is decompressed if it starts with the magic
+    //          bytes of gzip or zlib, and read as is otherwise
+    //          throws IOException if in cannot be read or its compressed header is broken
+    public static InputStream decompressing(InputStream in) throws IOException {
+        BufferedInputStream buffered = new BufferedInputStream(in, BUFFER_SIZE);
+        buffered.mark(2);
+        int first = buffered.read();
+        int second = buffered.read();
+        buffered.reset();
+        if (first == GZIP_MAGIC_FIRST && second == GZIP_MAGIC_SECOND) {
+            return new BufferedInputStream(new GZIPInputStream(buffered, BUFFER_SIZE), BUFFER_SIZE);
+        } else if (first == ZLIB_DEFLATE_METHOD && second >= 0 && ((first << 8) | second) % 31 == 0) {
+            return new BufferedInputStream(new InflaterInputStream(buffered), BUFFER_SIZE);
+        }
+        return buffered;
+    }
+}
@@ -0,0 +1,227 @@
+package persistence;
+
+import model.FrameWorld;
+import model.PhysicalEvent;
+import model.PhysicalObject;
+import model.RefFrame;
+import model.exceptions.FrameConstructException;
+import model.exceptions.SameNameException;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/*Bulk importer of frames or events from a CSV or TSV file with a header row.
+ *Each field of a frame or event is read from the column whose header is mapped to it (by default the header equal to
+ *the field name, as in the saved JSON file). Frames are given in the absolute stationary frame, or in the frame named
+ *in their optional referenceFrame column, and events in their initial frame; both are found by name among the frames
+ *already in the frameWorld. Numbers are parsed straight from
+ *the read buffer, rows that cannot be imported are reported with their line numbers, and all accepted rows are added
+ *to the frameWorld in one batch*/
+public class CsvImporter {
+    public static final String NAME = "name";
+    public static final String INITIAL_POS_X = "initialPosX";
+    public static final String OCCUR_TIME = "occurTime";
+    public static final String INITIAL_PROPER_TIME = "initialProperTime";
+    public static final String INITIAL_VELOCITY = "initialVelocity";
+    public static final String INITIAL_FRAME = "initialFrame";
+    public static final String REFERENCE_FRAME = "referenceFrame";
+
+    private String fileName;
+    private char delimiter;
+    private Map<String, String> columnHeaders; // header of the column holding each field
+
+    // EFFECTS: create an importer for file named fileName, whose columns are separated by tabs if its name ends
+    //          with ".tsv" and by commas otherwise
+    public CsvImporter(String fileName) {
+        this(fileName, fileName.toLowerCase().endsWith(".tsv") ? '\t' : ',');
+    }
+
+    // EFFECTS: create an importer for file named fileName whose columns are separated by delimiter
+    public CsvImporter(String fileName, char delimiter) {
+        this.fileName = fileName;
+        this.delimiter = delimiter;
+        this.columnHeaders = new HashMap<>();
+    }
+
+    // MODIFIES: this
+    // EFFECTS: read the given field (one of the field name constants) from the column with the given header
+    public void mapColumn(String field, String header) {
+        columnHeaders.put(field, header);
+    }
+
+    // MODIFIES: frameWorld
+    // EFFECTS: add the frames in the rows of the file to frameWorld in one batch and return the report; frames whose
+    //          referenceFrame cell names a frame are taken as observed in that frame at its current proper time (as
+    //          for frames created in a reference frame), and are related to each reference frame together; rows with
+    //          a malformed number, an empty or repeated name, a velocity not below the speed of light or a reference
+    //          frame not in frameWorld are rejected
+    //          throws IOException if the file cannot be read or lacks a column for any frame field
+    @SuppressWarnings("methodlength")
+    public ImportReport importFrames(FrameWorld frameWorld) throws IOException {
+        ImportReport report = new ImportReport();
+        List<RefFrame> frames = new ArrayList<>();
+        Map<RefFrame, List<RefFrame>> framesByReference = new LinkedHashMap<>();
+        Set<String> names = new HashSet<>();
+        try (CsvTokenizer rows = open()) {
+            int[] columns = findColumns(rows, NAME, INITIAL_POS_X, OCCUR_TIME, INITIAL_PROPER_TIME, INITIAL_VELOCITY,
+                    REFERENCE_FRAME);
+            RefFrame referenceFrame = null;
+            while (rows.nextRow()) {
+                try {
+                    String name = nameOf(rows, columns, frameWorld::findFrameByName, names);
+                    RefFrame frame = new RefFrame(name, rows.fieldDouble(columns[1]), rows.fieldDouble(columns[2]),
+                            rows.fieldDouble(columns[3]), rows.fieldDouble(columns[4]));
+                    boolean related = columns[5] >= 0 && !rows.fieldEquals(columns[5], "");
+                    if (related) {
+                        referenceFrame = initialFrameOf(rows, columns[5], frameWorld, referenceFrame);
+                        framesByReference.computeIfAbsent(referenceFrame, k -> new ArrayList<>()).add(frame);
+                    }
+                    frames.add(frame);
+                    names.add(name);
+                } catch (NumberFormatException | FrameConstructException | RowException exception) {
+                    report.addRejected(rows.getLineNumber(), reasonOf(exception));
+                }
+            }
+        }
+        for (Map.Entry<RefFrame, List<RefFrame>> nextGroup : framesByReference.entrySet()) {
+            RefFrame.relateAllTo(nextGroup.getValue(), nextGroup.getKey());
+        }
+        addInBatch(frameWorld, frames, true);
+        report.addImported(frames);
+        return report;
+    }
+
+    // MODIFIES: frameWorld
+    // EFFECTS: add the events in the rows of the file to frameWorld in one batch and return the report; rows with a
+    //          malformed number, an empty or repeated name, or an initial frame not in frameWorld are rejected
+    //          throws IOException if the file cannot be read or lacks a column for any event field
+    public ImportReport importEvents(FrameWorld frameWorld) throws IOException {
+        ImportReport report = new ImportReport();
+        List<PhysicalEvent> events = new ArrayList<>();
+        Set<String> names = new HashSet<>();
+        try (CsvTokenizer rows = open()) {
+            int[] columns = findColumns(rows, NAME, INITIAL_POS_X, OCCUR_TIME, INITIAL_FRAME);
+            RefFrame initialFrame = null;
+            while (rows.nextRow()) {
+                try {
+                    String name = nameOf(rows, columns, frameWorld::findEventByName, names);
+                    initialFrame = initialFrameOf(rows, columns[3], frameWorld, initialFrame);
+                    events.add(new PhysicalEvent(name, rows.fieldDouble(columns[1]), rows.fieldDouble(columns[2]),
+                            initialFrame));
+                    names.add(name);
+                } catch (NumberFormatException | FrameConstructException | RowException exception) {
+                    report.addRejected(rows.getLineNumber(), reasonOf(exception));
+                }
+            }
+        }
+        addInBatch(frameWorld, events, false);
+        report.addImported(events);
+        return report;
+    }
+
+    // EFFECTS: open the file for splitting into rows
+    //          throws IOException if the file cannot be opened
+    private CsvTokenizer open() throws IOException {
+        return new CsvTokenizer(Files.newBufferedReader(Paths.get(fileName), StandardCharsets.UTF_8), delimiter);
+    }
+
+    // MODIFIES: rows
+    // EFFECTS: read the header row and return the index of the column mapped to each of fields, in order, or -1 for
+    //          the optional REFERENCE_FRAME if there is no column for it
+    //          throws IOException if the file is empty or has no column for any other of fields
+    private int[] findColumns(CsvTokenizer rows, String... fields) throws IOException {
+        if (!rows.nextRow()) {
+            throw new IOException("File " + fileName + " has no header row");
+        }
+        Map<String, Integer> headerColumns = new HashMap<>();
+        for (int i = rows.getFieldCount() - 1; i >= 0; i--) {
+            headerColumns.put(rows.field(i).trim(), i);
+        }
+        int[] columns = new int[fields.length];
+        for (int i = 0; i < fields.length; i++) {
+            String header = columnHeaders.getOrDefault(fields[i], fields[i]);
+            Integer column = headerColumns.get(header);
+            if (column == null && fields[i].equals(REFERENCE_FRAME)) {
+                column = -1;
+            } else if (column == null) {
+                throw new IOException("File " + fileName + " has no column " + header + " for " + fields[i]);
+            }
+            columns[i] = column;
+        }
+        return columns;
+    }
+
+    // EFFECTS: return the name in the current row, with the name column at columns[0]
+    //          throws RowException if the row lacks any of columns (other than those at -1), or the name is already
+    //          taken by an object found by lookup or by an earlier accepted row in names
+    private static String nameOf(CsvTokenizer rows, int[] columns, Function<String, PhysicalObject> lookup,
+                                 Set<String> names) throws RowException {
+        for (int column : columns) {
+            if (column >= rows.getFieldCount()) {
+                throw new RowException("missing column " + (column + 1));
+            }
+        }
+        String name = rows.field(columns[0]);
+        if (lookup.apply(name) != null || names.contains(name)) {
+            throw new RowException("name " + name + " is already used");
+        }
+        return name;
+    }
+
+    // EFFECTS: return the frame in frameWorld named by the given column of the current row, reusing lastFrame
+    //          without creating a string if the row names the same frame as the previous one
+    //          throws RowException if there is no such frame
+    private static RefFrame initialFrameOf(CsvTokenizer rows, int column, FrameWorld frameWorld, RefFrame lastFrame)
+            throws RowException {
+        if (lastFrame != null && rows.fieldEquals(column, lastFrame.getName())) {
+            return lastFrame;
+        }
+        RefFrame initialFrame = frameWorld.findFrameByName(rows.field(column));
+        if (initialFrame == null) {
+            throw new RowException("no frame named " + rows.field(column));
+        }
+        return initialFrame;
+    }
+
+    // EFFECTS: return the reason to report for a row rejected because of exception
+    private static String reasonOf(Exception exception) {
+        if (exception instanceof NumberFormatException) {
+            return "malformed number (" + exception.getMessage() + ")";
+        }
+        return exception.getMessage();
+    }
+
+    // MODIFIES: frameWorld
+    // EFFECTS: add the accepted physicalObjects to frameWorld in one batch, as frames if areFrames, else as events;
+    //          their names have already been checked to be new and distinct
+    private static void addInBatch(FrameWorld frameWorld, List<? extends PhysicalObject> physicalObjects,
+                                   boolean areFrames) {
+        try {
+            if (areFrames) {
+                frameWorld.addFrames(physicalObjects);
+            } else {
+                frameWorld.addEvents(physicalObjects);
+            }
+        } catch (SameNameException sameNameException) {
+            throw new IllegalStateException("Names of imported rows were not checked", sameNameException);
+        }
+    }
+
+    /*Reason why a row cannot be imported, other than a malformed number or a frame that cannot be constructed*/
+    private static class RowException extends Exception {
+        // EFFECTS: create an exception with reason as its message
+        RowException(String reason) {
+            super(reason);
+        }
+    }
+}
@@ -0,0 +1,289 @@
+package persistence;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Arrays;
+
+/*Tokenizer splitting delimited text (CSV, TSV) into rows and fields directly in a reusable character buffer.
+ *Fields may be enclosed in double quotes, in which case they may contain delimiters, line breaks and doubled quotes.
+ *Numbers are parsed straight from the buffer, so that no string is created for a numeric field*/
+class CsvTokenizer implements Closeable {
+    private static final int BUFFER_SIZE = 1 << 16;
+    private static final int MAX_MANTISSA_DIGITS = 18;
+    private static final long MAX_EXACT_MANTISSA = 1L << 53;
+    private static final double[] POWERS_OF_TEN = {
+        1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+        1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22};
+
+    private final Reader reader;
+    private final char delimiter;
+    private char[] buffer;
+    private int position; // index of the first character not yet split into rows
+    private int limit; // index after the last character read into buffer
+    private boolean endOfInput;
+    private int[] fieldStarts;
+    private int[] fieldEnds;
+    private boolean[] fieldEscaped; // true if the field contains doubled quotes
+    private int fieldCount;
+    private int lineNumber; // line on which the current row starts
+    private int nextLineNumber;
+
+    // EFFECTS: create a tokenizer splitting the text from reader into fields by delimiter
+    CsvTokenizer(Reader reader, char delimiter) {
+        this.reader = reader;
+        this.delimiter = delimiter;
+        this.buffer = new char[BUFFER_SIZE];
+        this.fieldStarts = new int[16];
+        this.fieldEnds = new int[16];
+        this.fieldEscaped = new boolean[16];
+        this.nextLineNumber = 1;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: move to the next row that is not blank and return true; return false if there is no more row
+    //          throws IOException if the text cannot be read
+    boolean nextRow() throws IOException {
+        while (readRow()) {
+            if (fieldCount > 1 || fieldStarts[0] != fieldEnds[0] || fieldEscaped[0]) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // EFFECTS: return the number of fields in the current row
+    int getFieldCount() {
+        return fieldCount;
+    }
+
+    // EFFECTS: return the line on which the current row starts, counting from 1
+    int getLineNumber() {
+        return lineNumber;
+    }
+
+    // REQUIRES: 0 <= field < getFieldCount()
+    // EFFECTS: return the text of the given field of the current row, without enclosing quotes
+    String field(int field) {
+        String text = new String(buffer, fieldStarts[field], fieldEnds[field] - fieldStarts[field]);
+        return fieldEscaped[field] ? text.replace("\"\"", "\"") : text;
+    }
+
+    // REQUIRES: 0 <= field < getFieldCount()
+    // EFFECTS: return true if the given field of the current row has the same text as text, without creating a string
+    boolean fieldEquals(int field, String text) {
+        if (fieldEscaped[field]) {
+            return field(field).equals(text);
+        }
+        if (fieldEnds[field] - fieldStarts[field] != text.length()) {
+            return false;
+        }
+        for (int i = 0; i < text.length(); i++) {
+            if (buffer[fieldStarts[field] + i] != text.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // REQUIRES: 0 <= field < getFieldCount()
+    // EFFECTS: parse the given field of the current row as a decimal number (surrounding spaces allowed) directly from
+    //          the buffer and return it; numbers whose digits fit in 53 bits and whose exponent is small are computed
+    //          exactly in one floating point operation, others fall back to Double.parseDouble
+    //          throws NumberFormatException if the field is not a decimal number
+    @SuppressWarnings("methodlength")
+    double fieldDouble(int field) {
+        int start = fieldStarts[field];
+        int end = fieldEnds[field];
+        while (start < end && buffer[start] == ' ') {
+            start++;
+        }
+        while (end > start && buffer[end - 1] == ' ') {
+            end--;
+        }
+        int i = start;
+        boolean negative = i < end && buffer[i] == '-';
+        if (i < end && (buffer[i] == '-' || buffer[i] == '+')) {
+            i++;
+        }
+        long mantissa = 0;
+        int digits = 0;
+        int exponent = 0;
+        boolean truncated = false;
+        boolean hasDigit = false;
+        boolean fraction = false;
+        for (; i < end; i++) {
+            char c = buffer[i];
+            if (c == '.' && !fraction) {
+                fraction = true;
+                continue;
+            }
+            if (c < '0' || c > '9') {
+                break;
+            }
+            hasDigit = true;
+            if (digits < MAX_MANTISSA_DIGITS) {
+                mantissa = mantissa * 10 + (c - '0');
+                digits += mantissa == 0 ? 0 : 1;
+                exponent -= fraction ? 1 : 0;
+            } else {
+                truncated = true;
+                exponent += fraction ? 0 : 1;
+            }
+        }
+        if (hasDigit && i < end && (buffer[i] == 'e' || buffer[i] == 'E')) {
+            int[] parsed = parseExponent(i + 1, end);
+            exponent += parsed[0];
+            i = parsed[1];
+        }
+        if (!hasDigit || i != end) {
+            throw new NumberFormatException("For input string: \"" + new String(buffer, start, end - start) + "\"");
+        }
+        if (truncated || mantissa >= MAX_EXACT_MANTISSA || exponent < -22 || exponent > 22) {
+            return Double.parseDouble(new String(buffer, start, end - start));
+        }
+        double value = exponent < 0 ? mantissa / POWERS_OF_TEN[-exponent] : mantissa * POWERS_OF_TEN[exponent];
+        return negative ? -value : value;
+    }
+
+    // EFFECTS: parse the signed exponent starting at index from in buffer, stopping before end; return the exponent
+    //          (capped in magnitude) and the index after it, or index from - 1 if there is no digit so that the
+    //          number is rejected
+    private int[] parseExponent(int from, int end) {
+        int i = from;
+        boolean negative = i < end && buffer[i] == '-';
+        if (i < end && (buffer[i] == '-' || buffer[i] == '+')) {
+            i++;
+        }
+        int exponent = 0;
+        int digitsStart = i;
+        for (; i < end && buffer[i] >= '0' && buffer[i] <= '9'; i++) {
+            exponent = Math.min(exponent * 10 + (buffer[i] - '0'), 99999);
+        }
+        if (i == digitsStart) {
+            return new int[] {0, from - 1};
+        }
+        return new int[] {negative ? -exponent : exponent, i};
+    }
+
+    // MODIFIES: this
+    // EFFECTS: split the next row into fields and return true; return false if the end of the text is reached
+    private boolean readRow() throws IOException {
+        while (true) {
+            if (position == limit && endOfInput) {
+                return false;
+            }
+            int rowEnd = position < limit ? scanRow() : -1;
+            if (rowEnd >= 0) {
+                position = rowEnd;
+                return true;
+            }
+            refill();
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: record the fields of the row starting at position and return the index after its line break; return
+    //          -1 if the row is not complete in the buffer and more text has to be read first
+    @SuppressWarnings("methodlength")
+    private int scanRow() {
+        int i = position;
+        int lineBreaks = 0;
+        fieldCount = 0;
+        while (true) {
+            int start = i;
+            int end;
+            boolean escaped = false;
+            if (buffer[i] == '"') {
+                start = ++i;
+                while (i < limit && (buffer[i] != '"' || (i + 1 < limit && buffer[i + 1] == '"'))) {
+                    escaped |= buffer[i] == '"';
+                    lineBreaks += buffer[i] == '\n' ? 1 : 0;
+                    i += buffer[i] == '"' ? 2 : 1;
+                }
+                if (i + 1 >= limit && !endOfInput) {
+                    return -1;
+                }
+                end = Math.min(i, limit);
+                i = Math.min(i + 1, limit);
+            } else {
+                end = -1;
+            }
+            while (i < limit && buffer[i] != delimiter && buffer[i] != '\n' && buffer[i] != '\r') {
+                i++;
+            }
+            if (i == limit && !endOfInput) {
+                return -1;
+            }
+            addField(start, end < 0 ? i : end, escaped);
+            if (i < limit && buffer[i] == delimiter) {
+                i++;
+                if (i == limit && !endOfInput) {
+                    return -1;
+                }
+                if (i < limit) {
+                    continue;
+                }
+                addField(i, i, false);
+            }
+            return endOfLine(i, lineBreaks);
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: consume the line break at index i of buffer (if any), update line numbers with the lineBreaks inside
+    //          the row, and return the index after the line break; return -1 if more text is needed to tell whether
+    //          a carriage return is followed by a line feed
+    private int endOfLine(int i, int lineBreaks) {
+        if (i < limit && buffer[i] == '\r') {
+            if (i + 1 == limit && !endOfInput) {
+                return -1;
+            }
+            i += (i + 1 < limit && buffer[i + 1] == '\n') ? 2 : 1;
+        } else if (i < limit) {
+            i++;
+        }
+        lineNumber = nextLineNumber;
+        nextLineNumber += lineBreaks + 1;
+        return i;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: record a field of the current row spanning [start, end) in buffer
+    private void addField(int start, int end, boolean escaped) {
+        if (fieldCount == fieldStarts.length) {
+            fieldStarts = Arrays.copyOf(fieldStarts, fieldCount * 2);
+            fieldEnds = Arrays.copyOf(fieldEnds, fieldCount * 2);
+            fieldEscaped = Arrays.copyOf(fieldEscaped, fieldCount * 2);
+        }
+        fieldStarts[fieldCount] = start;
+        fieldEnds[fieldCount] = end;
+        fieldEscaped[fieldCount] = escaped;
+        fieldCount++;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: move the unsplit text to the front of buffer (growing it if it is full) and read more text after it;
+    //          mark the end of input if nothing more can be read
+    private void refill() throws IOException {
+        if (position > 0) {
+            System.arraycopy(buffer, position, buffer, 0, limit - position);
+            limit -= position;
+            position = 0;
+        } else if (limit == buffer.length) {
+            buffer = Arrays.copyOf(buffer, buffer.length * 2);
+        }
+        int read = reader.read(buffer, limit, buffer.length - limit);
+        if (read < 0) {
+            endOfInput = true;
+        } else {
+            limit += read;
+        }
+    }
+
+    // EFFECTS: close the underlying reader
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
@@ -0,0 +1,394 @@
+package persistence;
+
+import model.PhysicalObject;
+import org.json.JSONException;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/*Tokenizer of the event list of a saved frameWorld straight from its text into primitive buffers, without building a
+ *JSON tree for the events.
+ *One pass over the characters, which only tracks strings and nesting, finds the event list and cuts it into chunks of
+ *CHUNK_SIZE events; each chunk is then tokenized on its own, so that chunks can be tokenized concurrently. The rest
+ *of the text, with the event list replaced by an empty list, is small and left to org.json. The text may be the buffer
+ *it was read into, so that it is not copied again; it must not change while it is tokenized*/
+class EventListTokenizer {
+    static final int CHUNK_SIZE = 4096; // number of events tokenized together by one core
+    private static final String EVENT_LIST_KEY = "\"eventList\"";
+
+    private final CharSequence text;
+    private final String rest;
+    private final List<Integer> bounds; // chunk k is the text in [bounds[k], bounds[k + 1] - 1)
+
+    // EFFECTS: find the event list of the frameWorld in text and cut it into chunks; if there is no event list whose
+    //          value is an array, keep all of text as the rest, with no chunks
+    EventListTokenizer(CharSequence text) {
+        this.text = text;
+        this.bounds = new ArrayList<>();
+        int listStart = findEventList();
+        int listEnd = listStart < 0 ? -1 : cutIntoChunks(listStart);
+        if (listEnd < 0) {
+            bounds.clear();
+            this.rest = text.toString();
+        } else {
+            this.rest = text.subSequence(0, listStart) + "[]" + text.subSequence(listEnd + 1, text.length());
+        }
+    }
+
+    // EFFECTS: return the text of the frameWorld with its event list replaced by an empty list
+    String getRest() {
+        return rest;
+    }
+
+    // EFFECTS: return the number of chunks the event list is cut into
+    int getChunkCount() {
+        return Math.max(0, bounds.size() - 1);
+    }
+
+    // REQUIRES: 0 <= chunk < getChunkCount()
+    // EFFECTS: tokenize the events in chunk into primitive buffers
+    //          throws JSONException if the chunk is not a list of events with all fields of the right types
+    EventFields tokenizeChunk(int chunk) {
+        return new EventFields(text, bounds.get(chunk), bounds.get(chunk + 1) - 1);
+    }
+
+    // EFFECTS: return the index of the '[' opening the value of the eventList key of the top-level object, or -1 if
+    //          there is none
+    private int findEventList() {
+        int depth = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '"') {
+                int end = skipString(text, i);
+                if (depth == 1 && end - i == EVENT_LIST_KEY.length() && regionMatches(text, i, EVENT_LIST_KEY)) {
+                    int colon = skipWhitespace(text, end);
+                    int value = colon < text.length() && text.charAt(colon) == ':' ? skipWhitespace(text, colon + 1)
+                            : -1;
+                    if (value >= 0 && value < text.length() && text.charAt(value) == '[') {
+                        return value;
+                    }
+                }
+                i = end - 1;
+            } else if (c == '{' || c == '[') {
+                depth++;
+            } else if (c == '}' || c == ']') {
+                depth--;
+            }
+        }
+        return -1;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: record the bounds of the chunks of the list opened at listStart, one after every CHUNK_SIZE events,
+    //          and return the index of the ']' closing it, or -1 if it is not closed
+    private int cutIntoChunks(int listStart) {
+        bounds.add(listStart + 1);
+        int depth = 0;
+        int elements = 0;
+        for (int i = listStart; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '"') {
+                i = skipString(text, i) - 1;
+            } else if (c == '{' || c == '[') {
+                depth++;
+            } else if (c == '}' || c == ']') {
+                depth--;
+                if (depth == 0) {
+                    bounds.add(i + 1);
+                    return i;
+                }
+            } else if (c == ',' && depth == 1 && ++elements % CHUNK_SIZE == 0) {
+                bounds.add(i + 1);
+            }
+        }
+        return -1;
+    }
+
+    // REQUIRES: start + region.length() <= text.length()
+    // EFFECTS: return true if the characters of text from start on are those of region
+    private static boolean regionMatches(CharSequence text, int start, String region) {
+        for (int i = 0; i < region.length(); i++) {
+            if (text.charAt(start + i) != region.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // REQUIRES: text.charAt(start) == '"'
+    // EFFECTS: return the index just after the string starting at start, or text.length() if it is not closed
+    private static int skipString(CharSequence text, int start) {
+        int i = start + 1;
+        while (i < text.length() && text.charAt(i) != '"') {
+            i += text.charAt(i) == '\\' ? 2 : 1;
+        }
+        return Math.min(i + 1, text.length());
+    }
+
+    // EFFECTS: return the index of the first character at or after start that is not whitespace
+    private static int skipWhitespace(CharSequence text, int start) {
+        int i = start;
+        while (i < text.length() && Character.isWhitespace(text.charAt(i))) {
+            i++;
+        }
+        return i;
+    }
+
+    /*Fields of the events in one chunk of an event list, where the fields of the i-th event of the chunk are at index
+     *i of each buffer*/
+    static class EventFields {
+        private final CharSequence text;
+        private final int end;
+        private int pos;
+
+        private int count;
+        private long[] ids = new long[CHUNK_SIZE];
+        private String[] names = new String[CHUNK_SIZE];
+        private long[] initialFrameIds = new long[CHUNK_SIZE];
+        private String[] initialFrameNames = new String[CHUNK_SIZE]; // null where the frame is referred to by id
+        private double[] initialPosXs = new double[CHUNK_SIZE];
+        private double[] occurTimes = new double[CHUNK_SIZE];
+
+        // EFFECTS: tokenize the comma-separated events in text between start and end into the buffers
+        //          throws JSONException if they are not events with all fields of the right types
+        EventFields(CharSequence text, int start, int end) {
+            this.text = text;
+            this.end = end;
+            this.pos = skipWhitespace(text, start);
+            while (pos < end) {
+                if (count > 0) {
+                    expect(',');
+                }
+                tokenizeEvent();
+                pos = skipWhitespace(text, pos);
+            }
+        }
+
+        int getCount() {
+            return count;
+        }
+
+        long getId(int i) {
+            return ids[i];
+        }
+
+        String getName(int i) {
+            return names[i];
+        }
+
+        long getInitialFrameId(int i) {
+            return initialFrameIds[i];
+        }
+
+        // EFFECTS: return the name of the initial frame of the i-th event, or null if it is referred to by id
+        String getInitialFrameName(int i) {
+            return initialFrameNames[i];
+        }
+
+        double getInitialPosX(int i) {
+            return initialPosXs[i];
+        }
+
+        double getOccurTime(int i) {
+            return occurTimes[i];
+        }
+
+        // MODIFIES: this
+        // EFFECTS: tokenize the event object at pos into index count of the buffers, skipping unknown fields
+        //          throws JSONException if it is not an object with all fields of an event of the right types
+        @SuppressWarnings("methodlength")
+        private void tokenizeEvent() {
+            expect('{');
+            ids[count] = PhysicalObject.NEW_ID;
+            names[count] = null;
+            initialFrameNames[count] = null;
+            boolean hasFrameId = false;
+            boolean hasPosX = false;
+            boolean hasOccurTime = false;
+            boolean first = true;
+            while (!skipIf('}')) {
+                if (!first) {
+                    expect(',');
+                }
+                first = false;
+                String key = nextString();
+                expect(':');
+                pos = skipWhitespace(text, pos);
+                if (key.equals("id")) {
+                    ids[count] = nextLong();
+                } else if (key.equals("name")) {
+                    names[count] = nextString();
+                } else if (key.equals("initialPosX")) {
+                    initialPosXs[count] = nextDouble();
+                    hasPosX = true;
+                } else if (key.equals("occurTime")) {
+                    occurTimes[count] = nextDouble();
+                    hasOccurTime = true;
+                } else if (key.equals("initialFrameId")) {
+                    initialFrameIds[count] = nextLong();
+                    hasFrameId = true;
+                } else if (key.equals("initialFrame")) {
+                    initialFrameNames[count] = nextString();
+                } else {
+                    skipValue();
+                }
+            }
+            if (names[count] == null || !hasPosX || !hasOccurTime
+                    || (!hasFrameId && initialFrameNames[count] == null)) {
+                throw error("Event is missing a field");
+            }
+            if (hasFrameId) {
+                initialFrameNames[count] = null;
+            }
+            count++;
+        }
+
+        // MODIFIES: this
+        // EFFECTS: skip whitespace and the character c at pos
+        //          throws JSONException if the next character is not c
+        private void expect(char c) {
+            pos = skipWhitespace(text, pos);
+            if (pos >= end || text.charAt(pos) != c) {
+                throw error("Expected '" + c + "'");
+            }
+            pos++;
+        }
+
+        // MODIFIES: this
+        // EFFECTS: skip whitespace and return true if the character c is at pos, skipping it too
+        private boolean skipIf(char c) {
+            pos = skipWhitespace(text, pos);
+            if (pos < end && text.charAt(pos) == c) {
+                pos++;
+                return true;
+            }
+            return false;
+        }
+
+        // MODIFIES: this
+        // EFFECTS: skip whitespace, then read the string at pos and return its value
+        //          throws JSONException if there is no string at pos
+        private String nextString() {
+            expect('"');
+            int start = pos;
+            while (pos < end && text.charAt(pos) != '"' && text.charAt(pos) != '\\') {
+                pos++;
+            }
+            if (pos < end && text.charAt(pos) == '"') {
+                return text.subSequence(start, pos++).toString();
+            }
+            StringBuilder value = new StringBuilder(text.subSequence(start, pos));
+            while (pos < end && text.charAt(pos) != '"') {
+                char c = text.charAt(pos++);
+                value.append(c == '\\' ? nextEscaped() : c);
+            }
+            expect('"');
+            return value.toString();
+        }
+
+        // MODIFIES: this
+        // EFFECTS: read the escape sequence after a backslash at pos and return the character it stands for
+        //          throws JSONException if it is not a valid escape sequence
+        private char nextEscaped() {
+            if (pos >= end) {
+                throw error("Unterminated string");
+            }
+            char c = text.charAt(pos++);
+            switch (c) {
+                case 'b':
+                    return '\b';
+                case 't':
+                    return '\t';
+                case 'n':
+                    return '\n';
+                case 'f':
+                    return '\f';
+                case 'r':
+                    return '\r';
+                case 'u':
+                    try {
+                        pos += 4;
+                        return (char) Integer.parseInt(text.subSequence(pos - 4, pos).toString(), 16);
+                    } catch (NumberFormatException | IndexOutOfBoundsException e) {
+                        throw error("Illegal escape");
+                    }
+                case '"':
+                case '\\':
+                case '/':
+                    return c;
+                default:
+                    throw error("Illegal escape");
+            }
+        }
+
+        // MODIFIES: this
+        // EFFECTS: read the number at pos and return it
+        //          throws JSONException if there is no number at pos
+        private double nextDouble() {
+            try {
+                return Double.parseDouble(nextLiteral());
+            } catch (NumberFormatException e) {
+                throw error("Expected a number");
+            }
+        }
+
+        // MODIFIES: this
+        // EFFECTS: read the number at pos and return it as a long, dropping any fraction
+        //          throws JSONException if there is no number at pos
+        private long nextLong() {
+            String literal = nextLiteral();
+            try {
+                return Long.parseLong(literal);
+            } catch (NumberFormatException e) {
+                try {
+                    return (long) Double.parseDouble(literal);
+                } catch (NumberFormatException notNumber) {
+                    throw error("Expected a number");
+                }
+            }
+        }
+
+        // MODIFIES: this
+        // EFFECTS: read and return the unquoted value (number, true, false or null) at pos
+        private String nextLiteral() {
+            int start = pos;
+            while (pos < end && ",}] \t\r\n".indexOf(text.charAt(pos)) < 0) {
+                pos++;
+            }
+            return text.subSequence(start, pos).toString();
+        }
+
+        // MODIFIES: this
+        // EFFECTS: skip the value at pos, whatever its type
+        //          throws JSONException if an object or array in it is not closed
+        private void skipValue() {
+            char c = pos < end ? text.charAt(pos) : 0;
+            if (c == '"') {
+                nextString();
+            } else if (c == '{' || c == '[') {
+                int depth = 0;
+                do {
+                    c = text.charAt(pos);
+                    if (c == '"') {
+                        pos = skipString(text, pos) - 1;
+                    } else if (c == '{' || c == '[') {
+                        depth++;
+                    } else if (c == '}' || c == ']') {
+                        depth--;
+                    }
+                    pos++;
+                } while (depth > 0 && pos < end);
+                if (depth > 0) {
+                    throw error("Unterminated value");
+                }
+            } else if (nextLiteral().isEmpty()) {
+                throw error("Expected a value");
+            }
+        }
+
+        // EFFECTS: return an exception telling what is wrong at pos
+        private JSONException error(String message) {
+            return new JSONException(message + " at character " + pos + " of the event list");
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package persistence;
+
+import model.FrameWorld;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.BasicFileAttributes;
+
+/*Record of a file that a frameWorld was last loaded from or saved to: the size and modification time of the file
+ *at that moment, and the content hash of the frameWorld it holds. As long as the file keeps the same size and
+ *modification time, whether a frameWorld equals the data in the file can be decided without reading the file*/
+public class FileStamp {
+    private Path file;
+    private long size;
+    private long lastModified;
+    private long contentHash;
+
+    // EFFECTS: record the current size and modification time of file named fileName, which holds a frameWorld with
+    //          the given contentHash
+    //          throws IOException if the attributes of the file cannot be read
+    public FileStamp(String fileName, long contentHash) throws IOException {
+        this(fileName, Files.readAttributes(Paths.get(fileName), BasicFileAttributes.class), contentHash);
+    }
+
+    // EFFECTS: record the given attributes of file named fileName, which holds a frameWorld with the given
+    //          contentHash; attributes should be read before the file is read, so that any later change of the file
+    //          invalidates this
+    public FileStamp(String fileName, BasicFileAttributes attributes, long contentHash) {
+        this.file = Paths.get(fileName);
+        this.size = attributes.size();
+        this.lastModified = attributes.lastModifiedTime().toMillis();
+        this.contentHash = contentHash;
+    }
+
+    // EFFECTS: return true if the file still has the recorded size and modification time; return false if it has
+    //          changed or cannot be accessed
+    public boolean isFileUnchanged() {
+        try {
+            BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+            return attributes.size() == size && attributes.lastModifiedTime().toMillis() == lastModified;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    // EFFECTS: return true if the file is unchanged and still holds the same data as frameWorld, comparing content
+    //          hashes only
+    public boolean matches(FrameWorld frameWorld) {
+        return isFileUnchanged() && frameWorld.contentHash() == contentHash;
+    }
+
+    public long getContentHash() {
+        return contentHash;
+    }
+}
@@ -0,0 +1,90 @@
+package persistence;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.concurrent.TimeUnit;
+
+/*Watcher that notifies a listener when a file is created or modified (e.g. rewritten by an external script).
+ *The directory of the file is watched with a WatchService on a daemon thread, and a burst of changes is debounced:
+ *the listener is notified once, on the watching thread, after the file has stayed unchanged for the debounce delay*/
+public class FileWatcher implements Closeable {
+    private final Path file;
+    private final long debounceMillis;
+    private final Runnable onChange;
+    private final WatchService watchService;
+    private final Thread watchingThread;
+
+    // EFFECTS: create a watcher of file named fileName that runs onChange once the file has been unchanged for
+    //          debounceMillis milliseconds after a change
+    //          throws IOException if the directory of the file cannot be watched
+    public FileWatcher(String fileName, long debounceMillis, Runnable onChange) throws IOException {
+        this.file = Paths.get(fileName).toAbsolutePath().normalize();
+        this.debounceMillis = debounceMillis;
+        this.onChange = onChange;
+        this.watchService = FileSystems.getDefault().newWatchService();
+        file.getParent().register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+                StandardWatchEventKinds.ENTRY_MODIFY);
+        this.watchingThread = new Thread(this::watch, "FileWatcher " + file.getFileName());
+        watchingThread.setDaemon(true);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: start watching the file
+    public void start() {
+        watchingThread.start();
+    }
+
+    // EFFECTS: wait for changes of the file until this is closed; after a change, run onChange once the debounce
+    //          delay has passed since the last change of the file; changes of other files in the directory (e.g.
+    //          a temporary file written next to it) neither trigger nor postpone onChange
+    private void watch() {
+        try {
+            boolean changed = false;
+            long deadline = 0; // nano time at which to run onChange if changed
+            while (true) {
+                WatchKey key = changed ? watchService.poll(Math.max(0, deadline - System.nanoTime()),
+                        TimeUnit.NANOSECONDS) : watchService.take();
+                if (key == null) {
+                    changed = false;
+                    onChange.run();
+                    continue;
+                }
+                if (concernsFile(key)) {
+                    changed = true;
+                    deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(debounceMillis);
+                }
+                key.reset();
+            }
+        } catch (InterruptedException | ClosedWatchServiceException exception) {
+            // closed: stop watching
+        }
+    }
+
+    // EFFECTS: return true if any of the events of key is about the file, or events may have been lost
+    private boolean concernsFile(WatchKey key) {
+        boolean concerns = false;
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.kind() == StandardWatchEventKinds.OVERFLOW
+                    || file.getFileName().equals(event.context())) {
+                concerns = true;
+            }
+        }
+        return concerns;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: stop watching the file
+    @Override
+    public void close() throws IOException {
+        watchService.close();
+        watchingThread.interrupt();
+    }
+}
@@ -0,0 +1,72 @@
+package persistence;
+
+import model.PhysicalObject;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/*Result of a bulk import: the physical objects that were imported, in order, and the rows that were rejected
+ *together with their line numbers and the reasons*/
+public class ImportReport {
+    private List<PhysicalObject> imported;
+    private List<RejectedRow> rejectedRows;
+
+    // EFFECTS: create a report with nothing imported or rejected
+    public ImportReport() {
+        imported = new ArrayList<>();
+        rejectedRows = new ArrayList<>();
+    }
+
+    // MODIFIES: this
+    // EFFECTS: record that physicalObjects were imported
+    void addImported(List<? extends PhysicalObject> physicalObjects) {
+        imported.addAll(physicalObjects);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: record that the row on the given line was rejected for reason
+    void addRejected(int lineNumber, String reason) {
+        rejectedRows.add(new RejectedRow(lineNumber, reason));
+    }
+
+    public List<PhysicalObject> getImported() {
+        return Collections.unmodifiableList(imported);
+    }
+
+    public List<RejectedRow> getRejectedRows() {
+        return Collections.unmodifiableList(rejectedRows);
+    }
+
+    // EFFECTS: return a summary of how many rows were imported and rejected
+    @Override
+    public String toString() {
+        return imported.size() + " rows imported, " + rejectedRows.size() + " rows rejected";
+    }
+
+    /*A row that could not be imported*/
+    public static class RejectedRow {
+        private final int lineNumber;
+        private final String reason;
+
+        // EFFECTS: create a rejected row on the given line with reason
+        public RejectedRow(int lineNumber, String reason) {
+            this.lineNumber = lineNumber;
+            this.reason = reason;
+        }
+
+        public int getLineNumber() {
+            return lineNumber;
+        }
+
+        public String getReason() {
+            return reason;
+        }
+
+        // EFFECTS: return the line number and reason of this
+        @Override
+        public String toString() {
+            return "line " + lineNumber + ": " + reason;
+        }
+    }
+}
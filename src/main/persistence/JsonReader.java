@@ -2,22 +2,34 @@ package persistence;
 
 import model.PhysicalEvent;
 import model.FrameWorld;
+import model.PhysicalObject;
 import model.RefFrame;
 import model.exceptions.FrameConstructException;
 import org.json.JSONArray;
 import org.json.JSONObject;
 
+import java.io.FilterInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Paths;
-import java.util.stream.Stream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
 
 /* JSONReader that reads frameWorld from JSON data stored in destination file
  * Most of the codes are written referring to JsonSerializationDemo provided by CPSC 210 course:
  * https://github.students.cs.ubc.ca/CPSC210/JsonSerializationDemo/blob/master/src/main/persistence/JsonReader.java
  * see individual methods for detail*/
 public class JsonReader {
+    public static final int PROGRESS_TOTAL = 1000; // total progress reported for reading a file
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int READ_SHARE = 400; // share of PROGRESS_TOTAL for reading the text
+    private static final int TOKENIZE_SHARE = 300; // share for tokenizing the events; the rest is for constructing
+    private static final int CHUNKS_PER_CORE = 4; // chunks tokenized on each core between two reports
     private String fileToRead;
 
     // EFFECTS: initialize the name of the file to read
@@ -31,32 +43,86 @@ public class JsonReader {
     //          throws IOException if an error occurs reading data from file
     //          throws FrameConstructException if failed to construct frames and events
     public FrameWorld read() throws IOException, FrameConstructException {
-        String jsonData = readFile(fileToRead);
-        JSONObject jsonObject = new JSONObject(jsonData);
-        return parseFrameWorld(jsonObject);
+        return read((parsed, total) -> { });
     }
 
-    // This method is written referring to JsonSerializationDemo provided by CPSC 210 course, with very minor changes:
-    // https://github.students.cs.ubc.ca/CPSC210/JsonSerializationDemo/blob/master/src/main/persistence/JsonReader.java
-    // EFFECTS: reads source file as string and returns it
-    //          throws IOException if failed to read file
-    private String readFile(String source) throws IOException {
-        StringBuilder contentBuilder = new StringBuilder();
+    // EFFECTS: reads FrameWorld from file and returns it, reporting progress out of PROGRESS_TOTAL to
+    //          progressListener as the file is read, its events are tokenized and each frame or event is constructed
+    //          throws IOException if an error occurs reading data from file
+    //          throws FrameConstructException if failed to construct frames and events
+    public FrameWorld read(ProgressListener progressListener) throws IOException, FrameConstructException {
+        long size = Files.size(Paths.get(fileToRead));
+        return read(Files.newInputStream(Paths.get(fileToRead)), size, new Progress(progressListener));
+    }
 
-        try (Stream<String> stream = Files.lines(Paths.get(source), StandardCharsets.UTF_8)) {
-            stream.forEach(s -> contentBuilder.append(s));
+    // MODIFIES: source
+    // EFFECTS: reads FrameWorld from source (e.g. one scenario of an archive) and returns it, reporting progress out
+    //          of PROGRESS_TOTAL to progressListener as for a file, except while source is read, since its size is
+    //          not known; source is closed afterwards
+    //          throws IOException if an error occurs reading data from source
+    //          throws FrameConstructException if failed to construct frames and events
+    public FrameWorld read(InputStream source, ProgressListener progressListener)
+            throws IOException, FrameConstructException {
+        return read(source, -1, new Progress(progressListener));
+    }
+
+    // MODIFIES: source
+    // EFFECTS: reads FrameWorld from source of size bytes (-1 if unknown) and returns it, reporting to progress;
+    //          source is closed afterwards. The events, which make up most of a large file, are tokenized straight
+    //          from the text it was read into, a few chunks per core at a time so that progress is reported (and
+    //          reading can be cancelled) between them
+    //          throws IOException if an error occurs reading data from source
+    //          throws FrameConstructException if failed to construct frames and events
+    private FrameWorld read(InputStream source, long size, Progress progress)
+            throws IOException, FrameConstructException {
+        progress.startStage(READ_SHARE);
+        EventListTokenizer tokenizer = new EventListTokenizer(readText(source, size, progress));
+        progress.startStage(TOKENIZE_SHARE);
+        int chunkCount = tokenizer.getChunkCount();
+        int batchSize = CHUNKS_PER_CORE * Runtime.getRuntime().availableProcessors();
+        List<EventListTokenizer.EventFields> eventChunks = new ArrayList<>(chunkCount);
+        for (int batchStart = 0; batchStart < chunkCount; batchStart += batchSize) {
+            IntStream.range(batchStart, Math.min(batchStart + batchSize, chunkCount)).parallel()
+                    .mapToObj(tokenizer::tokenizeChunk).forEachOrdered(eventChunks::add);
+            progress.report(eventChunks.size(), chunkCount);
         }
+        progress.startStage(PROGRESS_TOTAL - READ_SHARE - TOKENIZE_SHARE);
+        return parseFrameWorld(new JSONObject(tokenizer.getRest()), eventChunks, progress);
+    }
 
-        return contentBuilder.toString();
+    // MODIFIES: source
+    // EFFECTS: reads all of source of size bytes (-1 if unknown), decompressing it on the fly if it is compressed,
+    //          and returns it as text, reporting to progress after each buffer read; source is closed afterwards
+    //          throws IOException if failed to read source
+    private StringBuilder readText(InputStream source, long size, Progress progress) throws IOException {
+        CountingInputStream counted = new CountingInputStream(source);
+        try (InputStream in = Compression.decompressing(counted);
+             Reader reader = new InputStreamReader(in, StandardCharsets.UTF_8)) {
+            StringBuilder text = new StringBuilder((int) Math.min(Math.max(size, BUFFER_SIZE), Integer.MAX_VALUE - 8));
+            char[] buffer = new char[BUFFER_SIZE];
+            for (int read = reader.read(buffer); read >= 0; read = reader.read(buffer)) {
+                text.append(buffer, 0, read);
+                progress.report(counted.getCount(), size);
+            }
+            return text;
+        }
     }
 
-    // EFFECTS: return the parsed frameWorld according to given jsonFrameWorld
+    // EFFECTS: return the parsed frameWorld according to given jsonFrameWorld, whose events are the ones tokenized
+    //          into eventChunks
     //          throws FrameConstructException if failed to construct frames and events
-    private FrameWorld parseFrameWorld(JSONObject jsonFrameWorld) throws FrameConstructException {
+    private FrameWorld parseFrameWorld(JSONObject jsonFrameWorld, List<EventListTokenizer.EventFields> eventChunks,
+                                       Progress progress) throws FrameConstructException {
         FrameWorld frameWorld = new FrameWorld();
         frameWorld.markAsCurrentFrameWorld(false);
-        createFrames(frameWorld, jsonFrameWorld);
-        createEvents(frameWorld, jsonFrameWorld);
+        JSONArray frameArray = jsonFrameWorld.getJSONArray("frameList");
+        jsonFrameWorld.getJSONArray("eventList"); // the events themselves were cut out into eventChunks
+        int total = frameArray.length();
+        for (EventListTokenizer.EventFields nextChunk : eventChunks) {
+            total += nextChunk.getCount();
+        }
+        createFrames(frameWorld, frameArray, progress, total);
+        createEvents(frameWorld, eventChunks, progress, total);
 
         String currentReferenceName = jsonFrameWorld.getString("currentReference");
         RefFrame currentReference = frameWorld.findFrameByName(currentReferenceName);
@@ -75,56 +141,133 @@ public class JsonReader {
     // This method is written referring to JsonSerializationDemo provided by CPSC 210 course, with very minor changes:
     // https://github.students.cs.ubc.ca/CPSC210/JsonSerializationDemo/blob/master/src/main/persistence/JsonReader.java
     // MODIFIES: frameWorld
-    // EFFECTS: add frames that are parsed from jsonFrameWorld to frameWorld
+    // EFFECTS: add frames that are parsed from frameArray to frameWorld, reporting progress out of total after each
+    //          frame is added
     //          throws FrameConstructException if fail to construct frame/event, or fail to find
-    private void createFrames(FrameWorld frameWorld, JSONObject jsonFrameWorld) throws FrameConstructException {
-        JSONArray frameArray = jsonFrameWorld.getJSONArray("frameList");
+    private void createFrames(FrameWorld frameWorld, JSONArray frameArray, Progress progress,
+                              int total) throws FrameConstructException {
+        int parsed = 0;
         for (Object frameJson : frameArray) {
             JSONObject nextFrameJson = (JSONObject) frameJson;
             createFrame(frameWorld, nextFrameJson);
+            progress.report(++parsed, total);
         }
     }
 
     // MODIFIES: frameWorld
-    // EFFECTS: add frame that is parsed from nextFrameJson to frameWorld
-    //          throws FrameConstructException if fail to construct frame
+    // EFFECTS: add frame that is parsed from nextFrameJson to frameWorld, keeping the id it was saved with (files
+    //          saved before frames had ids give it a new one)
+    //          throws FrameConstructException if fail to construct frame, or its id is invalid or already taken
     private void createFrame(FrameWorld frameWorld, JSONObject nextFrameJson) throws FrameConstructException {
+        long id = nextFrameJson.optLong("id", PhysicalObject.NEW_ID);
+        if (id != PhysicalObject.NEW_ID && (id < 0 || frameWorld.findFrameById(id) != null)) {
+            throw new FrameConstructException();
+        }
         String name = nextFrameJson.getString("name");
         Double initialPosX = nextFrameJson.getDouble("initialPosX");
         Double occurTime = nextFrameJson.getDouble("occurTime");
         Double initialProperTime = nextFrameJson.getDouble("initialProperTime");
         Double initialVelocity = nextFrameJson.getDouble("initialVelocity");
-        RefFrame nextFrame = new RefFrame(name, initialPosX, occurTime, initialProperTime, initialVelocity);
+        RefFrame nextFrame = new RefFrame(id, name, initialPosX, occurTime, initialProperTime, initialVelocity);
         frameWorld.addFrame(nextFrame);
         // nextFrame will be automatically updated according to a newly initialized Absolute Stationary Frame
     }
 
-    // This method is written referring to JsonSerializationDemo provided by CPSC 210 course, with very minor changes:
-    // https://github.students.cs.ubc.ca/CPSC210/JsonSerializationDemo/blob/master/src/main/persistence/JsonReader.java
     // REQUIRES: frameWorld is already updated and has all frames
     // MODIFIES: frameWorld
-    // EFFECTS: add events that are parsed from jsonFrameWorld to frameWorld
-    //          throws FrameConstructException if fail to construct event
-    private void createEvents(FrameWorld frameWorld, JSONObject jsonFrameWorld) throws FrameConstructException {
-        JSONArray eventArray = jsonFrameWorld.getJSONArray("eventList");
-        for (Object eventJson : eventArray) {
-            JSONObject nextEventJson = (JSONObject) eventJson;
-            createEvent(frameWorld, nextEventJson);
+    // EFFECTS: construct the events tokenized into eventChunks in order, with initial frames looked up by id (or by
+    //          name in files saved before frames had ids), and add them to frameWorld in one batch,
+    //          reporting progress out of total after each event is constructed (frames are counted as already parsed)
+    //          throws FrameConstructException if fail to construct event or to find its initial frame
+    private void createEvents(FrameWorld frameWorld, List<EventListTokenizer.EventFields> eventChunks,
+                              Progress progress, int total) throws FrameConstructException {
+        List<PhysicalEvent> events = new ArrayList<>();
+        int parsed = total;
+        for (EventListTokenizer.EventFields fields : eventChunks) {
+            parsed -= fields.getCount();
+        }
+        for (EventListTokenizer.EventFields fields : eventChunks) {
+            for (int i = 0; i < fields.getCount(); i++) {
+                RefFrame initialFrame = fields.getInitialFrameName(i) == null
+                        ? frameWorld.findFrameById(fields.getInitialFrameId(i))
+                        : frameWorld.findFrameByName(fields.getInitialFrameName(i));
+                if (initialFrame == null || fields.getId(i) < PhysicalObject.NEW_ID) {
+                    throw new FrameConstructException();
+                }
+                events.add(new PhysicalEvent(fields.getId(i), fields.getName(i), fields.getInitialPosX(i),
+                        fields.getOccurTime(i), initialFrame));
+                progress.report(++parsed, total);
+            }
         }
+        frameWorld.addEvents(events);
     }
 
-    // MODIFIES: frameWorld
-    // EFFECTS: add event that is parsed from nextEventJson to frameWorld
-    //          throws FrameConstructException if fail to construct event
-    private void createEvent(FrameWorld frameWorld, JSONObject nextEventJson) throws FrameConstructException {
-        String name = nextEventJson.getString("name");
-        Double initialPosX = nextEventJson.getDouble("initialPosX");
-        Double occurTime = nextEventJson.getDouble("occurTime");
-
-        String initialFrameName = nextEventJson.getString("initialFrame");
-        RefFrame initialFrame = frameWorld.findFrameByName(initialFrameName);
-
-        PhysicalEvent nextPhysicalEvent = new PhysicalEvent(name, initialPosX, occurTime, initialFrame);
-        frameWorld.addEvent(nextPhysicalEvent);
+    /*Overall progress of reading one frameWorld, out of PROGRESS_TOTAL, made of stages that each take a share of it
+     *and report how much of their own work is done*/
+    private static class Progress {
+        private final ProgressListener listener;
+        private int stageStart; // progress when the current stage started
+        private int stageShare; // share of the current stage
+
+        // EFFECTS: create a progress reported to listener, with no stage started
+        Progress(ProgressListener listener) {
+            this.listener = listener;
+        }
+
+        // MODIFIES: this
+        // EFFECTS: end the current stage and start the next one, taking share of PROGRESS_TOTAL
+        void startStage(int share) {
+            stageStart += stageShare;
+            stageShare = share;
+        }
+
+        // EFFECTS: report to the listener that done out of total of the work of the current stage is done; if total
+        //          is not known (negative), report the progress when the stage started, so that the listener can
+        //          still cancel
+        void report(long done, long total) {
+            long stageDone = total > 0 ? stageShare * Math.min(done, total) / total : 0;
+            listener.progressed(stageStart + (int) stageDone, PROGRESS_TOTAL);
+        }
+    }
+
+    /*Input stream counting the bytes read through it, e.g. to tell how much of a compressed file is read*/
+    private static class CountingInputStream extends FilterInputStream {
+        private long count;
+
+        // EFFECTS: create a stream reading from in, with no bytes counted yet
+        CountingInputStream(InputStream in) {
+            super(in);
+        }
+
+        long getCount() {
+            return count;
+        }
+
+        // MODIFIES: this
+        // EFFECTS: read the next byte and count it
+        @Override
+        public int read() throws IOException {
+            int read = super.read();
+            count += read < 0 ? 0 : 1;
+            return read;
+        }
+
+        // MODIFIES: this
+        // EFFECTS: read up to length bytes into buffer from offset on and count them
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int read = super.read(buffer, offset, length);
+            count += Math.max(read, 0);
+            return read;
+        }
+
+        // MODIFIES: this
+        // EFFECTS: skip up to n bytes and count them
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = super.skip(n);
+            count += skipped;
+            return skipped;
+        }
     }
 }
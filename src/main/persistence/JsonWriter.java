@@ -1,11 +1,16 @@
 package persistence;
 
 import model.FrameWorld;
+import org.json.JSONException;
 import org.json.JSONObject;
 
-import java.io.File;
-import java.io.FileNotFoundException;
-import java.io.PrintWriter;
+import java.io.BufferedWriter;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 
 /*JSONWriter that writes FrameWorld
  * Most of the codes are written referring to JsonSerializationDemo provided by CPSC 210 course:
@@ -13,40 +18,77 @@ import java.io.PrintWriter;
  * see individual methods for detail*/
 public class JsonWriter {
     private static final int TAB = 4;
-    private PrintWriter writer;
+    private Writer writer;
     private String fileToWrite;
+    private boolean compressed; // whether the file is written as gzip-compressed JSON
 
     // This method is written referring to JsonSerializationDemo provided by CPSC 210 course, with very minor changes:
     // https://github.students.cs.ubc.ca/CPSC210/JsonSerializationDemo/blob/master/src/main/persistence/JsonReader.java
-    // EFFECTS: constructs writer to write to destination file
+    // EFFECTS: constructs writer to write to destination file as plain JSON
     public JsonWriter(String fileName) {
+        this(fileName, false);
+    }
+
+    // EFFECTS: constructs writer to write to destination file, as gzip-compressed JSON if compressed is true
+    public JsonWriter(String fileName, boolean compressed) {
         this.fileToWrite = fileName;
+        this.compressed = compressed;
     }
 
     // This method is written referring to JsonSerializationDemo provided by CPSC 210 course, with very minor changes:
     // https://github.students.cs.ubc.ca/CPSC210/JsonSerializationDemo/blob/master/src/main/persistence/JsonReader.java
     // MODIFIES: this
-    // EFFECTS: opens writer; throws FileNotFoundException if destination file cannot
-    //          be opened for writing
-    public void open() throws FileNotFoundException {
-        writer = new PrintWriter(new File(fileToWrite));
+    // EFFECTS: opens writer, which compresses the data on the fly if this is compressed;
+    //          throws FileNotFoundException if destination file cannot be opened for writing
+    //          throws IOException if the compressed stream cannot be started, closing the destination file
+    public void open() throws IOException {
+        OutputStream out = new FileOutputStream(fileToWrite);
+        try {
+            if (compressed) {
+                out = Compression.compressing(out);
+            }
+        } catch (IOException e) {
+            out.close();
+            throw e;
+        }
+        writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), Compression.BUFFER_SIZE);
     }
 
     // This method is written referring to JsonSerializationDemo provided by CPSC 210 course, with very minor changes:
     // https://github.students.cs.ubc.ca/CPSC210/JsonSerializationDemo/blob/master/src/main/persistence/JsonReader.java
     // MODIFIES: this
-    // EFFECTS: write world in form of JSON into destination file
-    public void write(FrameWorld world) {
+    // EFFECTS: write world in form of JSON into destination file, streaming it without building the whole string
+    //          first; compressed files are not indented since the compression takes care of repetition
+    //          throws IOException if the destination file cannot be written, closing it
+    public void write(FrameWorld world) throws IOException {
         JSONObject json = world.toJson();
-        String formattedJsonString = json.toString(TAB);
-        writer.print(formattedJsonString);
+        try {
+            json.write(writer, compressed ? 0 : TAB, 0);
+        } catch (JSONException e) {
+            if (!(e.getCause() instanceof IOException)) {
+                throw e;
+            }
+            try {
+                writer.close();
+            } catch (IOException closeException) {
+                e.getCause().addSuppressed(closeException);
+            }
+            throw (IOException) e.getCause();
+        }
     }
 
     // This method is written referring to JsonSerializationDemo provided by CPSC 210 course, with very minor changes:
     // https://github.students.cs.ubc.ca/CPSC210/JsonSerializationDemo/blob/master/src/main/persistence/JsonReader.java
     // MODIFIES: this
-    // EFFECTS: close the writer
-    public void close() {
+    // EFFECTS: close the writer, writing out what is still buffered (and the gzip trailer if this is compressed)
+    //          throws IOException if the rest cannot be written, in which case the destination file is incomplete
+    public void close() throws IOException {
         writer.close();
     }
+
+    // MODIFIES: this
+    // EFFECTS: set whether the following files are written as gzip-compressed JSON
+    public void setCompressed(boolean compressed) {
+        this.compressed = compressed;
+    }
 }
@@ -0,0 +1,270 @@
+package persistence;
+
+import model.EventPager;
+import model.FrameWorld;
+import model.PhysicalEvent;
+import model.PhysicalObject;
+import model.RefFrame;
+import model.exceptions.FrameConstructException;
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.json.JSONTokener;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/*Store of a frameWorld whose events are grouped on disk into one page per initial frame, so that a world with a
+ *huge number of events can be opened with all of its frames in memory while its events are paged in on demand.
+ *The store is a ScenarioArchive with an entry holding the frames (as a frameWorld without events), one entry per
+ *page holding the JSON of its events, and a directory with the size and content hash of each page and a sorted key
+ *per event combining a 43-bit hash of its name with its page; only the directory is kept in memory (8 bytes per
+ *event) to tell which pages may hold an event of a given name.
+ *Paged files are made from a saved frameWorld and rendered headless through the command line options of Main; the
+ *simulator window only loads JSON files, as its event table lists every event*/
+public class PagedEventStore implements EventPager {
+    private static final String FRAMES_ENTRY = "frames";
+    private static final String DIRECTORY_ENTRY = "directory";
+    private static final String PAGE_ENTRY_PREFIX = "page:";
+    private static final int PAGE_BITS = 20;
+    private static final long PAGE_MASK = (1L << PAGE_BITS) - 1;
+
+    private ScenarioArchive archive;
+    private List<String> pageNames;
+    private Map<String, Integer> pageSizes;
+    private long pagedContentHash;
+    private long[] eventKeys; // sorted keys of all events: name hash in the high bits, page number in the low bits
+
+    // EFFECTS: create a store reading the pages in archive, as listed in the directory read from it
+    //          throws IOException if the directory cannot be read
+    private PagedEventStore(ScenarioArchive archive) throws IOException {
+        this.archive = archive;
+        this.pageNames = new ArrayList<>();
+        this.pageSizes = new HashMap<>();
+        try (DataInputStream in = new DataInputStream(archive.openEntry(DIRECTORY_ENTRY))) {
+            int pageCount = in.readInt();
+            for (int i = 0; i < pageCount; i++) {
+                String pageName = in.readUTF();
+                pageNames.add(pageName);
+                pageSizes.put(pageName, in.readInt());
+                pagedContentHash += in.readLong();
+            }
+            eventKeys = new long[in.readInt()];
+            for (int i = 0; i < eventKeys.length; i++) {
+                eventKeys[i] = in.readLong();
+            }
+        }
+    }
+
+    // EFFECTS: open the frameWorld stored in file named fileName with all of its frames in memory and its events
+    //          paged in on demand, keeping at most about eventBudget unchanged events in memory
+    //          throws IOException if the file cannot be read
+    //          throws FrameConstructException if failed to construct the frames
+    public static FrameWorld open(String fileName, int eventBudget) throws IOException, FrameConstructException {
+        ScenarioArchive archive = new ScenarioArchive(fileName);
+        FrameWorld frameWorld = archive.read(FRAMES_ENTRY);
+        frameWorld.attachEventPager(new PagedEventStore(archive), eventBudget);
+        return frameWorld;
+    }
+
+    // REQUIRES: frameWorld does not page its events from file named fileName
+    // MODIFIES: file named fileName
+    // EFFECTS: store frameWorld in file named fileName, replacing it once the new file is complete, with its events
+    //          grouped into pages by initial frame; events of frameWorld that are paged out are paged in one frame at
+    //          a time
+    //          throws IOException if the file cannot be written
+    public static void save(String fileName, FrameWorld frameWorld) throws IOException {
+        List<RefFrame> pagedFrames = new ArrayList<>();
+        for (PhysicalObject next : frameWorld.getFrameList()) {
+            if (frameWorld.isPagedOut((RefFrame) next) || ((RefFrame) next).getEventsSize() > 0) {
+                pagedFrames.add((RefFrame) next);
+            }
+        }
+        if (pagedFrames.size() > PAGE_MASK) {
+            throw new IOException("Too many frames with events to store in pages");
+        }
+        Directory directory = new Directory();
+        Map<String, ScenarioArchive.EntryContent> entries = new LinkedHashMap<>();
+        entries.put(FRAMES_ENTRY, out -> writeJson(out, framesToJson(frameWorld)));
+        for (RefFrame nextFrame : pagedFrames) {
+            entries.put(PAGE_ENTRY_PREFIX + nextFrame.getId(), out -> writePage(out, nextFrame, directory));
+        }
+        entries.put(DIRECTORY_ENTRY, directory::writeTo);
+        new ScenarioArchive(fileName).replaceEntries(entries);
+    }
+
+    // EFFECTS: return frameWorld as JSON without any of its events, in the format of JsonWriter
+    private static JSONObject framesToJson(FrameWorld frameWorld) {
+        JSONArray frameArray = new JSONArray();
+        for (PhysicalObject next : frameWorld.getFrameList()) {
+            if (next != frameWorld.getAbsoluteStationaryFrame()) {
+                frameArray.put(next.toJson());
+            }
+        }
+        JSONObject json = new JSONObject();
+        json.put("frameList", frameArray);
+        json.put("eventList", new JSONArray());
+        json.put("currentReference", frameWorld.getCurrentReference().getName());
+        json.put("referenceProperTime", frameWorld.getCurrentReference().getProperTime());
+        return json;
+    }
+
+    // MODIFIES: out
+    // EFFECTS: write json into out in UTF-8 without closing it
+    private static void writeJson(OutputStream out, JSONObject json) throws IOException {
+        Writer writer = new OutputStreamWriter(out, StandardCharsets.UTF_8);
+        json.write(writer);
+        writer.flush();
+    }
+
+    // MODIFIES: out, directory
+    // EFFECTS: write the observed events of frame into out as a JSON array, one event at a time, and record the page
+    //          in directory
+    private static void writePage(OutputStream out, RefFrame frame, Directory directory) throws IOException {
+        Writer writer = new OutputStreamWriter(out, StandardCharsets.UTF_8);
+        writer.write('[');
+        long pageHash = 0;
+        int page = directory.addPage(Long.toString(frame.getId()));
+        List<PhysicalEvent> events = frame.getObservedEvents();
+        for (int i = 0; i < events.size(); i++) {
+            PhysicalEvent nextEvent = events.get(i);
+            if (i > 0) {
+                writer.write(',');
+            }
+            nextEvent.toJson().write(writer);
+            pageHash += nextEvent.contentHash();
+            directory.addEvent(nextEvent.getName(), page);
+        }
+        writer.write(']');
+        writer.flush();
+        directory.endPage(events.size(), pageHash);
+    }
+
+    // EFFECTS: return the 43-bit hash of eventName used in the keys of the directory (FNV-1a)
+    private static long nameHash(String eventName) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < eventName.length(); i++) {
+            hash = (hash ^ eventName.charAt(i)) * 0x100000001b3L;
+        }
+        return hash >>> (PAGE_BITS + 1);
+    }
+
+    @Override
+    public Set<String> getPageNames() {
+        return new LinkedHashSet<>(pageNames);
+    }
+
+    @Override
+    public int getPageSize(String pageName) {
+        return pageSizes.get(pageName);
+    }
+
+    @Override
+    public long getPagedContentHash() {
+        return pagedContentHash;
+    }
+
+    // EFFECTS: return the names of the pages holding an event whose name has the same hash as eventName
+    @Override
+    public Collection<String> findPagesOfEvent(String eventName) {
+        long lowest = nameHash(eventName) << PAGE_BITS;
+        int i = Arrays.binarySearch(eventKeys, lowest);
+        i = i < 0 ? -i - 1 : i;
+        List<String> pages = new ArrayList<>();
+        for (; i < eventKeys.length && eventKeys[i] <= (lowest | PAGE_MASK); i++) {
+            pages.add(pageNames.get((int) (eventKeys[i] & PAGE_MASK)));
+        }
+        return pages;
+    }
+
+    // MODIFIES: initialFrame
+    // EFFECTS: read the page named pageName and construct its events observed in initialFrame
+    //          throws UncheckedIOException if the page cannot be read or is broken
+    @Override
+    public List<PhysicalEvent> loadPage(String pageName, RefFrame initialFrame) {
+        try (InputStream in = archive.openEntry(PAGE_ENTRY_PREFIX + pageName);
+             Reader reader = new InputStreamReader(in, StandardCharsets.UTF_8)) {
+            JSONArray eventArray = new JSONArray(new JSONTokener(reader));
+            List<PhysicalEvent> events = new ArrayList<>(eventArray.length());
+            for (int i = 0; i < eventArray.length(); i++) {
+                JSONObject eventJson = eventArray.getJSONObject(i);
+                long id = eventJson.optLong("id", PhysicalObject.NEW_ID);
+                events.add(new PhysicalEvent(id, eventJson.getString("name"), eventJson.getDouble("initialPosX"),
+                        eventJson.getDouble("occurTime"), initialFrame));
+            }
+            return events;
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        } catch (JSONException | FrameConstructException exception) {
+            throw new UncheckedIOException(new IOException("Page " + pageName + " is broken", exception));
+        }
+    }
+
+    /*Directory of the pages being stored, filled in while the pages are written*/
+    private static class Directory {
+        private List<String> names = new ArrayList<>();
+        private List<Integer> sizes = new ArrayList<>();
+        private List<Long> hashes = new ArrayList<>();
+        private long[] keys = new long[1024];
+        private int keyCount;
+
+        // MODIFIES: this
+        // EFFECTS: start a page named name and return its number
+        int addPage(String name) {
+            names.add(name);
+            return names.size() - 1;
+        }
+
+        // MODIFIES: this
+        // EFFECTS: record that the page numbered page holds an event named eventName
+        void addEvent(String eventName, int page) {
+            if (keyCount == keys.length) {
+                keys = Arrays.copyOf(keys, keyCount * 2);
+            }
+            keys[keyCount++] = (nameHash(eventName) << PAGE_BITS) | page;
+        }
+
+        // MODIFIES: this
+        // EFFECTS: record the number of events and content hash of the page last started
+        void endPage(int size, long hash) {
+            sizes.add(size);
+            hashes.add(hash);
+        }
+
+        // MODIFIES: out
+        // EFFECTS: write the pages and the sorted keys into out without closing it
+        void writeTo(OutputStream out) throws IOException {
+            DataOutputStream data = new DataOutputStream(out);
+            data.writeInt(names.size());
+            for (int i = 0; i < names.size(); i++) {
+                data.writeUTF(names.get(i));
+                data.writeInt(sizes.get(i));
+                data.writeLong(hashes.get(i));
+            }
+            Arrays.sort(keys, 0, keyCount);
+            data.writeInt(keyCount);
+            for (int i = 0; i < keyCount; i++) {
+                data.writeLong(keys[i]);
+            }
+            data.flush();
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package persistence;
+
+/*Listener that gets notified whenever a reader has made progress reading the file, i.e. read another buffer,
+ *tokenized more events or constructed another physical object; it may throw CancellationException to abort reading*/
+public interface ProgressListener {
+    //EFFECTS: report that parsed out of total units of the work of reading the file are done
+    void progressed(int parsed, int total);
+}
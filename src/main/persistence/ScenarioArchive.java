@@ -0,0 +1,376 @@
+package persistence;
+
+import model.FrameWorld;
+import model.exceptions.FrameConstructException;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+
+/*Archive storing many named FrameWorld scenarios (or other compressed entries) in one file.
+ *The file consists of the compressed JSON of each scenario one after another, followed by an index table with the
+ *name, offset, length and CRC32 checksum of every scenario, and a fixed-size trailer holding the offset and checksum
+ *of the index. A single scenario is read by seeking to it through the index without reading the others.
+ *Appending never overwrites anything: the new scenarios, an updated index and a new trailer are written after the
+ *end of the file, and the trailer is written last, once everything before it is on disk. An append that is
+ *interrupted only leaves bytes after the last complete trailer, which readers skip by looking back for it, so the
+ *scenarios appended before stay readable. Appending under an existing name replaces that entry in the index; the
+ *space of replaced entries and old indexes is reclaimed by compacting the archive, which happens on its own once it
+ *takes more than half the file*/
+public class ScenarioArchive {
+    private static final int MAGIC = 0x53525342; // "SRSB"
+    private static final int LEGACY_MAGIC = 0x53525341; // "SRSA", trailer of older archives without index checksum
+    private static final int TRAILER_SIZE = Long.BYTES + 2 * Integer.BYTES;
+    private static final int LEGACY_TRAILER_SIZE = Long.BYTES + Integer.BYTES;
+    private static final int SCAN_BLOCK_SIZE = 64 * 1024;
+    private static final String TEMPORARY_SUFFIX = ".tmp";
+
+    private Path archiveFile;
+
+    // EFFECTS: initialize the path of the archive file
+    public ScenarioArchive(String fileName) {
+        this.archiveFile = Paths.get(fileName);
+    }
+
+    // EFFECTS: return the names of all scenarios in the archive, in the order they were first appended; return an
+    //          empty list if the archive file does not exist yet
+    //          throws IOException if the archive cannot be read or is broken
+    public List<String> getScenarioNames() throws IOException {
+        if (!Files.exists(archiveFile)) {
+            return new ArrayList<>();
+        }
+        try (FileChannel channel = FileChannel.open(archiveFile, StandardOpenOption.READ)) {
+            return new ArrayList<>(readIndex(channel).entries.keySet());
+        }
+    }
+
+    // EFFECTS: read only the scenario named scenarioName from the archive and return it
+    //          throws IOException if the archive cannot be read, has no such scenario or the checksum of the scenario
+    //          does not match
+    //          throws FrameConstructException if failed to construct frames and events of the scenario
+    public FrameWorld read(String scenarioName) throws IOException, FrameConstructException {
+        return new JsonReader(archiveFile.toString()).read(new ByteArrayInputStream(readEntry(scenarioName)),
+                (parsed, total) -> { });
+    }
+
+    // MODIFIES: this
+    // EFFECTS: append frameWorld as a compressed scenario named scenarioName after the end of the archive, followed
+    //          by the updated index and trailer; the other scenarios are not rewritten unless the archive is compacted
+    //          throws IOException if the archive cannot be written or is broken
+    public void append(String scenarioName, FrameWorld frameWorld) throws IOException {
+        Map<String, EntryContent> entries = new LinkedHashMap<>();
+        entries.put(scenarioName, out -> {
+            Writer writer = new OutputStreamWriter(out, StandardCharsets.UTF_8);
+            frameWorld.toJson().write(writer);
+            writer.flush();
+        });
+        appendEntries(entries);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: rewrite the archive with only the entries in its index, dropping the space of replaced entries and old
+    //          indexes; the compacted archive is written beside it and moved over it once complete, so the archive
+    //          stays whole if compacting is interrupted. Does nothing if the archive file does not exist
+    //          throws IOException if the archive cannot be read, written or is broken
+    public void compact() throws IOException {
+        if (!Files.exists(archiveFile)) {
+            return;
+        }
+        Path compacted = temporaryFile();
+        try (FileChannel source = FileChannel.open(archiveFile, StandardOpenOption.READ);
+                FileChannel target = FileChannel.open(compacted, StandardOpenOption.CREATE,
+                        StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            Map<String, Entry> moved = new LinkedHashMap<>();
+            for (Map.Entry<String, Entry> next : readIndex(source).entries.entrySet()) {
+                Entry entry = next.getValue();
+                long offset = target.position();
+                for (long copied = 0; copied < entry.length; ) {
+                    copied += source.transferTo(entry.offset + copied, entry.length - copied, target);
+                }
+                moved.put(next.getKey(), new Entry(offset, entry.length, entry.checksum));
+            }
+            writeIndex(target, moved, target.position());
+        }
+        Files.move(compacted, archiveFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: replace the archive with one holding only the content of each of entries compressed under its name,
+    //          written beside the archive and moved over it once complete, so the old archive stays whole if writing
+    //          is interrupted
+    //          throws IOException if the archive cannot be written
+    void replaceEntries(Map<String, EntryContent> entries) throws IOException {
+        Path replacement = temporaryFile();
+        Files.deleteIfExists(replacement);
+        new ScenarioArchive(replacement.toString()).appendEntries(entries);
+        Files.move(replacement, archiveFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    // EFFECTS: return the path of the file a new archive is written into before it replaces this one
+    private Path temporaryFile() {
+        return archiveFile.resolveSibling(archiveFile.getFileName() + TEMPORARY_SUFFIX);
+    }
+
+    // EFFECTS: return a stream of the decompressed content of the entry named name
+    //          throws IOException if the archive cannot be read, has no such entry or its checksum does not match
+    InputStream openEntry(String name) throws IOException {
+        return Compression.decompressing(new ByteArrayInputStream(readEntry(name)));
+    }
+
+    // MODIFIES: this
+    // EFFECTS: append the content of each of entries compressed under its name, in order, after the end of the last
+    //          complete append (dropping anything an interrupted append left after it), then write the updated index
+    //          and trailer once; entries already in the archive are not rewritten. Compact the archive afterwards if
+    //          replaced entries and old indexes take more than half of it
+    //          throws IOException if the archive cannot be written or is broken
+    void appendEntries(Map<String, EntryContent> entries) throws IOException {
+        long size;
+        long liveSize;
+        try (FileChannel channel = FileChannel.open(archiveFile, StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            Index index = readIndex(channel);
+            channel.truncate(index.end);
+            channel.position(index.end);
+            for (Map.Entry<String, EntryContent> next : entries.entrySet()) {
+                long offset = channel.position();
+                CRC32 checksum = new CRC32();
+                OutputStream out = new CheckedOutputStream(new ChannelOutputStream(channel), checksum);
+                try (OutputStream compressed = Compression.compressing(out)) {
+                    next.getValue().writeTo(compressed);
+                }
+                index.entries.put(next.getKey(), new Entry(offset, channel.position() - offset, checksum.getValue()));
+            }
+            long indexOffset = channel.position();
+            size = writeIndex(channel, index.entries, indexOffset);
+            liveSize = size - indexOffset;
+            for (Entry next : index.entries.values()) {
+                liveSize += next.length;
+            }
+        }
+        if (size - liveSize > liveSize) {
+            compact();
+        }
+    }
+
+    // EFFECTS: return the compressed bytes of the entry named name, after checking them against its checksum
+    //          throws IOException if the archive cannot be read, has no such entry or the checksum does not match
+    private byte[] readEntry(String name) throws IOException {
+        try (FileChannel channel = FileChannel.open(archiveFile, StandardOpenOption.READ)) {
+            Entry entry = readIndex(channel).entries.get(name);
+            if (entry == null) {
+                throw new IOException("No entry named " + name + " in " + archiveFile);
+            }
+            byte[] blob = readFully(channel, entry.offset, (int) entry.length);
+            CRC32 checksum = new CRC32();
+            checksum.update(blob);
+            if (checksum.getValue() != entry.checksum) {
+                throw new IOException("Entry " + name + " in " + archiveFile + " is corrupted");
+            }
+            return blob;
+        }
+    }
+
+    // EFFECTS: return the index of the last complete append to the archive in channel (empty for an empty archive);
+    //          if the file does not end with a valid trailer, as after an interrupted append, look back for the last
+    //          trailer whose index matches its checksum
+    //          throws IOException if the archive cannot be read or has no valid trailer
+    private static Index readIndex(FileChannel channel) throws IOException {
+        long size = channel.size();
+        if (size == 0) {
+            return new Index(new LinkedHashMap<>(), 0);
+        }
+        Index index = size < LEGACY_TRAILER_SIZE ? null : indexEndingAt(channel, size);
+        byte[] magic = ByteBuffer.allocate(Integer.BYTES).putInt(MAGIC).array();
+        for (long blockEnd = size - 1; index == null && blockEnd >= TRAILER_SIZE; ) {
+            long blockStart = Math.max(0, blockEnd - SCAN_BLOCK_SIZE);
+            byte[] block = readFully(channel, blockStart, (int) (blockEnd - blockStart));
+            for (int i = block.length - Integer.BYTES; index == null && i >= 0; i--) {
+                if (block[i] == magic[0] && block[i + 1] == magic[1] && block[i + 2] == magic[2]
+                        && block[i + 3] == magic[3]) {
+                    index = indexEndingAt(channel, blockStart + i + Integer.BYTES);
+                }
+            }
+            // the next block overlaps this one so that a trailer across their boundary is seen
+            blockEnd = blockStart == 0 ? 0 : blockStart + Integer.BYTES - 1;
+        }
+        if (index == null) {
+            throw new IOException("Not a scenario archive");
+        }
+        return index;
+    }
+
+    // EFFECTS: return the index whose trailer ends at end, or null if there is no valid trailer there
+    //          throws IOException if the archive cannot be read
+    private static Index indexEndingAt(FileChannel channel, long end) throws IOException {
+        if (end < TRAILER_SIZE) {
+            return end == channel.size() ? legacyIndexEndingAt(channel, end) : null;
+        }
+        ByteBuffer trailer = ByteBuffer.wrap(readFully(channel, end - TRAILER_SIZE, TRAILER_SIZE));
+        long offset = trailer.getLong();
+        int indexChecksum = trailer.getInt();
+        if (trailer.getInt() != MAGIC) {
+            return end == channel.size() ? legacyIndexEndingAt(channel, end) : null;
+        }
+        if (offset < 0 || offset > end - TRAILER_SIZE) {
+            return null;
+        }
+        byte[] indexBytes = readFully(channel, offset, (int) (end - TRAILER_SIZE - offset));
+        CRC32 checksum = new CRC32();
+        checksum.update(indexBytes);
+        return (int) checksum.getValue() == indexChecksum ? new Index(parseIndex(indexBytes), end) : null;
+    }
+
+    // EFFECTS: return the index of an archive written before index checksums, whose trailer ends at end, or null if
+    //          there is no valid trailer there
+    //          throws IOException if the archive cannot be read
+    private static Index legacyIndexEndingAt(FileChannel channel, long end) throws IOException {
+        if (end < LEGACY_TRAILER_SIZE) {
+            return null;
+        }
+        ByteBuffer trailer = ByteBuffer.wrap(readFully(channel, end - LEGACY_TRAILER_SIZE, LEGACY_TRAILER_SIZE));
+        long offset = trailer.getLong();
+        if (trailer.getInt() != LEGACY_MAGIC || offset < 0 || offset > end - LEGACY_TRAILER_SIZE) {
+            return null;
+        }
+        return new Index(parseIndex(readFully(channel, offset, (int) (end - LEGACY_TRAILER_SIZE - offset))), end);
+    }
+
+    // EFFECTS: return the entries of indexBytes keyed by scenario name in order
+    //          throws IOException if indexBytes is not a whole index
+    private static Map<String, Entry> parseIndex(byte[] indexBytes) throws IOException {
+        Map<String, Entry> entries = new LinkedHashMap<>();
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(indexBytes));
+        int count = in.readInt();
+        for (int i = 0; i < count; i++) {
+            entries.put(in.readUTF(), new Entry(in.readLong(), in.readLong(), in.readLong()));
+        }
+        if (in.available() > 0) {
+            throw new IOException("Broken scenario archive index");
+        }
+        return entries;
+    }
+
+    // MODIFIES: channel
+    // EFFECTS: write index at offset and force it to disk, then write the trailer after it and force that too, so a
+    //          trailer is never on disk before its index; return the end of the trailer
+    private static long writeIndex(FileChannel channel, Map<String, Entry> index, long offset) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(index.size());
+        for (Map.Entry<String, Entry> next : index.entrySet()) {
+            out.writeUTF(next.getKey());
+            out.writeLong(next.getValue().offset);
+            out.writeLong(next.getValue().length);
+            out.writeLong(next.getValue().checksum);
+        }
+        byte[] indexBytes = bytes.toByteArray();
+        writeFully(channel, indexBytes, offset);
+        channel.force(false);
+
+        CRC32 checksum = new CRC32();
+        checksum.update(indexBytes);
+        long trailerOffset = offset + indexBytes.length;
+        writeFully(channel, ByteBuffer.allocate(TRAILER_SIZE).putLong(offset).putInt((int) checksum.getValue())
+                .putInt(MAGIC).array(), trailerOffset);
+        channel.force(false);
+        return trailerOffset + TRAILER_SIZE;
+    }
+
+    // MODIFIES: channel
+    // EFFECTS: write all of bytes into channel starting at position
+    private static void writeFully(FileChannel channel, byte[] bytes, long position) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        while (buffer.hasRemaining()) {
+            channel.write(buffer, position + buffer.position());
+        }
+    }
+
+    // EFFECTS: return length bytes of channel starting at position
+    //          throws IOException if they cannot be read
+    private static byte[] readFully(FileChannel channel, long position, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException("Unexpected end of scenario archive");
+            }
+        }
+        return buffer.array();
+    }
+
+    /*Content of an entry, written into the stream that compresses it into the archive*/
+    interface EntryContent {
+        // MODIFIES: out
+        // EFFECTS: write the content into out without closing it
+        void writeTo(OutputStream out) throws IOException;
+    }
+
+    /*Entries of an index and the end of the trailer that points to it*/
+    private static class Index {
+        private final Map<String, Entry> entries;
+        private final long end;
+
+        // EFFECTS: construct an index of entries whose trailer ends at end
+        Index(Map<String, Entry> entries, long end) {
+            this.entries = entries;
+            this.end = end;
+        }
+    }
+
+    /*Location and checksum of one scenario in the archive*/
+    private static class Entry {
+        private final long offset;
+        private final long length;
+        private final long checksum;
+
+        // EFFECTS: construct an entry of a scenario stored at [offset, offset + length) with the given CRC32 checksum
+        Entry(long offset, long length, long checksum) {
+            this.offset = offset;
+            this.length = length;
+            this.checksum = checksum;
+        }
+    }
+
+    /*Stream writing to the current position of a channel; closing it only flushes, leaving the channel open*/
+    private static class ChannelOutputStream extends FilterOutputStream {
+        // EFFECTS: construct a stream writing to channel
+        ChannelOutputStream(FileChannel channel) {
+            super(Channels.newOutputStream(channel));
+        }
+
+        // MODIFIES: this
+        // EFFECTS: write len bytes of b starting at off in one go
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+        }
+
+        // MODIFIES: this
+        // EFFECTS: flush without closing the underlying channel
+        @Override
+        public void close() throws IOException {
+            flush();
+        }
+    }
+}
@@ -0,0 +1,252 @@
+package persistence;
+
+import model.WorldView;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+/*Exporter that plays a frameWorld back headlessly over a range of proper times of its reference frame, and streams
+ *the position, proper time and velocity of every frame and whether every event has occurred at each tick to a file.
+ *The state at each tick is computed from a WorldView, so the frameWorld is not changed, and the file is written
+ *through one large buffer into a file channel, so memory use does not grow with the number of ticks.
+ *CSV files have a header row and one row per tick. Binary files are columnar: after a header, ticks are grouped
+ *into blocks, and each block holds for each frame its posX, properTime and velocity columns as doubles, followed by
+ *one byte (1 if occurred, else 0) per tick for each event*/
+public class TimeSeriesExporter {
+    public static final int MAGIC = 0x53525453; // "SRTS"
+    public static final int VERSION = 1;
+    private static final int BUFFER_SIZE = 1 << 20;
+    private static final int BLOCK_SIZE = 1 << 20; // approximate number of bytes in a block of a binary file
+
+    public enum Format { CSV, BINARY }
+
+    private String fileName;
+    private Format format;
+
+    // EFFECTS: create an exporter writing to file named fileName, as CSV if its name ends with ".csv" and in binary
+    //          otherwise
+    public TimeSeriesExporter(String fileName) {
+        this(fileName, fileName.toLowerCase().endsWith(".csv") ? Format.CSV : Format.BINARY);
+    }
+
+    // EFFECTS: create an exporter writing to file named fileName in the given format
+    public TimeSeriesExporter(String fileName, Format format) {
+        this.fileName = fileName;
+        this.format = format;
+    }
+
+    // EFFECTS: return the number of ticks from startTime to endTime (both inclusive, allowing for rounding) by step
+    //          throws IllegalArgumentException if step is not positive or endTime is before startTime
+    public static long tickCount(double startTime, double endTime, double step) {
+        if (!(step > 0) || endTime < startTime) {
+            throw new IllegalArgumentException("Time range must not be empty and step must be positive");
+        }
+        return (long) Math.floor((endTime - startTime) / step + 1e-9) + 1;
+    }
+
+    // MODIFIES: file named fileName
+    // EFFECTS: write the state of view at the reference proper times startTime, startTime + step, ... up to endTime
+    //          to the file, replacing its content, and return the number of ticks written
+    //          throws IllegalArgumentException if step is not positive or endTime is before startTime
+    //          throws IOException if the file cannot be written
+    public long export(WorldView view, double startTime, double endTime, double step) throws IOException {
+        long ticks = tickCount(startTime, endTime, step);
+        try (ChannelSink sink = new ChannelSink(FileChannel.open(Paths.get(fileName), StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING))) {
+            if (format == Format.CSV) {
+                writeCsv(sink, view, startTime, step, ticks);
+            } else {
+                writeBinary(sink, view, startTime, step, ticks);
+            }
+        }
+        return ticks;
+    }
+
+    // MODIFIES: sink
+    // EFFECTS: write a header row and one row per tick of view; a row holds the time, then posX, properTime and
+    //          velocity of each frame, then 1 or 0 for each event depending on whether it has occurred
+    private static void writeCsv(ChannelSink sink, WorldView view, double startTime, double step, long ticks)
+            throws IOException {
+        writeCsvHeader(sink, view);
+        StringBuilder row = new StringBuilder();
+        for (long k = 0; k < ticks; k++) {
+            double time = startTime + k * step;
+            row.setLength(0);
+            row.append(time);
+            for (int f = 0; f < view.getFrameCount(); f++) {
+                row.append(',').append(view.posXAt(f, time)).append(',').append(view.properTimeAt(f, time))
+                        .append(',').append(view.velocityOf(f));
+            }
+            for (int e = 0; e < view.getEventCount(); e++) {
+                row.append(view.hasOccurredAt(e, time) ? ",1" : ",0");
+            }
+            sink.putAscii(row.append('\n'));
+        }
+    }
+
+    // MODIFIES: sink
+    // EFFECTS: write the header row naming the columns of the frames and events of view
+    private static void writeCsvHeader(ChannelSink sink, WorldView view) throws IOException {
+        StringBuilder header = new StringBuilder("time");
+        for (int f = 0; f < view.getFrameCount(); f++) {
+            String name = view.getFrameName(f);
+            header.append(',').append(csvQuote(name + " posX")).append(',').append(csvQuote(name + " properTime"))
+                    .append(',').append(csvQuote(name + " velocity"));
+        }
+        for (int e = 0; e < view.getEventCount(); e++) {
+            header.append(',').append(csvQuote(view.getEventName(e) + " occurred"));
+        }
+        sink.put(header.append('\n').toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    // EFFECTS: return text as a CSV field, quoted if it contains a comma, quote or line break
+    private static String csvQuote(String text) {
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            return text;
+        }
+        return "\"" + text.replace("\"", "\"\"") + "\"";
+    }
+
+    // MODIFIES: sink
+    // EFFECTS: write the header (magic, version, counts, names, start time, step, number of ticks and ticks per
+    //          block), then the columns of each block of ticks of view
+    private static void writeBinary(ChannelSink sink, WorldView view, double startTime, double step, long ticks)
+            throws IOException {
+        int bytesPerTick = view.getFrameCount() * 3 * Double.BYTES + view.getEventCount();
+        int ticksPerBlock = Math.max(1, BLOCK_SIZE / Math.max(1, bytesPerTick));
+        sink.putInt(MAGIC);
+        sink.putInt(VERSION);
+        sink.putInt(view.getFrameCount());
+        sink.putInt(view.getEventCount());
+        for (int f = 0; f < view.getFrameCount(); f++) {
+            sink.putString(view.getFrameName(f));
+        }
+        for (int e = 0; e < view.getEventCount(); e++) {
+            sink.putString(view.getEventName(e));
+        }
+        sink.putDouble(startTime);
+        sink.putDouble(step);
+        sink.putLong(ticks);
+        sink.putInt(ticksPerBlock);
+        for (long first = 0; first < ticks; first += ticksPerBlock) {
+            writeBlock(sink, view, startTime, step, first, Math.min(ticks, first + ticksPerBlock));
+        }
+    }
+
+    // MODIFIES: sink
+    // EFFECTS: write the columns of all frames and events of view for the ticks in [first, end)
+    private static void writeBlock(ChannelSink sink, WorldView view, double startTime, double step, long first,
+                                   long end) throws IOException {
+        for (int f = 0; f < view.getFrameCount(); f++) {
+            for (long k = first; k < end; k++) {
+                sink.putDouble(view.posXAt(f, startTime + k * step));
+            }
+            for (long k = first; k < end; k++) {
+                sink.putDouble(view.properTimeAt(f, startTime + k * step));
+            }
+            for (long k = first; k < end; k++) {
+                sink.putDouble(view.velocityOf(f));
+            }
+        }
+        for (int e = 0; e < view.getEventCount(); e++) {
+            for (long k = first; k < end; k++) {
+                sink.putByte(view.hasOccurredAt(e, startTime + k * step) ? (byte) 1 : (byte) 0);
+            }
+        }
+    }
+
+    /*Buffer in front of a file channel that is written to the channel whenever it is full*/
+    private static class ChannelSink implements Closeable {
+        private final FileChannel channel;
+        private final ByteBuffer buffer;
+
+        // EFFECTS: create a sink writing to channel
+        ChannelSink(FileChannel channel) {
+            this.channel = channel;
+            this.buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+        }
+
+        // MODIFIES: this
+        // EFFECTS: write the buffer to the channel if it has fewer than bytes bytes left
+        private void ensure(int bytes) throws IOException {
+            if (buffer.remaining() < bytes) {
+                flush();
+            }
+        }
+
+        // MODIFIES: this
+        // EFFECTS: write all buffered bytes to the channel
+        private void flush() throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            buffer.clear();
+        }
+
+        void putByte(byte value) throws IOException {
+            ensure(1);
+            buffer.put(value);
+        }
+
+        void putInt(int value) throws IOException {
+            ensure(Integer.BYTES);
+            buffer.putInt(value);
+        }
+
+        void putLong(long value) throws IOException {
+            ensure(Long.BYTES);
+            buffer.putLong(value);
+        }
+
+        void putDouble(double value) throws IOException {
+            ensure(Double.BYTES);
+            buffer.putDouble(value);
+        }
+
+        // MODIFIES: this
+        // EFFECTS: buffer all of bytes, writing the buffer out as often as it fills up
+        void put(byte[] bytes) throws IOException {
+            int offset = 0;
+            while (offset < bytes.length) {
+                ensure(1);
+                int length = Math.min(buffer.remaining(), bytes.length - offset);
+                buffer.put(bytes, offset, length);
+                offset += length;
+            }
+        }
+
+        // MODIFIES: this
+        // EFFECTS: buffer the length of text in UTF-8 followed by its UTF-8 bytes
+        void putString(String text) throws IOException {
+            byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+            putInt(bytes.length);
+            put(bytes);
+        }
+
+        // REQUIRES: text only has ASCII characters
+        // MODIFIES: this
+        // EFFECTS: buffer text one byte per character without encoding it into a new array
+        void putAscii(CharSequence text) throws IOException {
+            for (int i = 0; i < text.length(); i++) {
+                ensure(1);
+                buffer.put((byte) text.charAt(i));
+            }
+        }
+
+        // EFFECTS: write out what is left in the buffer and close the channel
+        @Override
+        public void close() throws IOException {
+            try {
+                flush();
+            } finally {
+                channel.close();
+            }
+        }
+    }
+}
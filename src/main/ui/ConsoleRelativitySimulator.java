@@ -13,6 +13,7 @@ import persistence.JsonWriter;
 
 import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.util.List;
 import java.util.Scanner;
 
 /*User interface of the Special Relativity Simulator*/
@@ -292,10 +293,13 @@ public class ConsoleRelativitySimulator {
             System.out.println("Current Reference is reset to be Absolute Stationary Frame.");
         }
 
-        frameWorld.deleteFrame(frameToDelete);
+        List<PhysicalEvent> deletedEvents = frameWorld.deleteFrame(frameToDelete);
         System.out.println(frameToDeleteName + " is deleted.\n");
         System.out.println("The following events are deleted:");
-        System.out.println(frameToDelete.eventNameList());
+        for (PhysicalEvent nextEvent : deletedEvents) {
+            System.out.println(nextEvent.getName());
+        }
+        System.out.println();
     }
 
     //MODIFIES: this
@@ -354,28 +358,32 @@ public class ConsoleRelativitySimulator {
         switch (subCommand) {
             case INITIAL_POS_X:
                 System.out.println("Input new initial position:");
-                frameToEdit.setInitialPosX(Double.parseDouble(input.next()));
+                frameWorld.editFrame(frameToEdit, Double.parseDouble(input.next()), frameToEdit.getOccurTime(),
+                        frameToEdit.getInitialProperTime(), frameToEdit.getInitialVelocity());
                 break;
             case OCCUR_TIME:
                 System.out.println("Input new occur time:");
-                frameToEdit.setOccurTime(Double.parseDouble(input.next()));
+                frameWorld.editFrame(frameToEdit, frameToEdit.getInitialPosX(), Double.parseDouble(input.next()),
+                        frameToEdit.getInitialProperTime(), frameToEdit.getInitialVelocity());
                 break;
             case INITIAL_PROPER_TIME:
                 System.out.println("Input new initial clock reading:");
-                frameToEdit.setInitialProperTime(Double.parseDouble(input.next()));
+                frameWorld.editFrame(frameToEdit, frameToEdit.getInitialPosX(), frameToEdit.getOccurTime(),
+                        Double.parseDouble(input.next()), frameToEdit.getInitialVelocity());
                 break;
             case INITIAL_VELOCITY:
                 System.out.println("Input new initial velocity:");
                 double newVel = Double.parseDouble(input.next());
-                frameToEdit.setInitialVelocity(newVel);
+                frameWorld.editFrame(frameToEdit, frameToEdit.getInitialPosX(), frameToEdit.getOccurTime(),
+                        frameToEdit.getInitialProperTime(), newVel);
                 break;
             case NAME:
                 System.out.println("Set new name:");
                 String newName = input.next();
-                if (frameWorld.findFrameByName(newName) != null) {
+                try {
+                    frameWorld.renameFrame(frameToEdit, newName);
+                } catch (SameNameException sameNameException) {
                     System.out.println(newName + "already exists.");
-                } else {
-                    frameToEdit.setName(newName);
                 }
                 break;
             case DONE:
@@ -385,7 +393,6 @@ public class ConsoleRelativitySimulator {
                 System.out.println("Unknown command");
                 break;
         }
-        frameWorld.viewAllInCurrentReference();
     }
 
     //MODIFIES: this
@@ -466,6 +473,8 @@ public class ConsoleRelativitySimulator {
             }
         } catch (FileNotFoundException e) {
             System.out.println("File " + SOURCE_FILE + " not found.");
+        } catch (IOException e) {
+            System.out.println("Failed to write file " + SOURCE_FILE);
         }
     }
 
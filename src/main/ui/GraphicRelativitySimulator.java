@@ -3,16 +3,22 @@ package ui;
 import model.Event;
 import model.*;
 import model.exceptions.FrameConstructException;
-import model.exceptions.SameNameException;
 import org.json.JSONException;
+import persistence.CsvImporter;
+import persistence.FileStamp;
+import persistence.FileWatcher;
+import persistence.ImportReport;
 import persistence.JsonReader;
 import persistence.JsonWriter;
+import persistence.ScenarioArchive;
+import persistence.TimeSeriesExporter;
 import ui.panels.containers.ContainerPanel;
 import ui.panels.containers.EventListPanel;
 import ui.panels.containers.FrameListPanel;
 import ui.panels.display.DisplayCanvas;
 import ui.panels.display.DisplayOptions;
 import ui.panels.display.ReferenceController;
+import ui.panels.display.SpacetimeDiagram;
 
 import javax.swing.*;
 import javax.swing.border.BevelBorder;
@@ -23,21 +29,33 @@ import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.net.URI;
 import java.net.URISyntaxException;
-import java.util.LinkedList;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Collections;
 import java.util.List;
 import java.util.Scanner;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
 
 /*Graphic interface of Special Relativity Simulator*/
 public class GraphicRelativitySimulator extends JFrame {
     public static final int WIDTH = 1200;
     public static final int HEIGHT = 950;
     public static final String SOURCE_FILE = "./data/ourUniverse.json";
+    public static final String ARCHIVE_FILE = "./data/scenarios.archive";
+    public static final long RELOAD_DEBOUNCE_MILLIS = 200;
     public static final Font labelFont = new Font("Calibri", Font.BOLD, 16);
 
     private FrameWorld frameWorld;
     private Scanner input;
     private JsonWriter jsonWriter;
     private JsonReader jsonReader;
+    private FileStamp savedStamp; // stamp of SOURCE_FILE when it was last loaded or saved; null if unknown
+    private ScenarioArchive scenarioArchive;
+    private FileWatcher sourceFileWatcher; // watcher reloading SOURCE_FILE on change; null if not watching
+    private LoadWorker reloadWorker; // latest hot reload of SOURCE_FILE; null if none has started
+    private boolean reloadPending; // true if SOURCE_FILE changed again while reloadWorker was running
 
     private SaveOnExitListener saveOnExitListener;
 
@@ -47,6 +65,7 @@ public class GraphicRelativitySimulator extends JFrame {
     private ContainerPanel eventListPanel;
     private ReferenceController referenceController;
     private DisplayCanvas displayCanvas;
+    private SpacetimeDiagram spacetimeDiagram;
     private DisplayOptions displayOptions;
     private ImageIcon icon;
 
@@ -86,6 +105,7 @@ public class GraphicRelativitySimulator extends JFrame {
         input.useDelimiter("\n");
         jsonWriter = new JsonWriter(SOURCE_FILE);
         jsonReader = new JsonReader(SOURCE_FILE);
+        scenarioArchive = new ScenarioArchive(ARCHIVE_FILE);
         saveOnExitListener = new SaveOnExitListener(this);
         this.addWindowListener(saveOnExitListener);
         icon = new ImageIcon((new ImageIcon("./data/Icon.png")).getImage().getScaledInstance(
@@ -108,7 +128,11 @@ public class GraphicRelativitySimulator extends JFrame {
         displayPanel.add(referenceController, BorderLayout.SOUTH);
 
         displayCanvas = new DisplayCanvas(this);
-        displayPanel.add(displayCanvas, BorderLayout.CENTER);
+        spacetimeDiagram = new SpacetimeDiagram(this);
+        JTabbedPane displayTabs = new JTabbedPane();
+        displayTabs.addTab("Positions", displayCanvas);
+        displayTabs.addTab("Spacetime Diagram", spacetimeDiagram);
+        displayPanel.add(displayTabs, BorderLayout.CENTER);
 
         displayOptions = new DisplayOptions(this);
         displayPanel.add(displayOptions, BorderLayout.NORTH);
@@ -140,6 +164,37 @@ public class GraphicRelativitySimulator extends JFrame {
         saveFile.setAccelerator(KeyStroke.getKeyStroke("control S"));
         fileMenu.add(saveFile);
 
+        // compression option
+        JCheckBoxMenuItem compressFile = new JCheckBoxMenuItem("Compress saved file");
+        compressFile.addItemListener(e -> jsonWriter.setCompressed(compressFile.isSelected()));
+        fileMenu.add(compressFile);
+
+        // hot reload option
+        JCheckBoxMenuItem reloadOnChange = new JCheckBoxMenuItem("Reload file on change");
+        reloadOnChange.addItemListener(e -> watchSourceFile(reloadOnChange.isSelected()));
+        fileMenu.add(reloadOnChange);
+
+        // scenario archive options
+        fileMenu.addSeparator();
+        JMenuItem loadScenario = new JMenuItem("Load scenario from archive");
+        loadScenario.addActionListener(new LoadScenarioAction());
+        fileMenu.add(loadScenario);
+        JMenuItem saveScenario = new JMenuItem("Save scenario to archive");
+        saveScenario.addActionListener(new SaveScenarioAction());
+        fileMenu.add(saveScenario);
+
+        // bulk import options
+        fileMenu.addSeparator();
+        JMenuItem importFrames = new JMenuItem("Import frames from CSV/TSV");
+        importFrames.addActionListener(new ImportCsvAction(true));
+        fileMenu.add(importFrames);
+        JMenuItem importEvents = new JMenuItem("Import events from CSV/TSV");
+        importEvents.addActionListener(new ImportCsvAction(false));
+        fileMenu.add(importEvents);
+        JMenuItem exportTimeSeries = new JMenuItem("Export time series");
+        exportTimeSeries.addActionListener(new ExportTimeSeriesAction());
+        fileMenu.add(exportTimeSeries);
+
         fileMenu.addSeparator();
         JMenuItem exit = new JMenuItem("Exit");
         exit.addActionListener(e -> this.saveOnExitListener.windowClosing(
@@ -267,13 +322,30 @@ public class GraphicRelativitySimulator extends JFrame {
 
     // MODIFIES: this
     // EFFECTS: update all info panels' data according to the current frameWorld's status, viewed in the current
-    //          reference frame
+    //          reference frame; frameWorld keeps everything viewed in its current reference as it is changed, so
+    //          nothing is recomputed here
     public void updateAll() {
-        frameWorld.viewAllInCurrentReference();
         frameListPanel.updateAll();
         eventListPanel.updateAll();
         referenceController.setCurrentReference(frameWorld.getCurrentReference());
         displayCanvas.repaint();
+        spacetimeDiagram.repaint();
+    }
+
+    // MODIFIES: this
+    // EFFECTS: update the info panels after editedFrame is edited in frameWorld: only the elements of editedFrame and
+    //          its observed events change, unless editedFrame is the current reference frame
+    public void updateAfterEditing(RefFrame editedFrame) {
+        if (editedFrame == frameWorld.getCurrentReference()) {
+            updateAll();
+            return;
+        }
+        frameListPanel.updateElementsOf(Collections.singletonList(editedFrame));
+        if (!frameWorld.isPagedOut(editedFrame)) {
+            eventListPanel.updateElementsOf(editedFrame.getObservedEvents());
+        }
+        displayCanvas.repaint();
+        spacetimeDiagram.repaint();
     }
 
     public FrameListPanel getFrameListPanel() {
@@ -288,6 +360,10 @@ public class GraphicRelativitySimulator extends JFrame {
         return displayCanvas;
     }
 
+    public SpacetimeDiagram getSpacetimeDiagram() {
+        return spacetimeDiagram;
+    }
+
     public ReferenceController getReferenceController() {
         return referenceController;
     }
@@ -295,6 +371,7 @@ public class GraphicRelativitySimulator extends JFrame {
     /*Action for loading frameWorld from file*/
     private class LoadFileAction extends AbstractAction {
         private GraphicRelativitySimulator simulator;
+        private LoadWorker loadWorker;
 
         // constructor
         // EFFECTS: initialize this' s simulator
@@ -303,79 +380,366 @@ public class GraphicRelativitySimulator extends JFrame {
         }
 
         // MODIFIES: simulator
-        // EFFECTS: read the existing frameWorld from file and update
-        @SuppressWarnings("methodlength")
+        // EFFECTS: start reading the existing frameWorld from file in the background, with a cancellable progress
+        //          monitor; do nothing if the previous load has not finished yet, and skip reading if the file is
+        //          known to hold the current data already
         @Override
         public void actionPerformed(ActionEvent e) {
+            if (loadWorker != null && !loadWorker.isDone()) {
+                return;
+            }
+            if (savedStamp != null && savedStamp.matches(frameWorld)) {
+                loadSucceeded(SOURCE_FILE);
+                return;
+            }
+            ProgressMonitor progressMonitor = new ProgressMonitor(simulator,
+                    "Loading from " + SOURCE_FILE, null, 0, 100);
+            loadWorker = new LoadWorker(simulator, progressMonitor);
+            loadWorker.execute();
+        }
+    }
+
+    /*Worker that reads and builds the saved frameWorld from file off the event dispatch thread; it never touches the
+     *current frameWorld, which is only diffed against the saved one and changed on the event dispatch thread*/
+    private class LoadWorker extends SwingWorker<FrameWorld, Void> {
+        private GraphicRelativitySimulator simulator;
+        private ProgressMonitor progressMonitor; // null for a hot reload
+        private FileStamp loadedStamp; // stamp of SOURCE_FILE as it was read
+
+        // constructor
+        // EFFECTS: initialize this as a hot reload, which merges the changes of SOURCE_FILE silently and keeps the
+        //          current reference frame and proper time if they still exist
+        public LoadWorker(GraphicRelativitySimulator simulator) {
+            this.simulator = simulator;
+        }
+
+        // constructor
+        // EFFECTS: initialize this' s simulator and progressMonitor; forward progress to progressMonitor and cancel
+        //          this once the user cancels the monitor
+        public LoadWorker(GraphicRelativitySimulator simulator, ProgressMonitor progressMonitor) {
+            this.simulator = simulator;
+            this.progressMonitor = progressMonitor;
+            addPropertyChangeListener(e -> {
+                if ("progress".equals(e.getPropertyName())) {
+                    progressMonitor.setProgress(getProgress());
+                }
+                if (progressMonitor.isCanceled()) {
+                    cancel(true);
+                }
+            });
+        }
+
+        // EFFECTS: read, build and return the saved frameWorld, reporting progress; stop as soon as this is cancelled
+        //          throws IOException, FrameConstructException or JSONException if the file cannot be loaded
+        @Override
+        protected FrameWorld doInBackground() throws IOException, FrameConstructException {
+            BasicFileAttributes attributes = Files.readAttributes(Paths.get(SOURCE_FILE), BasicFileAttributes.class);
+            FrameWorld savedWorld = new JsonReader(SOURCE_FILE).read((parsed, total) -> {
+                if (isCancelled()) {
+                    throw new CancellationException();
+                }
+                setProgress(parsed * 100 / total);
+            });
+            loadedStamp = new FileStamp(SOURCE_FILE, attributes, savedWorld.contentHash());
+            return savedWorld;
+        }
+
+        // MODIFIES: simulator
+        // EFFECTS: close the progress monitor; unless cancelled, diff the saved frameWorld against the current one and
+        //          ask user to confirm overwriting the current data if it differs, then apply the differences; a hot
+        //          reload applies them without asking and only logs whether it succeeded
+        @Override
+        protected void done() {
+            if (progressMonitor == null) {
+                reloaded();
+                return;
+            }
+            progressMonitor.close();
+            if (isCancelled()) {
+                return;
+            }
             try {
-                FrameWorld savedWorld = jsonReader.read();
-                if (!savedWorld.equals(frameWorld)) {
-                    int response = JOptionPane.showConfirmDialog(this.simulator,
-                            "Your current data will be overwritten by the saved data.\n"
-                                    + "Are you sure to load from file?",
-                            "Load from file",
-                            JOptionPane.YES_NO_OPTION);
-                    if (response == JOptionPane.YES_OPTION) {
-                        buildNewFrameWorld(savedWorld);
+                FrameWorldDiff diff = new FrameWorldDiff(frameWorld, get());
+                savedStamp = loadedStamp;
+                if (diff.isEmpty() || JOptionPane.showConfirmDialog(this.simulator,
+                        "Your current data will be overwritten by the saved data.\n"
+                                + "Are you sure to load from file?",
+                        "Load from file",
+                        JOptionPane.YES_NO_OPTION) == JOptionPane.YES_OPTION) {
+                    if (mergeFrameWorld(diff, SOURCE_FILE)) {
+                        loadSucceeded(SOURCE_FILE);
                     }
-                } else {
-                    buildNewFrameWorld(savedWorld);
                 }
-            } catch (IOException ioException) {
-                errorMessage("Failed to load file " + SOURCE_FILE);
-            } catch (FrameConstructException frameConstructException) {
-                errorMessage("Frame Construction failed: data in file " + SOURCE_FILE
-                        + " might have been manually modified and invalidated");
-            } catch (JSONException jsonException) {
-                errorMessage("FAILED TO LOAD DATA: JSON File structure is broken.");
+            } catch (InterruptedException interruptedException) {
+                Thread.currentThread().interrupt();
+            } catch (ExecutionException executionException) {
+                loadFailed(executionException.getCause(), SOURCE_FILE);
             }
         }
 
         // MODIFIES: simulator
-        // EFFECTS: load data from file and re-render all PhysicalObjectElements according to the new frameWorld
-        private void buildNewFrameWorld(FrameWorld savedWorld) throws SameNameException {
-            mergeFrameWorld(savedWorld);
-            simulator.generateNewElements();
-            JOptionPane.showMessageDialog(null,
-                    "File from " + SOURCE_FILE + " successfully loaded",
-                    "Load from file",
-                    JOptionPane.INFORMATION_MESSAGE);
+        // EFFECTS: diff the saved frameWorld against the current one and apply the changes of SOURCE_FILE, keeping
+        //          the current reference frame and its proper time so a running playback carries on; log the reload
+        //          or why it failed
+        private void reloaded() {
+            try {
+                FrameWorldDiff diff = new FrameWorldDiff(frameWorld, get());
+                savedStamp = loadedStamp;
+                diff.keepReferenceOf(frameWorld);
+                if (!diff.isEmpty()) {
+                    mergeFrameWorld(diff);
+                    EventLog.getInstance().logEvent(new Event("Reloaded " + SOURCE_FILE + ": " + diff));
+                }
+            } catch (InterruptedException interruptedException) {
+                Thread.currentThread().interrupt();
+            } catch (ExecutionException executionException) {
+                reloadFailed(executionException.getCause());
+            } catch (FrameConstructException frameConstructException) {
+                reloadFailed(frameConstructException);
+            }
+            if (reloadPending) {
+                reloadSourceFile();
+            }
         }
+    }
 
-        // MODIFIES: simulator
-        // EFFECTS: merge the information of savedWorld into current frameWorld
-        //          note that this method is redundant in essence: it is used specifically for logging
-        //          the deletion and addition of physical Objects while loading file
-        private void mergeFrameWorld(FrameWorld savedWorld) throws SameNameException {
-            FrameWorld frameWorld = simulator.frameWorld;
-            List<PhysicalObject> framesToDelete = new LinkedList<>(frameWorld.getFrameList());
-            List<PhysicalObject> eventsToDelete = new LinkedList<>(frameWorld.getEventList());
-            // remove all physical objects except Absolute Stationary Frame
-            for (PhysicalObject nextFrame : framesToDelete) {
-                if (!nextFrame.getName().equals(FrameWorld.ABSOLUTE_STATIONARY_FRAME_NAME)) {
-                    frameWorld.deleteFrame((RefFrame) nextFrame);
-                }
+    // EFFECTS: report why loading from source failed
+    private void loadFailed(Throwable cause, String source) {
+        if (cause instanceof FrameConstructException) {
+            errorMessage("Frame Construction failed: data in " + source
+                    + " might have been manually modified and invalidated");
+        } else if (cause instanceof JSONException) {
+            errorMessage("FAILED TO LOAD DATA: JSON File structure is broken.");
+        } else {
+            errorMessage("Failed to load " + source);
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: apply the differences between the current frameWorld and the one loaded from source in bulk, then
+    //          rebuild the elements from the changed frameWorld; return true if succeeded,
+    //          otherwise report why loading from source failed and return false
+    private boolean mergeFrameWorld(FrameWorldDiff diff, String source) {
+        try {
+            mergeFrameWorld(diff);
+            return true;
+        } catch (FrameConstructException frameConstructException) {
+            loadFailed(frameConstructException, source);
+            return false;
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: apply the differences between the current frameWorld and a loaded one in bulk, then rebuild the
+    //          elements from the changed frameWorld
+    //          throws FrameConstructException if the differences cannot be applied
+    private void mergeFrameWorld(FrameWorldDiff diff) throws FrameConstructException {
+        frameWorld.applyDiff(diff);
+        updateAll();
+    }
+
+    // EFFECTS: log why hot reloading SOURCE_FILE failed, without interrupting user
+    private void reloadFailed(Throwable cause) {
+        EventLog.getInstance().logEvent(new Event("Failed to reload " + SOURCE_FILE + ": " + cause));
+    }
+
+    // MODIFIES: this
+    // EFFECTS: start watching SOURCE_FILE and hot reloading it once a burst of writes to it has settled if watch is
+    //          true, otherwise stop watching it
+    private void watchSourceFile(boolean watch) {
+        try {
+            if (sourceFileWatcher != null) {
+                sourceFileWatcher.close();
+                sourceFileWatcher = null;
             }
-            for (PhysicalObject nextEvent : eventsToDelete) {
-                frameWorld.deleteEvent((PhysicalEvent) nextEvent);
+            if (watch) {
+                sourceFileWatcher = new FileWatcher(SOURCE_FILE, RELOAD_DEBOUNCE_MILLIS,
+                        () -> SwingUtilities.invokeLater(this::reloadSourceFile));
+                sourceFileWatcher.start();
             }
+        } catch (IOException exception) {
+            errorMessage("Failed to watch " + SOURCE_FILE);
+        }
+    }
 
-            // add all physical objects except Absolute Stationary Frame
-            List<PhysicalObject> framesToAdd = new LinkedList<>(savedWorld.getFrameList());
-            List<PhysicalObject> eventsToAdd = new LinkedList<>(savedWorld.getEventList());
-            for (PhysicalObject nextFrame : framesToAdd) {
-                if (!nextFrame.getName().equals(FrameWorld.ABSOLUTE_STATIONARY_FRAME_NAME)) {
-                    frameWorld.addFrame(nextFrame);
+    // MODIFIES: this
+    // EFFECTS: hot reload SOURCE_FILE in the background unless it is unchanged since it was last loaded or saved
+    //          (e.g. it was just saved by this simulator); a change arriving during a reload is picked up by
+    //          reloading again afterwards
+    private void reloadSourceFile() {
+        if (savedStamp != null && savedStamp.isFileUnchanged()) {
+            return;
+        }
+        if (reloadWorker != null && !reloadWorker.isDone()) {
+            reloadPending = true;
+            return;
+        }
+        reloadPending = false;
+        reloadWorker = new LoadWorker(this);
+        reloadWorker.execute();
+    }
+
+    // EFFECTS: inform user that source has been loaded
+    private void loadSucceeded(String source) {
+        JOptionPane.showMessageDialog(null,
+                source + " successfully loaded",
+                "Load from file",
+                JOptionPane.INFORMATION_MESSAGE);
+    }
+
+    /*Action for loading one named scenario from the scenario archive*/
+    private class LoadScenarioAction implements ActionListener {
+        // MODIFIES: GraphicRelativitySimulator.this
+        // EFFECTS: let user choose a scenario in the archive, then read only that scenario and merge it into the
+        //          current frameWorld after confirmation
+        @Override
+        public void actionPerformed(ActionEvent e) {
+            try {
+                Object[] names = scenarioArchive.getScenarioNames().toArray();
+                if (names.length == 0) {
+                    errorMessage("No scenario has been saved to " + ARCHIVE_FILE);
+                    return;
+                }
+                Object chosen = JOptionPane.showInputDialog(GraphicRelativitySimulator.this, "Choose a scenario",
+                        "Load scenario from archive", JOptionPane.PLAIN_MESSAGE, null, names, names[0]);
+                if (chosen != null) {
+                    loadScenario((String) chosen);
                 }
+            } catch (IOException exception) {
+                loadFailed(exception, ARCHIVE_FILE);
             }
-            for (PhysicalObject nextEvent : eventsToAdd) {
-                frameWorld.addEvent(nextEvent);
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: read the scenario named scenarioName from the archive and merge it into the current frameWorld if user
+    //          confirms replacing different data
+    private void loadScenario(String scenarioName) {
+        String source = "Scenario " + scenarioName + " of " + ARCHIVE_FILE;
+        try {
+            FrameWorldDiff diff = new FrameWorldDiff(frameWorld, scenarioArchive.read(scenarioName));
+            if (!diff.isEmpty() && JOptionPane.showConfirmDialog(this,
+                    "Current data will be replaced by " + source + ". Are you sure to load?",
+                    "Load scenario from archive", JOptionPane.YES_NO_OPTION) != JOptionPane.YES_OPTION) {
+                return;
+            }
+            if (mergeFrameWorld(diff, source)) {
+                loadSucceeded(source);
             }
+        } catch (IOException | FrameConstructException | JSONException exception) {
+            loadFailed(exception, source);
+        }
+    }
 
-            frameWorld.setCurrentReferenceAndUpdate(savedWorld.getCurrentReference());
+    /*Action for appending current world to the scenario archive under a name*/
+    private class SaveScenarioAction implements ActionListener {
+        // MODIFIES: GraphicRelativitySimulator.this, file with the link ARCHIVE_FILE
+        // EFFECTS: ask user for a scenario name and append the current frameWorld under it, replacing the scenario
+        //          with the same name if there is one
+        @Override
+        public void actionPerformed(ActionEvent e) {
+            String scenarioName = JOptionPane.showInputDialog(GraphicRelativitySimulator.this,
+                    "Name of the scenario", "Save scenario to archive", JOptionPane.PLAIN_MESSAGE);
+            if (scenarioName == null || scenarioName.trim().isEmpty()) {
+                return;
+            }
+            try {
+                scenarioArchive.append(scenarioName.trim(), frameWorld);
+                JOptionPane.showMessageDialog(null,
+                        "Scenario " + scenarioName.trim() + " successfully saved to " + ARCHIVE_FILE,
+                        "Save scenario to archive",
+                        JOptionPane.INFORMATION_MESSAGE);
+            } catch (IOException exception) {
+                errorMessage("Failed to write file " + ARCHIVE_FILE);
+            }
         }
     }
 
+    /*Action for importing frames or events in bulk from a CSV or TSV file whose headers are the field names*/
+    private class ImportCsvAction implements ActionListener {
+        private static final int MAX_REJECTIONS_SHOWN = 10;
+        private boolean importsFrames;
+
+        // EFFECTS: construct an action importing frames if importsFrames, else events
+        public ImportCsvAction(boolean importsFrames) {
+            this.importsFrames = importsFrames;
+        }
+
+        // MODIFIES: GraphicRelativitySimulator.this
+        // EFFECTS: let user choose a file, import its rows into frameWorld in one batch, add elements for the imported
+        //          frames or events and report how many rows were imported and why rows were rejected
+        @Override
+        public void actionPerformed(ActionEvent e) {
+            JFileChooser chooser = new JFileChooser("./data");
+            if (chooser.showOpenDialog(GraphicRelativitySimulator.this) != JFileChooser.APPROVE_OPTION) {
+                return;
+            }
+            String fileName = chooser.getSelectedFile().getPath();
+            try {
+                CsvImporter importer = new CsvImporter(fileName);
+                ImportReport report = importsFrames ? importer.importFrames(frameWorld)
+                        : importer.importEvents(frameWorld);
+                ContainerPanel panel = importsFrames ? frameListPanel : eventListPanel;
+                for (PhysicalObject nextImported : report.getImported()) {
+                    panel.addNewElement(nextImported);
+                }
+                updateAll();
+                showReport(report);
+            } catch (IOException exception) {
+                errorMessage("Failed to import " + fileName + ": " + exception.getMessage());
+            }
+        }
+
+        // EFFECTS: show the summary of report with the first rejected rows
+        private void showReport(ImportReport report) {
+            StringBuilder message = new StringBuilder(report.toString());
+            List<ImportReport.RejectedRow> rejectedRows = report.getRejectedRows();
+            for (int i = 0; i < Math.min(MAX_REJECTIONS_SHOWN, rejectedRows.size()); i++) {
+                message.append("\n").append(rejectedRows.get(i));
+            }
+            if (rejectedRows.size() > MAX_REJECTIONS_SHOWN) {
+                message.append("\n...");
+            }
+            JOptionPane.showMessageDialog(null, message.toString(), "Import from CSV/TSV",
+                    JOptionPane.INFORMATION_MESSAGE);
+        }
+    }
+
+    /*Action for exporting the playback of the current world over a range of reference proper times*/
+    private class ExportTimeSeriesAction implements ActionListener {
+        // EFFECTS: ask user for the time range and step, and a file (CSV if named *.csv, else binary), then export
+        //          the states of all frames and events at each tick without changing the current frameWorld
+        @SuppressWarnings("methodlength")
+        @Override
+        public void actionPerformed(ActionEvent e) {
+            double currentTime = frameWorld.getCurrentReference().getProperTime();
+            String range = JOptionPane.showInputDialog(GraphicRelativitySimulator.this,
+                    "Start time, end time and step (s) of the reference frame", currentTime + ", "
+                            + (currentTime + 10) + ", 0.1");
+            if (range == null) {
+                return;
+            }
+            JFileChooser chooser = new JFileChooser("./data");
+            if (chooser.showSaveDialog(GraphicRelativitySimulator.this) != JFileChooser.APPROVE_OPTION) {
+                return;
+            }
+            String fileName = chooser.getSelectedFile().getPath();
+            try {
+                String[] values = range.split(",");
+                long ticks = new TimeSeriesExporter(fileName).export(new WorldView(frameWorld),
+                        Double.parseDouble(values[0].trim()), Double.parseDouble(values[1].trim()),
+                        Double.parseDouble(values[2].trim()));
+                JOptionPane.showMessageDialog(null, ticks + " ticks exported to " + fileName,
+                        "Export time series", JOptionPane.INFORMATION_MESSAGE);
+            } catch (NumberFormatException | ArrayIndexOutOfBoundsException exception) {
+                errorMessage("Wrong format: enter start time, end time and step separated by commas");
+            } catch (IllegalArgumentException exception) {
+                errorMessage(exception.getMessage());
+            } catch (IOException exception) {
+                errorMessage("Failed to write file " + fileName);
+            }
+        }
+    }
 
     /*Action for saving current world to file*/
     private class SaveFileAction implements ActionListener {
@@ -393,8 +757,7 @@ public class GraphicRelativitySimulator extends JFrame {
         @Override
         public void actionPerformed(ActionEvent e) {
             try {
-                FrameWorld savedWorld = jsonReader.read();
-                if (!savedWorld.equals(frameWorld)) {
+                if (!matchesSourceFile()) {
                     int response = JOptionPane.showConfirmDialog(this.simulator,
                             "Data in file " + SOURCE_FILE + " will be overwritten by current data. "
                                     + "Are you sure to save to file?",
@@ -412,19 +775,46 @@ public class GraphicRelativitySimulator extends JFrame {
         }
     }
 
-    // MODIFIES: file with the link SOURCE_FILE
-    // EFFECTS: save data to source file
+    // MODIFIES: this
+    // EFFECTS: return true if SOURCE_FILE holds the same data as the current frameWorld, by comparing content hashes;
+    //          SOURCE_FILE is only read if it has changed since it was last loaded or saved, and is stamped afterwards
+    //          throws IOException, FrameConstructException or JSONException if SOURCE_FILE has to be read but cannot
+    //          be loaded
+    private boolean matchesSourceFile() throws IOException, FrameConstructException {
+        if (savedStamp == null || !savedStamp.isFileUnchanged()) {
+            BasicFileAttributes attributes = Files.readAttributes(Paths.get(SOURCE_FILE), BasicFileAttributes.class);
+            FrameWorld savedWorld = jsonReader.read();
+            savedStamp = new FileStamp(SOURCE_FILE, attributes, savedWorld.contentHash());
+        }
+        return savedStamp.matches(frameWorld);
+    }
+
+    // MODIFIES: this, file with the link SOURCE_FILE
+    // EFFECTS: save data to source file and stamp it
     private void saveToFile() {
         try {
             jsonWriter.open();
             jsonWriter.write(frameWorld);
             jsonWriter.close();
+            stampSavedFile();
             JOptionPane.showMessageDialog(null,
                     "Data successfully saved to file " + SOURCE_FILE,
                     "Save to file",
                     JOptionPane.INFORMATION_MESSAGE);
         } catch (FileNotFoundException e) {
             errorMessage("File " + SOURCE_FILE + " not found.");
+        } catch (IOException e) {
+            errorMessage("Failed to write file " + SOURCE_FILE);
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: stamp SOURCE_FILE as holding the current frameWorld; forget the stamp if the file cannot be accessed
+    private void stampSavedFile() {
+        try {
+            savedStamp = new FileStamp(SOURCE_FILE, frameWorld.contentHash());
+        } catch (IOException e) {
+            savedStamp = null;
         }
     }
 
@@ -453,14 +843,13 @@ public class GraphicRelativitySimulator extends JFrame {
             this.simulator = simulator;
         }
 
-        // EFFECTS: if the current frameWorld does not equal the frameWorld stored in file (including cases in
+        // EFFECTS: if the current frameWorld does not match the frameWorld stored in file (including cases in
         //          which the file is broken), ask user whether to store data or not before exiting; otherwise
-        //          do nothing
+        //          exit directly
         @Override
         public void windowClosing(WindowEvent windowEvent) {
             try {
-                FrameWorld savedWorld = jsonReader.read();
-                if (!savedWorld.equals(frameWorld)) {
+                if (!matchesSourceFile()) {
                     int response = JOptionPane.showConfirmDialog(this.simulator,
                             "Do you want to save data to file before exiting?",
                             "Exiting simulator",
@@ -1,8 +1,83 @@
 package ui;
 
+import model.FrameWorld;
+import model.WorldView;
+import model.exceptions.FrameConstructException;
+import org.json.JSONException;
+import persistence.JsonReader;
+import persistence.PagedEventStore;
+import ui.panels.display.ImageSequenceRenderer;
+
+import java.io.IOException;
+
 /*Main function*/
 public class Main {
+    public static final String RENDER_OPTION = "--render";
+    public static final String RENDER_USAGE = "Usage: " + RENDER_OPTION
+            + " <frame world file> <start time> <end time> <step> <output directory>";
+    public static final String PAGED_EXTENSION = ".pages";
+    public static final String PAGE_OPTION = "--page";
+    public static final String PAGE_USAGE = "Usage: " + PAGE_OPTION + " <frame world file> <paged file"
+            + PAGED_EXTENSION + ">";
+    public static final int RENDER_EVENT_BUDGET = 100_000; // events of a paged file kept in memory while rendering
+
+    // EFFECTS: start the graphic simulator, or render a saved frame world to images without display if the first
+    //          argument is RENDER_OPTION, or store a saved frame world as a paged file if it is PAGE_OPTION
     public static void main(String[] args) {
+        if (args.length > 0 && args[0].equals(RENDER_OPTION)) {
+            System.exit(renderImages(args));
+        }
+        if (args.length > 0 && args[0].equals(PAGE_OPTION)) {
+            System.exit(pageEvents(args));
+        }
         new GraphicRelativitySimulator();
     }
+
+    // EFFECTS: render the frame world saved in args[1] at the proper times of its reference frame from args[2] to
+    //          args[3] by args[4] into PNG images in directory args[5], headless; report the outcome and return 0 on
+    //          success, otherwise report the error and return 1. A file ending in PAGED_EXTENSION is opened as a paged
+    //          file, keeping no more than RENDER_EVENT_BUDGET of its events in memory
+    private static int renderImages(String[] args) {
+        System.setProperty("java.awt.headless", "true");
+        if (args.length != 6) {
+            System.err.println(RENDER_USAGE);
+            return 1;
+        }
+        try {
+            FrameWorld frameWorld = args[1].endsWith(PAGED_EXTENSION)
+                    ? PagedEventStore.open(args[1], RENDER_EVENT_BUDGET) : new JsonReader(args[1]).read();
+            long start = System.nanoTime();
+            long images = new ImageSequenceRenderer(args[5]).render(new WorldView(frameWorld),
+                    Double.parseDouble(args[2]), Double.parseDouble(args[3]), Double.parseDouble(args[4]));
+            System.out.println(images + " images rendered to " + args[5] + " in "
+                    + (System.nanoTime() - start) / 1_000_000 + " ms");
+            return 0;
+        } catch (NumberFormatException exception) {
+            System.err.println("Wrong format: number input must be double\n" + RENDER_USAGE);
+        } catch (IllegalArgumentException exception) {
+            System.err.println(exception.getMessage());
+        } catch (IOException | FrameConstructException | JSONException exception) {
+            System.err.println("Failed to render " + args[1] + ": " + exception.getMessage());
+        }
+        return 1;
+    }
+
+    // EFFECTS: store the frame world saved in args[1] as a paged file named args[2], which can be rendered without
+    //          holding all of its events in memory; report the outcome and return 0 on success, otherwise report the
+    //          error and return 1
+    private static int pageEvents(String[] args) {
+        if (args.length != 3 || !args[2].endsWith(PAGED_EXTENSION)) {
+            System.err.println(PAGE_USAGE);
+            return 1;
+        }
+        try {
+            FrameWorld frameWorld = new JsonReader(args[1]).read();
+            PagedEventStore.save(args[2], frameWorld);
+            System.out.println(frameWorld.getEventCount() + " events of " + args[1] + " paged into " + args[2]);
+            return 0;
+        } catch (IOException | FrameConstructException | JSONException exception) {
+            System.err.println("Failed to page " + args[1] + ": " + exception.getMessage());
+        }
+        return 1;
+    }
 }
@@ -1,32 +1,42 @@
 package ui.panels.containers;
 
+import model.FrameWorld;
 import model.PhysicalObject;
 import ui.GraphicRelativitySimulator;
 import ui.panels.editors.PhysicalObjectCreator;
-import ui.panels.elements.PhysicalObjectElement;
+import ui.panels.elements.PhysicalObjectTableModel;
 
 import javax.swing.*;
 import javax.swing.border.Border;
 import java.awt.*;
-import java.util.LinkedList;
+import java.awt.event.ActionListener;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Set;
 
-/*A panel containing a list of elements*/
+/*A panel containing a table of elements, one row per physical object. The table only draws the rows in sight, all
+ *through the same renderer, so memory and the cost of updating it grow with the size of the viewport instead of the
+ *number of objects; buttons next to the table act on the selected rows*/
 public abstract class ContainerPanel extends JPanel {
     public static final int WIDTH = (int) (GraphicRelativitySimulator.WIDTH / 2.2);
     public static final int HEIGHT = GraphicRelativitySimulator.HEIGHT;
     protected JLabel panelNameLabel;
     protected GraphicRelativitySimulator simulator;
     protected JButton additionButton;
-    protected JPanel infoPanel;
+    protected JPanel actionPanel;
+    protected JTable table;
     protected JScrollPane scrollPane;
 
-    protected List<PhysicalObjectElement> elements;
+    protected PhysicalObjectTableModel elements;
+    private long checkedVersion; // objects version of the frameWorld when the rows were last checked against it
 
     protected PhysicalObjectCreator creator;
 
     // constructor
-    // EFFECTS: construct container panel with name, button (named "Add elementType"), !!!
+    // EFFECTS: construct container panel with name, button (named "Add elementType") and an empty table of elements
     public ContainerPanel(String name, String elementType, GraphicRelativitySimulator simulator) {
         initializeField(name, elementType, simulator);
         initializeGraphics();
@@ -35,27 +45,36 @@ public abstract class ContainerPanel extends JPanel {
     }
 
     // MODIFIES: this
-    // EFFECTS: initialize the name label, simulator, button for adding new element, information panel and a new
-    //          element list
+    // EFFECTS: initialize the name label, simulator, button for adding new element, panel of buttons acting on the
+    //          selected elements and a new empty table of elements
     private void initializeField(String name, String elementType, GraphicRelativitySimulator simulator) {
         this.panelNameLabel = new JLabel(name);
         this.simulator = simulator;
         this.additionButton = new JButton("Add " + elementType);
-        this.infoPanel = new JPanel();
-        this.elements = new LinkedList<PhysicalObjectElement>();
+        this.actionPanel = new JPanel();
+        this.elements = createTableModel();
+        this.table = new JTable(elements);
+        this.checkedVersion = -1;
     }
 
+    // EFFECTS: return a new empty table model for the elements of this
+    protected abstract PhysicalObjectTableModel createTableModel();
+
     // MODIFIES: this
     // EFFECTS: set up the graphics
     protected void initializeGraphics() {
         this.setLayout(new BorderLayout());
-        JPanel topPanel = new JPanel();
-        topPanel.add(panelNameLabel);
-        topPanel.add(additionButton);
+        JPanel topPanel = new JPanel(new BorderLayout());
+        JPanel titlePanel = new JPanel();
+        titlePanel.add(panelNameLabel);
+        titlePanel.add(additionButton);
+        topPanel.add(titlePanel, BorderLayout.NORTH);
+        topPanel.add(actionPanel, BorderLayout.SOUTH);
         this.add(topPanel, BorderLayout.PAGE_START);
 
-        infoPanel.setLayout(new BoxLayout(infoPanel, BoxLayout.Y_AXIS));
-        scrollPane = new JScrollPane(infoPanel, JScrollPane.VERTICAL_SCROLLBAR_ALWAYS,
+        table.setFillsViewportHeight(true);
+        table.getTableHeader().setReorderingAllowed(false);
+        scrollPane = new JScrollPane(table, JScrollPane.VERTICAL_SCROLLBAR_ALWAYS,
                 JScrollPane.HORIZONTAL_SCROLLBAR_AS_NEEDED);
         scrollPane.setPreferredSize(new Dimension(WIDTH, HEIGHT / 2));
 
@@ -69,49 +88,76 @@ public abstract class ContainerPanel extends JPanel {
         this.setBorder(blackBorder);
     }
 
+    // MODIFIES: this
+    // EFFECTS: add a button named name acting on the selected elements with action, and return it
+    protected JButton addActionButton(String name, ActionListener action) {
+        JButton button = new JButton(name);
+        button.addActionListener(action);
+        actionPanel.add(button);
+        return button;
+    }
+
     // MODIFIES: this
     // EFFECTS: update all elements according to their data source
-    //          if the data source of an element no longer exists in the frameWorld, remove the element
+    //          if frames or events of the frameWorld have changed since the elements were last checked, rebuild them
+    //          from the data sources in the frameWorld, so that no element is left showing an object that was
+    //          removed or replaced (e.g. by another object of the same name)
     public void updateAll() {
-        List<PhysicalObjectElement> elementsToDelete = new LinkedList<>();
-        for (PhysicalObjectElement nextElement : elements) {
-            if (simulator.getFrameWorld().findFrameByName(nextElement.getDataSource().getName()) == null
-                    && simulator.getFrameWorld().findEventByName(nextElement.getDataSource().getName()) == null) {
-                elementsToDelete.add(nextElement);
-                this.infoPanel.remove(nextElement);
-                continue;
-            }
-            nextElement.updateInfo();
-            nextElement.validate();
+        if (simulator.getFrameWorld().getObjectsVersion() != checkedVersion) {
+            reRenderAll(dataSourcesIn(simulator.getFrameWorld()));
+        } else {
+            elements.refreshAll();
+        }
+    }
+
+    // EFFECTS: return the physical objects of frameWorld shown by the elements of this, in order
+    protected abstract List<PhysicalObject> dataSourcesIn(FrameWorld frameWorld);
+
+    // MODIFIES: this
+    // EFFECTS: update the elements whose data sources are in dataSources; since rows are read from their data sources
+    //          whenever they are drawn, this only draws the rows in sight again
+    public void updateElementsOf(Collection<? extends PhysicalObject> dataSources) {
+        if (!dataSources.isEmpty()) {
+            elements.refreshAll();
         }
-        this.elements.removeAll(elementsToDelete);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: delete the elements whose data sources are in dataSources, in one pass over the elements
+    public void deleteElementsOf(Collection<? extends PhysicalObject> dataSources) {
+        Set<PhysicalObject> toDelete = Collections.newSetFromMap(new IdentityHashMap<PhysicalObject, Boolean>());
+        toDelete.addAll(dataSources);
+        elements.removeIf(toDelete::contains);
     }
 
     // MODIFIES: this
     // EFFECTS: add new element to this
-    protected void addPhysicalObjectElement(PhysicalObjectElement newElement) {
-        this.infoPanel.add(newElement);
-        this.infoPanel.validate();
-        this.scrollPane.validate();
+    protected void addPhysicalObjectElement(PhysicalObject newElement) {
         elements.add(newElement);
         simulator.getDisplayCanvas().repaint();
     }
 
     // MODIFIES: this
-    // EFFECTS: clear all previous elements; render the new physicalObjects and add them to the list of elements
+    // EFFECTS: clear all previous elements and add one for each of physicalObjects, at once
     public void reRenderAll(List<PhysicalObject> physicalObjects) {
-        this.infoPanel.removeAll();
-        elements.clear();
-        for (PhysicalObject next : physicalObjects) {
-            addNewElement(next);
-        }
-        this.infoPanel.revalidate();
+        elements.setAll(physicalObjects);
+        // taken after physicalObjects were listed, which may have paged events in
+        checkedVersion = simulator.getFrameWorld().getObjectsVersion();
     }
 
     // this is the abstract version of addPhysicalObjectElement, which can introduce cohesiveness to subclasses
     // MODIFIES: this
     // EFFECTS: add new element to this
-    protected abstract void addNewElement(PhysicalObject physicalObject);
+    public abstract void addNewElement(PhysicalObject physicalObject);
+
+    // EFFECTS: return the data sources of the selected elements, in the order of the table
+    protected List<PhysicalObject> getSelectedDataSources() {
+        List<PhysicalObject> selected = new ArrayList<>();
+        for (int row : table.getSelectedRows()) {
+            selected.add(elements.getObjectAt(table.convertRowIndexToModel(row)));
+        }
+        return selected;
+    }
 
     // MODIFIES: this
     // EFFECTS: initialize the function for the button for adding new elements
@@ -122,16 +168,4 @@ public abstract class ContainerPanel extends JPanel {
     public GraphicRelativitySimulator getSimulator() {
         return simulator;
     }
-
-    // MODIFIES: this
-    // EFFECTS: delete given element
-    public void deleteElement(PhysicalObjectElement objectToDelete) {
-        if (this.elements.contains(objectToDelete)) {
-            this.infoPanel.remove(objectToDelete);
-            this.elements.remove(objectToDelete);
-            this.infoPanel.validate();
-            this.setVisible(false);
-            this.setVisible(true);
-        }
-    }
 }
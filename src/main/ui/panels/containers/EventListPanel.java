@@ -1,29 +1,64 @@
 package ui.panels.containers;
 
+import model.FrameWorld;
+import model.PhysicalEvent;
 import model.PhysicalObject;
 import ui.GraphicRelativitySimulator;
 import ui.panels.editors.EventCreator;
-import ui.panels.elements.EventElement;
+import ui.panels.elements.EventTableModel;
+import ui.panels.elements.PhysicalObjectTableModel;
 
+import javax.swing.*;
 import java.awt.*;
+import java.util.ArrayList;
+import java.util.List;
 
-/*The panel containing all FramePanels*/
+/*The panel containing the table of all events*/
 public class EventListPanel extends ContainerPanel {
+    private JButton removeButton;
+
     // constructor
     // EFFECTS: construct a new EventListPanel
     public EventListPanel(GraphicRelativitySimulator simulator) {
         super("Events", "Event", simulator);
         creator = new EventCreator(simulator);
         this.setPreferredSize(new Dimension(WIDTH, (int) (GraphicRelativitySimulator.HEIGHT / 2.2)));
+        removeButton = addActionButton("Remove", e -> removeSelected());
+        removeButton.setEnabled(false);
+        table.getSelectionModel().addListSelectionListener(e ->
+                removeButton.setEnabled(table.getSelectedRowCount() > 0));
+    }
+
+    @Override
+    protected PhysicalObjectTableModel createTableModel() {
+        return new EventTableModel();
+    }
+
+    @Override
+    protected List<PhysicalObject> dataSourcesIn(FrameWorld frameWorld) {
+        return frameWorld.getEventList();
+    }
+
+    // MODIFIES: this, simulator
+    // EFFECTS: remove the selected events that are still in the frameWorld of simulator from that frameWorld
+    private void removeSelected() {
+        List<PhysicalObject> removed = new ArrayList<>();
+        for (PhysicalObject next : getSelectedDataSources()) {
+            if (simulator.getFrameWorld().findEventByName(next.getName()) == next) {
+                simulator.getFrameWorld().deleteEvent((PhysicalEvent) next);
+                removed.add(next);
+            }
+        }
+        deleteElementsOf(removed);
+        simulator.updateAll();
     }
 
     // REQUIRES: newEvent is successfully added to FrameWorld in simulator
     // MODIFIES: this
-    // EFFECTS: create and add a new EventElement to this
+    // EFFECTS: add a new row for newEvent to this
     @Override
     public void addNewElement(PhysicalObject newEvent) {
-        EventElement newEventElement = new EventElement(newEvent, this);
-        addPhysicalObjectElement(newEventElement);
+        addPhysicalObjectElement(newEvent);
     }
 
 }
@@ -1,18 +1,27 @@
 package ui.panels.containers;
 
-import model.PhysicalEvent;
 import model.FrameWorld;
+import model.PhysicalEvent;
 import model.PhysicalObject;
 import model.RefFrame;
 import ui.GraphicRelativitySimulator;
 import ui.panels.editors.FrameCreator;
 import ui.panels.editors.FrameEditor;
-import ui.panels.elements.FrameElement;
-import ui.panels.elements.PhysicalObjectElement;
+import ui.panels.elements.FrameTableModel;
+import ui.panels.elements.PhysicalObjectTableModel;
 
-/* The panel containing all FramePanels*/
+import javax.swing.*;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.util.ArrayList;
+import java.util.List;
+
+/* The panel containing the table of all frames*/
 public class FrameListPanel extends ContainerPanel {
     private FrameEditor editor;
+    private JButton setReferenceButton;
+    private JButton editionButton;
+    private JButton removeButton;
 
     // constructor
     // EFFECTS: construct a new FrameListPanel
@@ -20,34 +29,96 @@ public class FrameListPanel extends ContainerPanel {
         super("Frames", "Frame", parent);
         creator = new FrameCreator(simulator);
         editor = new FrameEditor(simulator);
+        initializeActions();
     }
 
-    // REQUIRES: newFrame is successfully added to FrameWorld in simulator
-    // MODIFIES: this
-    // EFFECTS: create and add a new FrameElement to this
     @Override
-    public void addNewElement(PhysicalObject newFrame) {
-        boolean changeable = !(newFrame.getName().equals(FrameWorld.ABSOLUTE_STATIONARY_FRAME_NAME));
-        FrameElement newElement = new FrameElement(newFrame, this, changeable);
-        addPhysicalObjectElement(newElement);
+    protected PhysicalObjectTableModel createTableModel() {
+        return new FrameTableModel(simulator);
     }
 
-    // REQUIRES: data source of objectToDelete is already deleted from simulator's frameWorld
-    // MODIFIES: simulator, this
-    // EFFECTS: remove objectToDelete, and corresponding Event Elements from simulator
     @Override
-    public void deleteElement(PhysicalObjectElement objectToDelete) {
-        RefFrame frameObjectToDelete = (RefFrame) objectToDelete.getDataSource();
-        for (PhysicalEvent nextPhysicalEvent : frameObjectToDelete.getObservedEvents()) {
-            for (PhysicalObjectElement nextEventElement : simulator.getEventListPanel().elements) {
-                if (nextEventElement.getDataSource().equals(nextPhysicalEvent)) {
-                    simulator.getEventListPanel().deleteElement(nextEventElement);
-                    break;
+    protected List<PhysicalObject> dataSourcesIn(FrameWorld frameWorld) {
+        return frameWorld.getFrameList();
+    }
+
+    // MODIFIES: this
+    // EFFECTS: initialize the buttons setting the selected frame as reference, editing it and removing the selected
+    //          frames, enabled only when they apply to the selection; a double click on a frame edits it as well
+    private void initializeActions() {
+        setReferenceButton = addActionButton("Set as New Reference", e -> setSelectedAsReference());
+        editionButton = addActionButton("Edit Initial Status", e -> editSelected());
+        removeButton = addActionButton("Remove", e -> removeSelected());
+        table.getSelectionModel().addListSelectionListener(e -> updateActionButtons());
+        table.addMouseListener(new MouseAdapter() {
+            @Override
+            public void mouseClicked(MouseEvent e) {
+                if (e.getClickCount() == 2 && table.columnAtPoint(e.getPoint()) != FrameTableModel.NAME_COLUMN) {
+                    editSelected();
                 }
             }
+        });
+        updateActionButtons();
+    }
+
+    // MODIFIES: this
+    // EFFECTS: enable setting as reference and editing for a single selected frame (editing only if it is
+    //          changeable), and removing if frames are selected and all of them are changeable
+    private void updateActionButtons() {
+        List<PhysicalObject> selected = getSelectedDataSources();
+        boolean allChangeable = !selected.isEmpty();
+        for (PhysicalObject next : selected) {
+            allChangeable &= FrameTableModel.isChangeable(next);
+        }
+        setReferenceButton.setEnabled(selected.size() == 1);
+        editionButton.setEnabled(selected.size() == 1 && allChangeable);
+        removeButton.setEnabled(allChangeable);
+    }
+
+    // MODIFIES: this, simulator
+    // EFFECTS: set the selected frame as the new reference frame
+    private void setSelectedAsReference() {
+        List<PhysicalObject> selected = getSelectedDataSources();
+        if (selected.size() == 1) {
+            simulator.getFrameWorld().setCurrentReferenceAndUpdate((RefFrame) selected.get(0));
+            simulator.getDisplayCanvas().resetOrigin();
+            simulator.updateAll();
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: open the editor on the selected frame if it is a single changeable one
+    private void editSelected() {
+        List<PhysicalObject> selected = getSelectedDataSources();
+        if (selected.size() == 1 && FrameTableModel.isChangeable(selected.get(0))) {
+            editor.display((RefFrame) selected.get(0));
+        }
+    }
+
+    // MODIFIES: this, simulator
+    // EFFECTS: remove the selected changeable frames that are still in the frameWorld of simulator, and the events
+    //          observed in them, from that frameWorld
+    private void removeSelected() {
+        List<PhysicalObject> removedFrames = new ArrayList<>();
+        List<PhysicalEvent> removedEvents = new ArrayList<>();
+        for (PhysicalObject next : getSelectedDataSources()) {
+            if (FrameTableModel.isChangeable(next)
+                    && simulator.getFrameWorld().findFrameByName(next.getName()) == next) {
+                removedEvents.addAll(simulator.getFrameWorld().deleteFrame((RefFrame) next));
+                removedFrames.add(next);
+            }
         }
+        simulator.getEventListPanel().deleteElementsOf(removedEvents);
+        deleteElementsOf(removedFrames);
+        simulator.updateAll();
+    }
 
-        super.deleteElement(objectToDelete);
+    // REQUIRES: newFrame is successfully added to FrameWorld in simulator
+    // MODIFIES: this
+    // EFFECTS: add a new row for newFrame to this
+    @Override
+    public void addNewElement(PhysicalObject newFrame) {
+        addPhysicalObjectElement(newFrame);
     }
 
     public FrameEditor getEditor() {
@@ -0,0 +1,68 @@
+package ui.panels.display;
+
+import java.awt.Color;
+import java.awt.Graphics;
+import java.awt.Rectangle;
+
+/*Number of objects falling into each square bucket of pixels of the display canvas around a visible area. It is
+ *filled in one pass over the visible objects and drawn as one mark per non-empty bucket, brighter the more objects it
+ *holds, so that a zoomed-out world costs one mark per bucket instead of a labeled box per object. Buckets are laid on a
+ *grid anchored at the origin of the canvas and their brightness does not depend on other buckets, so that a part of
+ *the canvas drawn again looks exactly the same as when the whole canvas is drawn*/
+class DensityMap {
+    static final int BUCKET_SIZE = 4; // width and height of a bucket in pixels
+    private static final int SHADES = 16; // number of different brightnesses of marks
+    private static final int MIN_ALPHA = 64; // opacity of the mark of a bucket holding a single object
+    private static final double SATURATION_COUNT = 1024; // number of objects in a bucket drawn fully opaque
+
+    private final int anchorX;
+    private final int anchorY;
+    private final int firstColumn; // column of the grid of the first bucket, counted from the anchor
+    private final int firstRow; // row of the grid of the first bucket, counted from the anchor
+    private final int columns;
+    private final int rows;
+    private final int[] counts; // counts of the buckets row by row
+
+    // EFFECTS: construct an empty map of the buckets of the grid anchored at (anchorX, anchorY) that intersect area
+    DensityMap(Rectangle area, int anchorX, int anchorY) {
+        this.anchorX = anchorX;
+        this.anchorY = anchorY;
+        this.firstColumn = Math.floorDiv(area.x - anchorX, BUCKET_SIZE);
+        this.firstRow = Math.floorDiv(area.y - anchorY, BUCKET_SIZE);
+        this.columns = Math.floorDiv(area.x + area.width - 1 - anchorX, BUCKET_SIZE) - firstColumn + 1;
+        this.rows = Math.floorDiv(area.y + area.height - 1 - anchorY, BUCKET_SIZE) - firstRow + 1;
+        this.counts = new int[Math.max(0, columns * rows)];
+    }
+
+    // MODIFIES: this
+    // EFFECTS: count an object drawn at (x, y) and return true if its bucket is in this, otherwise return false
+    boolean add(double x, double y) {
+        int column = (int) Math.floor((x - anchorX) / BUCKET_SIZE) - firstColumn;
+        int row = (int) Math.floor((y - anchorY) / BUCKET_SIZE) - firstRow;
+        if (column < 0 || row < 0 || column >= columns || row >= rows) {
+            return false;
+        }
+        counts[row * columns + column]++;
+        return true;
+    }
+
+    // MODIFIES: graphics
+    // EFFECTS: draw a mark in color for every non-empty bucket, whose opacity grows with the logarithm of its count
+    //          up to SATURATION_COUNT
+    void paint(Graphics graphics, Color color) {
+        Color[] shades = new Color[SHADES];
+        for (int i = 0; i < SHADES; i++) {
+            int alpha = MIN_ALPHA + (255 - MIN_ALPHA) * i / (SHADES - 1);
+            shades[i] = new Color(color.getRed(), color.getGreen(), color.getBlue(), alpha);
+        }
+        double logSaturation = Math.log(SATURATION_COUNT);
+        for (int bucket = 0; bucket < counts.length; bucket++) {
+            if (counts[bucket] > 0) {
+                double brightness = Math.min(1, Math.log(counts[bucket]) / logSaturation);
+                graphics.setColor(shades[(int) ((SHADES - 1) * brightness)]);
+                graphics.fillRect(anchorX + (firstColumn + bucket % columns) * BUCKET_SIZE,
+                        anchorY + (firstRow + bucket / columns) * BUCKET_SIZE, BUCKET_SIZE, BUCKET_SIZE);
+            }
+        }
+    }
+}
@@ -1,8 +1,8 @@
 package ui.panels.display;
 
-import model.PhysicalEvent;
-import model.PhysicalObject;
+import model.FrameWorld;
 import model.RefFrame;
+import model.WorldView;
 import ui.GraphicRelativitySimulator;
 import ui.panels.containers.ContainerPanel;
 
@@ -10,13 +10,18 @@ import javax.swing.*;
 import javax.swing.event.MouseInputListener;
 import java.awt.*;
 import java.awt.event.MouseEvent;
-import java.util.List;
+import java.awt.event.MouseWheelEvent;
+import java.awt.event.MouseWheelListener;
 
-/*Canvas for displaying the visualized frames and events*/
-public class DisplayCanvas extends JPanel implements MouseInputListener {
+/*Canvas for displaying the visualized frames and events, rendered on a background thread (see RenderPipeline)*/
+public class DisplayCanvas extends JPanel implements MouseInputListener, MouseWheelListener {
     public static final String REFERENCE_FRAME_INDICATOR = "[CURRENT REFERENCE]";
     public static final String EVENT_UNOCCURRED_INDICATOR = "???";
-    public static final double STEP = 2.5;
+    public static final double STEP = 2.5; // pixels per c*s when not zoomed
+    public static final double ZOOM_FACTOR = 1.25; // change of zoom per notch of the mouse wheel
+    public static final double MIN_ZOOM = 1e-4;
+    public static final double MAX_ZOOM = 20;
+    public static final double LABEL_ZOOM = 0.75; // zoom below which objects are drawn as density marks
     public static final int WIDTH = (int) (GraphicRelativitySimulator.WIDTH - ContainerPanel.WIDTH);
     public static final int HEIGHT = ((int) GraphicRelativitySimulator.WIDTH / 2 - 260);
     public static final int MARGIN = 10;
@@ -25,129 +30,130 @@ public class DisplayCanvas extends JPanel implements MouseInputListener {
     public static final Color REF_FRAME_COLOR = Color.WHITE;
     public static final Color EVENT_COLOR_OCCURRED = Color.GREEN;
     public static final Color EVENT_COLOR_NOT_OCCURRED = Color.LIGHT_GRAY;
+    public static final Color COUNTER_COLOR = Color.DARK_GRAY;
 
     private GraphicRelativitySimulator simulator;
     private Point origin;
     private Point startDragDistance;
     private boolean showEvents;
+    private double zoom; // scale of both positions and rows relative to STEP and FRAME_SEPARATION
+    private RenderPipeline pipeline; // renders frames and events off the event dispatch thread
+    private WorldView view; // frames and events of viewWorld in viewReference, handed to the render thread
+    private FrameWorld viewWorld;
+    private long viewObjectsVersion; // objects version of viewWorld when view was taken
+    private RefFrame viewReference;
+    private boolean showsPlaybackTime; // whether playbackTime is shown instead of the proper time of the reference
+    private double playbackTime;
+    private String playbackStatus; // line shown above the counters while playing, or null
 
     // constructor
-    // EFFECTS: set the black background for this
+    // EFFECTS: set the black background for this and start rendering it in the background
     public DisplayCanvas(GraphicRelativitySimulator simulator) {
         this.simulator = simulator;
         this.origin = new Point(WIDTH / 2, HEIGHT / 2);
         this.showEvents = true;
+        this.zoom = 1;
+        this.pipeline = new RenderPipeline(this);
         this.setPreferredSize(new Dimension(WIDTH, HEIGHT));
         this.setBackground(Color.BLACK);
         addMouseMotionListener(this);
         addMouseListener(this);
+        addMouseWheelListener(this);
     }
 
     // MODIFIES: this, graphics
-    // EFFECTS: paint frames and events on the black background
+    // EFFECTS: ask the render pipeline for a frame of the current state of this and its frameWorld, draw the latest
+    //          frame it has finished on the black background, then show the counters of the pipeline
     @Override
     public void paint(Graphics graphics) {
         super.paint(graphics);
-
-        int counter;
-        // paint all frames
-        List<PhysicalObject> frames = simulator.getFrameWorld().getFrameList();
-        int indexOfRef = frames.indexOf(simulator.getFrameWorld().getCurrentReference());
-        counter = 0;
-        for (PhysicalObject nextFrame : frames) {
-            boolean isReference = nextFrame.equals(simulator.getFrameWorld().getCurrentReference());
-            paintFrame(graphics, (RefFrame) nextFrame, FRAME_SEPARATION * (counter - indexOfRef), isReference);
-            counter++;
-        }
-
-        // paint all events if showEvents is selected
-        if (showEvents) {
-            List<PhysicalObject> events = simulator.getFrameWorld().getEventList();
-            int indexOfMid = events.size() / 2;
-            counter = 0;
-            for (PhysicalObject nextEvent : events) {
-                paintEvent(graphics, (PhysicalEvent) nextEvent, FRAME_SEPARATION * ((counter++) - indexOfMid));
-            }
+        if (getWidth() > 0 && getHeight() > 0) {
+            FrameWorld frameWorld = simulator.getFrameWorld();
+            double properTime = showsPlaybackTime ? playbackTime : frameWorld.getCurrentReference().getProperTime();
+            pipeline.submit(new RenderRequest(viewOf(frameWorld), properTime, origin, zoom, showEvents, getWidth(),
+                    getHeight(), getFont(), getBackground()));
         }
+        pipeline.paintFront(graphics, origin.x, origin.y);
+        paintCounters(graphics);
     }
 
-    // MODIFIES: graphics, this
-    // EFFECTS: paint the oval frame, name, occur time and occur position for the Event object
-    @SuppressWarnings("methodlength")
-    private void paintEvent(Graphics graphics, PhysicalEvent physicalEvent, int posY) {
-        String occurredStatus;
-        String name = "Event: " + physicalEvent.getName();
-        if (physicalEvent.hasOccurred()) {
-            graphics.setColor(EVENT_COLOR_OCCURRED);
-            occurredStatus = "(" + PhysicalObject.roundUp(physicalEvent.getCurrentOccurX()) + "c*s, "
-                    + PhysicalObject.roundUp(physicalEvent.getCurrentOccurTime()) + "s)";
-        } else {
-            graphics.setColor(EVENT_COLOR_NOT_OCCURRED);
-            occurredStatus = EVENT_UNOCCURRED_INDICATOR;
+    // MODIFIES: this
+    // EFFECTS: return a view of the frames and events of frameWorld in its current reference frame, taken again only
+    //          if they or the reference frame changed since it was last taken, since a view holds at any proper time
+    //          of its reference frame
+    private WorldView viewOf(FrameWorld frameWorld) {
+        if (view == null || frameWorld != viewWorld || frameWorld.getObjectsVersion() != viewObjectsVersion
+                || frameWorld.getCurrentReference() != viewReference) {
+            view = new WorldView(frameWorld);
+            viewWorld = frameWorld;
+            viewObjectsVersion = frameWorld.getObjectsVersion(); // taking the events may page them in
+            viewReference = frameWorld.getCurrentReference();
         }
+        return view;
+    }
 
-        int lineHeight = graphics.getFontMetrics().getHeight();
-
-        int containerHeight = 2 * lineHeight + MARGIN;
-        int nameStringLength = (int) graphics.getFontMetrics().getStringBounds(name, graphics).getWidth();
-        int statusStringLength = (int) graphics.getFontMetrics().getStringBounds(occurredStatus, graphics).getWidth();
-
-        int maxLength = Math.max(nameStringLength, statusStringLength) + 2 * MARGIN;
-
-        int coordinateX = (int) (origin.getX() + STEP * physicalEvent.getCurrentOccurX() - maxLength / 2);
-        int coordinateY = (int) (origin.getY() + posY - lineHeight);
-
-        graphics.fillOval(coordinateX, coordinateY, maxLength, containerHeight);
-        graphics.setColor(Color.BLACK);
-        graphics.drawString(name, coordinateX + (maxLength - nameStringLength) / 2,
-                coordinateY + lineHeight);
-        graphics.drawString(occurredStatus, coordinateX + (maxLength - statusStringLength) / 2,
-                coordinateY + 2 * lineHeight);
+    // MODIFIES: this
+    // EFFECTS: show the frames and events as they are when the reference frame reads playbackTime, which may lie
+    //          between two proper times the frameWorld was actually set to while playing
+    public void showPlaybackTime(double playbackTime) {
+        this.showsPlaybackTime = true;
+        this.playbackTime = playbackTime;
+        repaint();
     }
 
+    // MODIFIES: this
+    // EFFECTS: show the frames and events at the current proper time of the reference frame again, and stop showing
+    //          the playback status
+    public void stopShowingPlayback() {
+        this.showsPlaybackTime = false;
+        this.playbackStatus = null;
+        repaint();
+    }
 
-    // MODIFIES: graphics, this
-    // EFFECTS: paint the rectangular frame, name, proper time and reference frame indicator
-    //          (if applicable) for the RefFrame object
-    @SuppressWarnings("methodlength")
-    private void paintFrame(Graphics graphics, RefFrame frame, int posY, boolean isReference) {
-        int startingLine = 1;
-        int maxLength;
-        int containerHeight;
-        String name = "Frame: " + frame.getName();
-        int nameStringLength = (int) graphics.getFontMetrics().getStringBounds(name, graphics).getWidth();
+    // MODIFIES: this
+    // EFFECTS: show status above the counters
+    public void setPlaybackStatus(String status) {
+        this.playbackStatus = status;
+    }
 
-        String time = "Time: " + PhysicalObject.roundUp(frame.getProperTime()) + "s";
-        int timeStringLength = (int) graphics.getFontMetrics().getStringBounds(time, graphics).getWidth();
+    // EFFECTS: return true if the last requested frame has not been rendered and shown yet
+    public boolean isRenderBusy() {
+        return pipeline.isBusy();
+    }
 
-        int indicatorLength = (int) graphics.getFontMetrics().getStringBounds(
-                REFERENCE_FRAME_INDICATOR, graphics).getWidth();
+    // MODIFIES: graphics
+    // EFFECTS: show how many objects were drawn and culled when the last frame was rendered in full, how long the
+    //          last frame took to render and how many frames were dropped, at the bottom left corner, with the
+    //          playback status above if any
+    private void paintCounters(Graphics graphics) {
+        graphics.setColor(COUNTER_COLOR);
+        if (playbackStatus != null) {
+            graphics.drawString(playbackStatus, MARGIN, getHeight() - MARGIN - graphics.getFontMetrics().getHeight());
+        }
+        graphics.drawString("Drawn: " + getDrawnCount() + ", culled: " + getCulledCount()
+                + String.format(", render: %.1f ms", getLastRenderMillis())
+                + ", dropped: " + getDroppedFrames(), MARGIN, getHeight() - MARGIN);
+    }
 
-        int lineHeight = graphics.getFontMetrics().getHeight();
+    public int getDrawnCount() {
+        return pipeline.getDrawnCount();
+    }
 
-        if (isReference) {
-            graphics.setColor(REF_FRAME_COLOR);
-            maxLength = Math.max(Math.max(nameStringLength, timeStringLength), indicatorLength) + 2 * MARGIN;
-            containerHeight = 3 * lineHeight + MARGIN;
-        } else {
-            graphics.setColor(NORMAL_FRAME_COLOR);
-            maxLength = Math.max(nameStringLength, timeStringLength) + 2 * MARGIN;
-            containerHeight = 2 * lineHeight + MARGIN;
-        }
+    public int getCulledCount() {
+        return pipeline.getCulledCount();
+    }
 
-        int coordinateX = (int) (origin.getX() + STEP * frame.getPosX() - maxLength / 2);
-        int coordinateY = (int) (origin.getY() + posY - lineHeight);
+    // EFFECTS: return the time taken to render the last frame in milliseconds
+    public double getLastRenderMillis() {
+        return pipeline.getLastRenderMillis();
+    }
 
-        if (isReference) {
-            graphics.drawString(REFERENCE_FRAME_INDICATOR, coordinateX + (maxLength - indicatorLength) / 2,
-                    coordinateY + (startingLine++) * lineHeight);
-        }
+    public long getRenderedFrames() {
+        return pipeline.getRenderedFrames();
+    }
 
-        graphics.drawRect(coordinateX, coordinateY, maxLength, containerHeight);
-        graphics.drawString(name, coordinateX + (maxLength - nameStringLength) / 2,
-                coordinateY + (startingLine++) * lineHeight);
-        graphics.drawString(time, coordinateX + (maxLength - timeStringLength) / 2,
-                coordinateY + startingLine * lineHeight);
+    public long getDroppedFrames() {
+        return pipeline.getDroppedFrames();
     }
 
     // MODIFIES: this
@@ -180,6 +186,20 @@ public class DisplayCanvas extends JPanel implements MouseInputListener {
         repaint();
     }
 
+    // MODIFIES: this
+    // EFFECTS: zoom in or out by ZOOM_FACTOR per notch of the mouse wheel, within MIN_ZOOM and MAX_ZOOM, keeping the
+    //          point under the mouse in place
+    @Override
+    public void mouseWheelMoved(MouseWheelEvent e) {
+        double newZoom = Math.max(MIN_ZOOM, Math.min(MAX_ZOOM,
+                zoom * Math.pow(ZOOM_FACTOR, -e.getPreciseWheelRotation())));
+        double factor = newZoom / zoom;
+        origin.setLocation(e.getX() - (e.getX() - origin.getX()) * factor,
+                e.getY() - (e.getY() - origin.getY()) * factor);
+        zoom = newZoom;
+        repaint();
+    }
+
     @Override
     public void mouseMoved(MouseEvent e) {
         // default action
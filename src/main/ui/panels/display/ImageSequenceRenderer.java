@@ -0,0 +1,121 @@
+package ui.panels.display;
+
+import model.WorldView;
+import persistence.TimeSeriesExporter;
+
+import javax.imageio.ImageIO;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/*Renderer of the display canvas over a range of proper times of the reference frame into a sequence of PNG images,
+ *with the same drawing code as the display canvas but no display: it runs headless on BufferedImages.
+ *The ticks are split into disjoint slices of consecutive times, one per thread, and the slices are rendered in
+ *parallel. Each slice reads the frames and events from the WorldView it is given, which is immutable and tells their
+ *state at any proper time, so no slice changes or waits for anything another slice uses; each slice has its own
+ *renderer (with its own labels) and image. Image k of the sequence shows the world at startTime + k * step and is
+ *named with k padded with zeros, so that the images sort in order*/
+public class ImageSequenceRenderer {
+    public static final String FILE_NAME_FORMAT = "frame_%06d.png";
+    public static final Font FONT = new Font(Font.DIALOG, Font.PLAIN, 12);
+
+    private File directory;
+    private int width;
+    private int height;
+    private double zoom;
+    private boolean showEvents;
+    private int threads;
+
+    // EFFECTS: create a renderer writing into directory images of the size of the display canvas, not zoomed, with
+    //          events shown, on as many threads as there are processors
+    public ImageSequenceRenderer(String directory) {
+        this(directory, DisplayCanvas.WIDTH, DisplayCanvas.HEIGHT, 1, true,
+                Runtime.getRuntime().availableProcessors());
+    }
+
+    // REQUIRES: width > 0, height > 0, zoom > 0, threads > 0
+    // EFFECTS: create a renderer writing into directory images of the given size and zoom, showing events if
+    //          showEvents, on the given number of threads
+    public ImageSequenceRenderer(String directory, int width, int height, double zoom, boolean showEvents,
+                                 int threads) {
+        this.directory = new File(directory);
+        this.width = width;
+        this.height = height;
+        this.zoom = zoom;
+        this.showEvents = showEvents;
+        this.threads = threads;
+    }
+
+    // MODIFIES: files in directory
+    // EFFECTS: render view at the reference proper times startTime, startTime + step, ... up to endTime, with the
+    //          reference frame in the middle of each image, into one PNG file per time in directory (created if
+    //          needed, replacing files of the same names), and return the number of images written
+    //          throws IllegalArgumentException if step is not positive or endTime is before startTime
+    //          throws IOException if the directory or an image cannot be written
+    public long render(WorldView view, double startTime, double endTime, double step) throws IOException {
+        long ticks = TimeSeriesExporter.tickCount(startTime, endTime, step);
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            throw new IOException("Cannot create directory " + directory);
+        }
+        int slices = (int) Math.min(threads, ticks);
+        ExecutorService executor = Executors.newFixedThreadPool(slices);
+        try {
+            List<Future<Void>> results = new ArrayList<>();
+            for (int slice = 0; slice < slices; slice++) {
+                long first = ticks * slice / slices;
+                long end = ticks * (slice + 1) / slices;
+                results.add(executor.submit(() -> renderSlice(view, startTime, step, first, end)));
+            }
+            for (Future<Void> result : results) {
+                waitFor(result);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        return ticks;
+    }
+
+    // MODIFIES: files in directory
+    // EFFECTS: render the images of the ticks in [first, end) one after another into one image, writing each out
+    private Void renderSlice(WorldView view, double startTime, double step, long first, long end) throws IOException {
+        SceneRenderer renderer = new SceneRenderer();
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Rectangle area = new Rectangle(0, 0, width, height);
+        Point origin = new Point(width / 2, height / 2);
+        for (long k = first; k < end; k++) {
+            renderer.render(image, area, new RenderRequest(view, startTime + k * step, origin, zoom, showEvents,
+                    width, height, FONT, Color.BLACK));
+            File file = new File(directory, String.format(FILE_NAME_FORMAT, k));
+            if (!ImageIO.write(image, "png", file)) {
+                throw new IOException("No PNG writer available for " + file);
+            }
+        }
+        return null;
+    }
+
+    // EFFECTS: wait for result; rethrow the IOException or unchecked exception it failed with
+    //          throws IOException if interrupted while waiting
+    private static void waitFor(Future<Void> result) throws IOException {
+        try {
+            result.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while rendering", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            } else if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new IOException(cause);
+        }
+    }
+}
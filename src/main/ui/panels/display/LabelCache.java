@@ -0,0 +1,119 @@
+package ui.panels.display;
+
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/*Cache of the labels drawn on the display canvas and their widths in one font, so that painting does not measure
+ *them again and again: name labels are kept by name (a renamed object simply gets a new entry, and entries not used
+ *for a while are dropped), while labels that change on every paint, like times and positions, are measured from a
+ *table of the widths of single characters. Everything is dropped when the font changes.
+ *Labels are kept as text rather than as pre-rendered images: the canvas is rendered into a BufferedImage by software
+ *loops, where drawString already copies glyphs rasterized once from the glyph cache of the font and only touches the
+ *pixels of the glyphs, while copying a transparent image of a label blends every pixel of its box. Measured on a
+ *text-heavy scene, drawing labels from such images took about 1.5 times as long per frame as drawing them as text*/
+class LabelCache {
+    private static final int MAX_LABELS = 4096; // number of name labels kept for each kind of object
+    private static final int GLYPH_TABLE_SIZE = 128; // characters whose widths are kept in the table
+
+    private Font font;
+    private FontMetrics metrics;
+    private int lineHeight;
+    private int[] glyphWidths;
+    private Map<String, Label> frameLabels; // labels of frames keyed by the names of the frames
+    private Map<String, Label> eventLabels; // labels of events keyed by the names of the events
+    private Label referenceIndicator;
+
+    // EFFECTS: construct an empty cache with no font yet
+    LabelCache() {
+        frameLabels = new LruMap();
+        eventLabels = new LruMap();
+    }
+
+    // MODIFIES: this
+    // EFFECTS: measure labels with metrics from now on; if the font of metrics differs from the previous one, drop
+    //          all labels and widths measured so far
+    void useMetrics(FontMetrics metrics) {
+        if (metrics.getFont().equals(font)) {
+            return;
+        }
+        this.font = metrics.getFont();
+        this.metrics = metrics;
+        this.lineHeight = metrics.getHeight();
+        this.glyphWidths = new int[GLYPH_TABLE_SIZE];
+        for (char c = 0; c < GLYPH_TABLE_SIZE; c++) {
+            glyphWidths[c] = metrics.charWidth(c);
+        }
+        frameLabels.clear();
+        eventLabels.clear();
+        referenceIndicator = new Label(DisplayCanvas.REFERENCE_FRAME_INDICATOR);
+    }
+
+    // REQUIRES: useMetrics has been called
+    // EFFECTS: return the label showing the name of the frame named name
+    Label frameLabel(String name) {
+        return frameLabels.computeIfAbsent(name, key -> new Label("Frame: " + key));
+    }
+
+    // REQUIRES: useMetrics has been called
+    // EFFECTS: return the label showing the name of the event named name
+    Label eventLabel(String name) {
+        return eventLabels.computeIfAbsent(name, key -> new Label("Event: " + key));
+    }
+
+    // REQUIRES: useMetrics has been called
+    // EFFECTS: return the label marking the current reference frame
+    Label referenceIndicator() {
+        return referenceIndicator;
+    }
+
+    // REQUIRES: useMetrics has been called
+    // EFFECTS: return the width of text, adding up the widths of its characters from the table
+    int widthOf(String text) {
+        int width = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            width += c < GLYPH_TABLE_SIZE ? glyphWidths[c] : metrics.charWidth(c);
+        }
+        return width;
+    }
+
+    // REQUIRES: useMetrics has been called
+    int getLineHeight() {
+        return lineHeight;
+    }
+
+    /*Text of a label together with its width in the font of the cache*/
+    class Label {
+        private final String text;
+        private final int width;
+
+        // EFFECTS: construct a label of text, measuring it once
+        Label(String text) {
+            this.text = text;
+            this.width = metrics.stringWidth(text);
+        }
+
+        String getText() {
+            return text;
+        }
+
+        int getWidth() {
+            return width;
+        }
+    }
+
+    /*Map keeping at most MAX_LABELS entries, dropping the least recently used one beyond that*/
+    private static class LruMap extends LinkedHashMap<String, Label> {
+        // EFFECTS: construct an empty map in access order
+        LruMap() {
+            super(16, 0.75f, true);
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Label> eldest) {
+            return size() > MAX_LABELS;
+        }
+    }
+}
@@ -9,19 +9,40 @@ import javax.swing.*;
 import java.awt.*;
 
 /*Controller of the current reference frame;
-responsible for setting the proper time (and therefore play the program)*/
+responsible for setting the proper time (and therefore play the program).
+Playing advances the proper time by the wall-clock time elapsed since the last tick times the playback rate, so that
+the simulation keeps real-time speed however late the ticks come. Ticks are paced to the refresh rate of the screen
+and only move the time shown by the display, which shows the frames and events at any time in between from the view
+it already has; setting the frameWorld to the played time, which views every frame and event again and updates the
+lists, is a simulation step taken only every SIMULATION_INTERVAL. A tick whose frame the display has not finished
+rendering yet is skipped rather than queued, so that the display falls behind by frames but never by time*/
 public class ReferenceController extends JPanel {
     public static final int HEIGHT = 50;
-    public static final int TIMER_INTERVAL = 30;
+    public static final int TIMER_INTERVAL = 16; // milliseconds between ticks if the refresh rate is unknown
+    public static final int SIMULATION_INTERVAL = 100; // milliseconds between simulation steps while playing
+    public static final double DEFAULT_RATE = 1000.0 / 30; // simulated seconds per wall-clock second: 1 s every 30 ms
+    public static final double MIN_RATE = 0.001;
+    public static final double MAX_RATE = 1e9;
+    private static final double LATENCY_SMOOTHING = 0.1; // weight of the latest tick in the average tick latency
 
     private JLabel nameLabel;
     private JTextField properTimeDatum;
     private JButton confirmButton;
     private JButton playButton;
+    private JSpinner rateDatum;
     private RefFrame currentReference;
-    private int currentTimerStep;
+    private int direction; // 1 when playing forwards, -1 when playing backwards
+    private double rate; // simulated seconds per wall-clock second
 
     private Timer timer;
+    private double playbackTime; // proper time of the reference frame being played
+    private long lastTickNanos;
+    private long lastStepNanos;
+    private long fpsWindowNanos; // start of the window frames per second are counted in
+    private long fpsWindowFrames; // number of frames rendered by the display canvas before the window
+    private double framesPerSecond;
+    private double tickLatencyMillis; // average delay of ticks beyond the timer interval
+    private long skippedFrames;
 
     private GraphicRelativitySimulator simulator;
 
@@ -42,7 +63,9 @@ public class ReferenceController extends JPanel {
         properTimeDatum = new JTextField();
         confirmButton = new JButton("Set proper time");
         playButton = new JButton("Play");
-        currentTimerStep = 1;
+        direction = 1;
+        rate = DEFAULT_RATE;
+        rateDatum = new JSpinner(new SpinnerNumberModel(DEFAULT_RATE, MIN_RATE, MAX_RATE, 1.0));
     }
 
     // MODIFIES: this
@@ -59,7 +82,12 @@ public class ReferenceController extends JPanel {
         properTimePanel.add(properTimeDatum, BorderLayout.CENTER);
         properTimePanel.add(confirmButton, BorderLayout.EAST);
         add(properTimePanel, BorderLayout.CENTER);
-        add(playButton, BorderLayout.EAST);
+
+        JPanel playPanel = new JPanel(new BorderLayout());
+        playPanel.add(new JLabel("Speed(s/s): "), BorderLayout.WEST);
+        playPanel.add(rateDatum, BorderLayout.CENTER);
+        playPanel.add(playButton, BorderLayout.EAST);
+        add(playPanel, BorderLayout.EAST);
     }
 
 
@@ -79,23 +107,97 @@ public class ReferenceController extends JPanel {
             }
         });
 
-        this.timer = new Timer(TIMER_INTERVAL, e -> {
-            setNewProperTime(currentReference.getProperTime() + currentTimerStep);
-        });
+        this.timer = new Timer(tickInterval(), e -> tick());
+        this.timer.setCoalesce(true);
+
+        this.rateDatum.addChangeListener(e -> rate = ((Number) rateDatum.getValue()).doubleValue());
 
         this.playButton.addActionListener(e -> {
             if (timer.isRunning()) {
-                timer.stop();
-                this.playButton.setText("Play");
-                this.properTimeDatum.setEnabled(true);
+                pause();
             } else {
-                timer.start();
-                this.playButton.setText("Pause");
-                this.properTimeDatum.setEnabled(false);
+                play();
             }
         });
     }
 
+    // EFFECTS: return the milliseconds between two refreshes of the screen, or TIMER_INTERVAL if it is unknown
+    private static int tickInterval() {
+        if (GraphicsEnvironment.isHeadless()) {
+            return TIMER_INTERVAL;
+        }
+        int refreshRate = GraphicsEnvironment.getLocalGraphicsEnvironment().getDefaultScreenDevice().getDisplayMode()
+                .getRefreshRate();
+        return refreshRate == DisplayMode.REFRESH_RATE_UNKNOWN ? TIMER_INTERVAL : Math.max(1, 1000 / refreshRate);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: start playing from the current proper time of the reference frame
+    private void play() {
+        playbackTime = currentReference.getProperTime();
+        lastTickNanos = System.nanoTime();
+        lastStepNanos = lastTickNanos;
+        fpsWindowNanos = lastTickNanos;
+        fpsWindowFrames = simulator.getDisplayCanvas().getRenderedFrames();
+        framesPerSecond = 0;
+        tickLatencyMillis = 0;
+        skippedFrames = 0;
+        timer.start();
+        this.playButton.setText("Pause");
+        this.properTimeDatum.setEnabled(false);
+    }
+
+    // MODIFIES: this, simulator
+    // EFFECTS: stop playing and set the frameWorld to the proper time played so far
+    private void pause() {
+        timer.stop();
+        setNewProperTime(playbackTime);
+        simulator.getDisplayCanvas().stopShowingPlayback();
+        simulator.getSpacetimeDiagram().stopShowingPlayback();
+        this.playButton.setText("Play");
+        this.properTimeDatum.setEnabled(true);
+    }
+
+    // MODIFIES: this, simulator
+    // EFFECTS: advance the played time by the wall-clock time since the last tick at the playback rate; take a
+    //          simulation step if SIMULATION_INTERVAL has passed since the last one; show the played time on the
+    //          display unless the display canvas is still rendering the previous frame, in which case the frame is
+    //          skipped; then update the playback status
+    private void tick() {
+        long now = System.nanoTime();
+        double elapsedMillis = (now - lastTickNanos) / 1e6;
+        lastTickNanos = now;
+        tickLatencyMillis += LATENCY_SMOOTHING * (Math.max(0, elapsedMillis - timer.getDelay()) - tickLatencyMillis);
+        playbackTime += direction * rate * elapsedMillis / 1000;
+        if (now - lastStepNanos >= SIMULATION_INTERVAL * 1_000_000L) {
+            lastStepNanos = now;
+            setNewProperTime(playbackTime);
+        }
+        DisplayCanvas displayCanvas = simulator.getDisplayCanvas();
+        if (displayCanvas.isShowing() && displayCanvas.isRenderBusy()) {
+            skippedFrames++;
+        } else {
+            displayCanvas.showPlaybackTime(playbackTime);
+            simulator.getSpacetimeDiagram().showPlaybackTime(playbackTime);
+        }
+        updatePlaybackStatus(now);
+    }
+
+    // MODIFIES: this, simulator
+    // EFFECTS: count the frames per second rendered by the display canvas over windows of a second, and show them
+    //          with the average tick latency and the number of skipped frames on the display canvas
+    private void updatePlaybackStatus(long now) {
+        DisplayCanvas displayCanvas = simulator.getDisplayCanvas();
+        if (now - fpsWindowNanos >= 1_000_000_000L) {
+            long frames = displayCanvas.getRenderedFrames();
+            framesPerSecond = (frames - fpsWindowFrames) * 1e9 / (now - fpsWindowNanos);
+            fpsWindowFrames = frames;
+            fpsWindowNanos = now;
+        }
+        displayCanvas.setPlaybackStatus(String.format("FPS: %.1f, tick latency: %.1f ms, skipped: %d",
+                framesPerSecond, tickLatencyMillis, skippedFrames));
+    }
+
     // MODIFIES: this, simulator
     // EFFECTS: set simulator' s reference frame time to new proper time
     private void setNewProperTime(double newProperTime) {
@@ -104,8 +206,12 @@ public class ReferenceController extends JPanel {
     }
 
     // MODIFIES: this
-    // EFFECTS: display the information of the currentReference frame
+    // EFFECTS: display the information of the currentReference frame; if it is another frame than before while
+    //          playing, go on playing from its current proper time
     public void setCurrentReference(RefFrame currentReference) {
+        if (timer != null && timer.isRunning() && currentReference != this.currentReference) {
+            playbackTime = currentReference.getProperTime();
+        }
         this.currentReference = currentReference;
         this.nameLabel.setText("Current Reference Frame: " + currentReference.getName());
         this.properTimeDatum.setText(String.valueOf(PhysicalObject.roundUp(currentReference.getProperTime())));
@@ -114,6 +220,6 @@ public class ReferenceController extends JPanel {
     // MODIFIES: this
     // EFFECTS: reverse the propagation direction of the timer
     public void reverseTimer() {
-        currentTimerStep = -currentTimerStep;
+        direction = -direction;
     }
 }
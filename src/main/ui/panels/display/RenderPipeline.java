@@ -0,0 +1,184 @@
+package ui.panels.display;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+
+/*Renders the display canvas on a background thread into one of two buffers, so that heavy scenes never keep the
+ *event dispatch thread from handling input. The event dispatch thread submits render requests and blits the front
+ *buffer; the render thread takes the latest request, renders it into the back buffer and asks the canvas to be
+ *painted again, on which the event dispatch thread swaps the two buffers. A request that is replaced by a newer one
+ *before the render thread takes it is never rendered and counts as a dropped frame.
+ *The render thread only writes into the back buffer and does not take another request until the buffers are swapped,
+ *and the event dispatch thread only reads the front buffer, so the buffers never need to be copied. When a request
+ *only moves the origin from the request shown in the front buffer, the front buffer is shifted into the back buffer
+ *and only the newly exposed strips are rendered*/
+class RenderPipeline implements Runnable {
+    private final Object lock = new Object();
+    private final Component target; // component painted again when a frame is ready
+    private final SceneRenderer renderer;
+    private final Thread thread;
+
+    // guarded by lock
+    private BufferedImage front;
+    private BufferedImage back;
+    private RenderRequest frontRequest; // request rendered in the front buffer
+    private RenderRequest readyRequest; // request rendered in the back buffer waiting for the swap, or null
+    private RenderRequest pendingRequest; // latest request the render thread has not taken yet, or null
+    private RenderRequest lastSubmitted;
+    private long renderedFrames;
+    private long droppedFrames;
+    private long lastRenderNanos;
+    private int drawnCount; // number of objects drawn when the last frame was rendered in full
+    private int culledCount; // number of objects skipped then because they were out of sight
+
+    // EFFECTS: construct a pipeline rendering for target and start its render thread
+    RenderPipeline(Component target) {
+        this.target = target;
+        this.renderer = new SceneRenderer();
+        this.thread = new Thread(this, "Display render thread");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    // MODIFIES: this
+    // EFFECTS: ask for request to be rendered unless it renders the same image as the last submitted one; a previous
+    //          request the render thread has not taken yet is dropped
+    void submit(RenderRequest request) {
+        synchronized (lock) {
+            if (request.sameAs(lastSubmitted)) {
+                return;
+            }
+            if (pendingRequest != null) {
+                droppedFrames++;
+            }
+            pendingRequest = request;
+            lastSubmitted = request;
+            lock.notifyAll();
+        }
+    }
+
+    // MODIFIES: this, graphics
+    // EFFECTS: swap the buffers if a frame is ready, then draw the front buffer shifted from its origin to (originX,
+    //          originY), so that dragging moves the picture at once even before a frame at the new origin is ready
+    void paintFront(Graphics graphics, int originX, int originY) {
+        synchronized (lock) {
+            if (readyRequest != null) {
+                BufferedImage ready = back;
+                back = front;
+                front = ready;
+                frontRequest = readyRequest;
+                readyRequest = null;
+                lock.notifyAll();
+            }
+            if (front != null) {
+                graphics.drawImage(front, originX - frontRequest.getOriginX(), originY - frontRequest.getOriginY(),
+                        null);
+            }
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: take the latest request, render it and hand it over for the swap, over and over
+    @Override
+    public void run() {
+        try {
+            while (true) {
+                RenderRequest request;
+                synchronized (lock) {
+                    while (pendingRequest == null || readyRequest != null) {
+                        lock.wait();
+                    }
+                    request = pendingRequest;
+                    pendingRequest = null;
+                }
+                render(request);
+                target.repaint();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: render request into the back buffer, shifting the front buffer into it if it shows the same scene at
+    //          another origin not too far away, otherwise rendering it in full; then mark it ready for the swap
+    @SuppressWarnings("methodlength")
+    private void render(RenderRequest request) {
+        BufferedImage image;
+        BufferedImage shown;
+        RenderRequest shownRequest;
+        synchronized (lock) {
+            image = back;
+            shown = front;
+            shownRequest = frontRequest;
+        }
+        long start = System.nanoTime();
+        int width = request.getWidth();
+        int height = request.getHeight();
+        int dx = shownRequest == null ? 0 : request.getOriginX() - shownRequest.getOriginX();
+        int dy = shownRequest == null ? 0 : request.getOriginY() - shownRequest.getOriginY();
+        if (image == null || image.getWidth() != width || image.getHeight() != height) {
+            image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        }
+        int fullDrawn = -1;
+        int fullTotal = 0;
+        if (request.sameSceneAs(shownRequest) && Math.abs(dx) < width && Math.abs(dy) < height) {
+            Graphics graphics = image.getGraphics();
+            graphics.drawImage(shown, dx, dy, null);
+            graphics.dispose();
+            renderer.render(image, new Rectangle(dx > 0 ? 0 : width + dx, 0, Math.abs(dx), height), request);
+            renderer.render(image, new Rectangle(0, dy > 0 ? 0 : height + dy, width, Math.abs(dy)), request);
+        } else {
+            fullTotal = renderer.render(image, new Rectangle(0, 0, width, height), request);
+            fullDrawn = renderer.getDrawnCount();
+        }
+        synchronized (lock) {
+            back = image;
+            readyRequest = request;
+            renderedFrames++;
+            lastRenderNanos = System.nanoTime() - start;
+            if (fullDrawn >= 0) {
+                drawnCount = fullDrawn;
+                culledCount = fullTotal - fullDrawn;
+            }
+        }
+    }
+
+    // EFFECTS: return true if the last submitted request has not been rendered and swapped to the front yet
+    boolean isBusy() {
+        synchronized (lock) {
+            return lastSubmitted != null && lastSubmitted != frontRequest;
+        }
+    }
+
+    // EFFECTS: return the time taken to render the last frame in milliseconds
+    double getLastRenderMillis() {
+        synchronized (lock) {
+            return lastRenderNanos / 1e6;
+        }
+    }
+
+    long getRenderedFrames() {
+        synchronized (lock) {
+            return renderedFrames;
+        }
+    }
+
+    long getDroppedFrames() {
+        synchronized (lock) {
+            return droppedFrames;
+        }
+    }
+
+    int getDrawnCount() {
+        synchronized (lock) {
+            return drawnCount;
+        }
+    }
+
+    int getCulledCount() {
+        synchronized (lock) {
+            return culledCount;
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package ui.panels.display;
+
+import model.WorldView;
+
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.Point;
+
+/*Everything needed to render the display canvas once, taken on the event dispatch thread so that it can be rendered
+ *on another: an immutable view of the frames and events, the proper time of the reference frame to show them at, and
+ *how they are shown (origin, zoom, whether events are shown, size, font and background)*/
+class RenderRequest {
+    private final WorldView view;
+    private final double properTime;
+    private final int originX;
+    private final int originY;
+    private final double zoom;
+    private final boolean showEvents;
+    private final int width;
+    private final int height;
+    private final Font font;
+    private final Color background;
+
+    // REQUIRES: width > 0, height > 0
+    // EFFECTS: construct a request to render view at properTime of its reference frame with the given settings
+    RenderRequest(WorldView view, double properTime, Point origin, double zoom, boolean showEvents, int width,
+                  int height, Font font, Color background) {
+        this.view = view;
+        this.properTime = properTime;
+        this.originX = origin.x;
+        this.originY = origin.y;
+        this.zoom = zoom;
+        this.showEvents = showEvents;
+        this.width = width;
+        this.height = height;
+        this.font = font;
+        this.background = background;
+    }
+
+    // EFFECTS: return true if other shows the same view at the same proper time in the same way, except maybe at a
+    //          different origin, so that an image of other can be shifted into one of this
+    boolean sameSceneAs(RenderRequest other) {
+        return other != null && view == other.view && properTime == other.properTime && zoom == other.zoom
+                && showEvents == other.showEvents && width == other.width && height == other.height
+                && font.equals(other.font) && background.equals(other.background);
+    }
+
+    // EFFECTS: return true if other would render exactly the same image as this
+    boolean sameAs(RenderRequest other) {
+        return sameSceneAs(other) && originX == other.originX && originY == other.originY;
+    }
+
+    WorldView getView() {
+        return view;
+    }
+
+    double getProperTime() {
+        return properTime;
+    }
+
+    int getOriginX() {
+        return originX;
+    }
+
+    int getOriginY() {
+        return originY;
+    }
+
+    double getZoom() {
+        return zoom;
+    }
+
+    boolean showsEvents() {
+        return showEvents;
+    }
+
+    int getWidth() {
+        return width;
+    }
+
+    int getHeight() {
+        return height;
+    }
+
+    Font getFont() {
+        return font;
+    }
+
+    Color getBackground() {
+        return background;
+    }
+}
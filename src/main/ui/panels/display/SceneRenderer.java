@@ -0,0 +1,243 @@
+package ui.panels.display;
+
+import model.PhysicalObject;
+import model.WorldView;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+
+import static ui.panels.display.DisplayCanvas.*;
+
+/*Drawing of the frames and events of the display canvas into an image, from the immutable view of a render request
+ *rather than from the frameWorld itself, so that it can run on any thread. Frames are drawn in the order of the frame
+ *list, one row each, with the reference frame at the origin; events likewise, with the middle one at the origin.
+ *A renderer keeps the labels it measured, so each thread drawing at the same time needs its own*/
+class SceneRenderer {
+    private LabelCache labelCache; // labels and their widths in the font of the last request, measured once
+    private WorldView indexedView; // view whose reference row was last looked up
+    private int referenceRow; // row of the reference frame in indexedView
+    private int drawnCount; // number of objects drawn since the last call to render
+
+    // EFFECTS: construct a renderer with no label measured yet
+    SceneRenderer() {
+        this.labelCache = new LabelCache();
+    }
+
+    // MODIFIES: this, image
+    // EFFECTS: clear area of image and draw there the frames and events of request that intersect it; return the
+    //          number of all frames and events (those drawn or not)
+    int render(BufferedImage image, Rectangle area, RenderRequest request) {
+        drawnCount = 0;
+        if (area.isEmpty()) {
+            return 0;
+        }
+        Graphics graphics = image.getGraphics();
+        graphics.setFont(request.getFont());
+        graphics.setClip(area);
+        graphics.setColor(request.getBackground());
+        graphics.fillRect(area.x, area.y, area.width, area.height);
+        labelCache.useMetrics(graphics.getFontMetrics());
+
+        // paint all frames
+        int total = paintFrames(graphics, area, request);
+        // paint all events if showEvents is selected
+        if (request.showsEvents()) {
+            total += paintEvents(graphics, area, request);
+        }
+        graphics.dispose();
+        return total;
+    }
+
+    // EFFECTS: return the number of objects drawn by the last call to render
+    int getDrawnCount() {
+        return drawnCount;
+    }
+
+    // MODIFIES: this, graphics
+    // EFFECTS: paint the frames in the rows inside visibleArea, as density marks when zoomed out apart from the
+    //          reference frame, which is always labeled; return the number of all frames
+    private int paintFrames(Graphics graphics, Rectangle visibleArea, RenderRequest request) {
+        WorldView view = request.getView();
+        double time = request.getProperTime();
+        int indexOfRef = referenceRowOf(view);
+        DensityMap densityMap = request.getZoom() < LABEL_ZOOM
+                ? new DensityMap(visibleArea, request.getOriginX(), request.getOriginY()) : null;
+        for (int row = firstVisibleRow(visibleArea, request, indexOfRef);
+                row <= lastVisibleRow(visibleArea, request, indexOfRef, view.getFrameCount()); row++) {
+            if (row == indexOfRef) {
+                continue;
+            }
+            int posY = rowPosY(request, row - indexOfRef);
+            if (densityMap == null ? paintFrame(graphics, visibleArea, request, row, posY, false)
+                    : densityMap.add(screenX(request, view.posXAt(row, time)), request.getOriginY() + posY)) {
+                drawnCount++;
+            }
+        }
+        if (densityMap != null) {
+            densityMap.paint(graphics, NORMAL_FRAME_COLOR);
+        }
+        if (paintFrame(graphics, visibleArea, request, indexOfRef, 0, true)) {
+            drawnCount++;
+        }
+        return view.getFrameCount();
+    }
+
+    // MODIFIES: this, graphics
+    // EFFECTS: paint the events in the rows inside visibleArea, as density marks when zoomed out; return the number
+    //          of all events
+    private int paintEvents(Graphics graphics, Rectangle visibleArea, RenderRequest request) {
+        WorldView view = request.getView();
+        int indexOfMid = view.getEventCount() / 2;
+        boolean zoomedOut = request.getZoom() < LABEL_ZOOM;
+        DensityMap occurred = zoomedOut
+                ? new DensityMap(visibleArea, request.getOriginX(), request.getOriginY()) : null;
+        DensityMap notOccurred = zoomedOut
+                ? new DensityMap(visibleArea, request.getOriginX(), request.getOriginY()) : null;
+        for (int row = firstVisibleRow(visibleArea, request, indexOfMid);
+                row <= lastVisibleRow(visibleArea, request, indexOfMid, view.getEventCount()); row++) {
+            int posY = rowPosY(request, row - indexOfMid);
+            if (!zoomedOut ? paintEvent(graphics, visibleArea, request, row, posY)
+                    : (view.hasOccurredAt(row, request.getProperTime()) ? occurred : notOccurred)
+                    .add(screenX(request, view.occurXOf(row)), request.getOriginY() + posY)) {
+                drawnCount++;
+            }
+        }
+        if (zoomedOut) {
+            notOccurred.paint(graphics, EVENT_COLOR_NOT_OCCURRED);
+            occurred.paint(graphics, EVENT_COLOR_OCCURRED);
+        }
+        return view.getEventCount();
+    }
+
+    // MODIFIES: this
+    // EFFECTS: return the row of the reference frame of view, looking it up only when view changes
+    private int referenceRowOf(WorldView view) {
+        if (view != indexedView) {
+            indexedView = view;
+            referenceRow = 0;
+            while (referenceRow < view.getFrameCount() - 1
+                    && !view.getFrameName(referenceRow).equals(view.getReferenceName())) {
+                referenceRow++;
+            }
+        }
+        return referenceRow;
+    }
+
+    // EFFECTS: return the horizontal position in the image of position posX in the reference frame
+    private static double screenX(RenderRequest request, double posX) {
+        return request.getOriginX() + STEP * request.getZoom() * posX;
+    }
+
+    // EFFECTS: return the vertical offset from the origin of the row that is rowsFromOrigin rows below the row at the
+    //          origin
+    private static int rowPosY(RenderRequest request, int rowsFromOrigin) {
+        return (int) Math.round(FRAME_SEPARATION * request.getZoom() * rowsFromOrigin);
+    }
+
+    // EFFECTS: return the first row, counted from 0, of objects drawn around the row originRow at the origin that can
+    //          reach into visibleArea
+    private int firstVisibleRow(Rectangle visibleArea, RenderRequest request, int originRow) {
+        int maxContainerHeight = 3 * labelCache.getLineHeight() + MARGIN;
+        double top = visibleArea.getY() - request.getOriginY() + labelCache.getLineHeight() - maxContainerHeight;
+        return Math.max(0, originRow + (int) Math.ceil(top / (FRAME_SEPARATION * request.getZoom())) - 1);
+    }
+
+    // EFFECTS: return the last of rowCount rows, drawn around the row originRow at the origin, that can reach into
+    //          visibleArea
+    private int lastVisibleRow(Rectangle visibleArea, RenderRequest request, int originRow, int rowCount) {
+        double bottom = visibleArea.getMaxY() - request.getOriginY() + labelCache.getLineHeight();
+        return Math.min(rowCount - 1,
+                originRow + (int) Math.floor(bottom / (FRAME_SEPARATION * request.getZoom())) + 1);
+    }
+
+    // MODIFIES: graphics, this
+    // EFFECTS: paint the oval frame, name, occur time and occur position of the given event of the view of request
+    //          if it intersects visibleArea; return true if it is painted
+    @SuppressWarnings("methodlength")
+    private boolean paintEvent(Graphics graphics, Rectangle visibleArea, RenderRequest request, int event, int posY) {
+        WorldView view = request.getView();
+        String occurredStatus;
+        LabelCache.Label name = labelCache.eventLabel(view.getEventName(event));
+        if (view.hasOccurredAt(event, request.getProperTime())) {
+            graphics.setColor(EVENT_COLOR_OCCURRED);
+            occurredStatus = "(" + PhysicalObject.roundUp(view.occurXOf(event)) + "c*s, "
+                    + PhysicalObject.roundUp(view.occurTimeOf(event)) + "s)";
+        } else {
+            graphics.setColor(EVENT_COLOR_NOT_OCCURRED);
+            occurredStatus = EVENT_UNOCCURRED_INDICATOR;
+        }
+
+        int lineHeight = labelCache.getLineHeight();
+
+        int containerHeight = 2 * lineHeight + MARGIN;
+        int nameStringLength = name.getWidth();
+        int statusStringLength = labelCache.widthOf(occurredStatus);
+
+        int maxLength = Math.max(nameStringLength, statusStringLength) + 2 * MARGIN;
+
+        int coordinateX = (int) Math.floor(screenX(request, view.occurXOf(event)) - maxLength / 2);
+        int coordinateY = request.getOriginY() + posY - lineHeight;
+        if (!visibleArea.intersects(coordinateX, coordinateY, maxLength, containerHeight)) {
+            return false;
+        }
+
+        graphics.fillOval(coordinateX, coordinateY, maxLength, containerHeight);
+        graphics.setColor(Color.BLACK);
+        graphics.drawString(name.getText(), coordinateX + (maxLength - nameStringLength) / 2,
+                coordinateY + lineHeight);
+        graphics.drawString(occurredStatus, coordinateX + (maxLength - statusStringLength) / 2,
+                coordinateY + 2 * lineHeight);
+        return true;
+    }
+
+    // MODIFIES: graphics, this
+    // EFFECTS: paint the rectangular frame, name, proper time and reference frame indicator (if applicable) of the
+    //          given frame of the view of request if it intersects visibleArea; return true if it is painted
+    @SuppressWarnings("methodlength")
+    private boolean paintFrame(Graphics graphics, Rectangle visibleArea, RenderRequest request, int frame, int posY,
+                               boolean isReference) {
+        WorldView view = request.getView();
+        int startingLine = 1;
+        int maxLength;
+        int containerHeight;
+        LabelCache.Label name = labelCache.frameLabel(view.getFrameName(frame));
+        int nameStringLength = name.getWidth();
+
+        String time = "Time: " + PhysicalObject.roundUp(view.properTimeAt(frame, request.getProperTime())) + "s";
+        int timeStringLength = labelCache.widthOf(time);
+
+        LabelCache.Label indicator = labelCache.referenceIndicator();
+        int indicatorLength = indicator.getWidth();
+
+        int lineHeight = labelCache.getLineHeight();
+
+        if (isReference) {
+            graphics.setColor(REF_FRAME_COLOR);
+            maxLength = Math.max(Math.max(nameStringLength, timeStringLength), indicatorLength) + 2 * MARGIN;
+            containerHeight = 3 * lineHeight + MARGIN;
+        } else {
+            graphics.setColor(NORMAL_FRAME_COLOR);
+            maxLength = Math.max(nameStringLength, timeStringLength) + 2 * MARGIN;
+            containerHeight = 2 * lineHeight + MARGIN;
+        }
+
+        int coordinateX = (int) Math.floor(screenX(request, view.posXAt(frame, request.getProperTime()))
+                - maxLength / 2);
+        int coordinateY = request.getOriginY() + posY - lineHeight;
+        if (!visibleArea.intersects(coordinateX, coordinateY, maxLength + 1, containerHeight + 1)) {
+            return false;
+        }
+
+        if (isReference) {
+            graphics.drawString(indicator.getText(), coordinateX + (maxLength - indicatorLength) / 2,
+                    coordinateY + (startingLine++) * lineHeight);
+        }
+
+        graphics.drawRect(coordinateX, coordinateY, maxLength, containerHeight);
+        graphics.drawString(name.getText(), coordinateX + (maxLength - nameStringLength) / 2,
+                coordinateY + (startingLine++) * lineHeight);
+        graphics.drawString(time, coordinateX + (maxLength - timeStringLength) / 2,
+                coordinateY + startingLine * lineHeight);
+        return true;
+    }
+}
@@ -0,0 +1,153 @@
+package ui.panels.display;
+
+import model.FrameWorld;
+import model.RefFrame;
+import model.WorldView;
+import ui.GraphicRelativitySimulator;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+
+/*Minkowski spacetime diagram of the frame world in the current reference frame: position across and time upwards, in
+ *the same scale so that light travels at 45 degrees. It shows the world line of every frame and every event as a
+ *point, with the light cone of the reference frame at its current proper time and the line of events simultaneous
+ *with it ("now").
+ *World lines and events do not depend on the proper time of the reference frame, so they are taken once into a
+ *WorldView and rendered into a layer that is kept until the reference frame or the frames and events change, or until
+ *the now line leaves the diagram; playing time only moves the now line and the light cone drawn over the layer*/
+public class SpacetimeDiagram extends JPanel {
+    public static final double SCALE = DisplayCanvas.STEP; // pixels per c*s across and per s upwards
+    public static final int EVENT_RADIUS = 3;
+    public static final double MAX_PIXEL = 1 << 20; // pixels farther than this off the diagram are drawn at it
+    public static final Color WORLD_LINE_COLOR = DisplayCanvas.NORMAL_FRAME_COLOR;
+    public static final Color REF_WORLD_LINE_COLOR = DisplayCanvas.REF_FRAME_COLOR;
+    public static final Color EVENT_COLOR = DisplayCanvas.EVENT_COLOR_OCCURRED;
+    public static final Color NOW_COLOR = Color.WHITE;
+    public static final Color LIGHT_CONE_COLOR = Color.YELLOW;
+
+    private GraphicRelativitySimulator simulator;
+    private WorldView geometry; // world lines and events in geometryReference
+    private FrameWorld geometryWorld; // frameWorld geometry was taken of
+    private long geometryVersion; // objects version of geometryWorld when geometry was taken
+    private RefFrame geometryReference;
+    private BufferedImage layer; // geometry rendered with centreTime at the vertical centre
+    private double centreTime;
+    private boolean showsPlaybackTime; // whether now is playbackTime instead of the proper time of the reference
+    private double playbackTime;
+
+    // constructor
+    // EFFECTS: construct an empty diagram of the frameWorld of simulator on a black background
+    public SpacetimeDiagram(GraphicRelativitySimulator simulator) {
+        this.simulator = simulator;
+        this.setPreferredSize(new Dimension(DisplayCanvas.WIDTH, DisplayCanvas.HEIGHT));
+        this.setBackground(Color.BLACK);
+    }
+
+    // MODIFIES: this, graphics
+    // EFFECTS: draw the layer of world lines and events, taking and rendering them again first if needed, then the
+    //          now line and the light cone at the current proper time of the reference frame
+    @Override
+    public void paint(Graphics graphics) {
+        super.paint(graphics);
+        FrameWorld frameWorld = simulator.getFrameWorld();
+        double now = showsPlaybackTime ? playbackTime : frameWorld.getCurrentReference().getProperTime();
+        updateLayer(frameWorld, now);
+        graphics.drawImage(layer, 0, 0, null);
+        paintNow(graphics, now);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: draw the now line and light cone at playbackTime of the reference frame, which may lie between two
+    //          proper times the frameWorld was actually set to while playing
+    public void showPlaybackTime(double playbackTime) {
+        this.showsPlaybackTime = true;
+        this.playbackTime = playbackTime;
+        repaint();
+    }
+
+    // MODIFIES: this
+    // EFFECTS: draw the now line and light cone at the current proper time of the reference frame again
+    public void stopShowingPlayback() {
+        this.showsPlaybackTime = false;
+        repaint();
+    }
+
+    // MODIFIES: this
+    // EFFECTS: take the world lines and events again if the reference frame, frames or events of frameWorld changed
+    //          since they were last taken; render them into the layer again, centred at now, if they were taken
+    //          again, the size of this changed or the now line is out of sight
+    private void updateLayer(FrameWorld frameWorld, double now) {
+        boolean geometryChanged = geometry == null || frameWorld != geometryWorld
+                || frameWorld.getObjectsVersion() != geometryVersion
+                || frameWorld.getCurrentReference() != geometryReference;
+        if (geometryChanged) {
+            geometry = new WorldView(frameWorld);
+            geometryWorld = frameWorld;
+            geometryVersion = frameWorld.getObjectsVersion();
+            geometryReference = frameWorld.getCurrentReference();
+        }
+        double nowY = screenY(now);
+        if (geometryChanged || layer == null || layer.getWidth() != getWidth() || layer.getHeight() != getHeight()
+                || nowY < 0 || nowY > getHeight()) {
+            centreTime = now;
+            renderLayer();
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: render the world lines of all frames between the bottom and top of this, and the events inside this
+    private void renderLayer() {
+        layer = new BufferedImage(Math.max(1, getWidth()), Math.max(1, getHeight()), BufferedImage.TYPE_INT_RGB);
+        Graphics graphics = layer.getGraphics();
+        graphics.setColor(getBackground());
+        graphics.fillRect(0, 0, getWidth(), getHeight());
+        double topTime = timeAt(0);
+        double bottomTime = timeAt(getHeight());
+        for (int frame = 0; frame < geometry.getFrameCount(); frame++) {
+            boolean isReference = geometry.getFrameName(frame).equals(geometry.getReferenceName());
+            graphics.setColor(isReference ? REF_WORLD_LINE_COLOR : WORLD_LINE_COLOR);
+            graphics.drawLine(screenX(geometry.posXAt(frame, bottomTime)), getHeight(),
+                    screenX(geometry.posXAt(frame, topTime)), 0);
+        }
+        graphics.setColor(EVENT_COLOR);
+        for (int event = 0; event < geometry.getEventCount(); event++) {
+            int x = screenX(geometry.occurXOf(event));
+            double y = screenY(geometry.occurTimeOf(event));
+            if (x >= -EVENT_RADIUS && x <= getWidth() + EVENT_RADIUS && y >= -EVENT_RADIUS
+                    && y <= getHeight() + EVENT_RADIUS) {
+                graphics.fillOval(x - EVENT_RADIUS, (int) y - EVENT_RADIUS, 2 * EVENT_RADIUS, 2 * EVENT_RADIUS);
+            }
+        }
+        graphics.dispose();
+    }
+
+    // MODIFIES: graphics
+    // EFFECTS: draw the line of events simultaneous with the reference frame at now, and the light cone of the event
+    //          where the reference frame is at now
+    private void paintNow(Graphics graphics, double now) {
+        int nowY = (int) screenY(now);
+        int originX = screenX(0);
+        int reach = getWidth() + getHeight();
+        graphics.setColor(NOW_COLOR);
+        graphics.drawLine(0, nowY, getWidth(), nowY);
+        graphics.setColor(LIGHT_CONE_COLOR);
+        graphics.drawLine(originX - reach, nowY + reach, originX + reach, nowY - reach);
+        graphics.drawLine(originX - reach, nowY - reach, originX + reach, nowY + reach);
+    }
+
+    // EFFECTS: return the horizontal pixel of position posX, with the reference frame in the middle
+    private int screenX(double posX) {
+        return (int) Math.round(Math.max(-MAX_PIXEL, Math.min(MAX_PIXEL, getWidth() / 2.0 + SCALE * posX)));
+    }
+
+    // EFFECTS: return the vertical pixel of time, with centreTime in the middle and later times higher
+    private double screenY(double time) {
+        return getHeight() / 2.0 - SCALE * (time - centreTime);
+    }
+
+    // EFFECTS: return the time at vertical pixel y
+    private double timeAt(int y) {
+        return centreTime + (getHeight() / 2.0 - y) / SCALE;
+    }
+}
@@ -65,13 +65,12 @@ public class FrameEditor extends FrameCreator {
                         Double.parseDouble(initialProperTimeDatum.getText()),
                         Double.parseDouble(initialVelocityDatum.getText()));
 
-                frameToEdit.setName(mirrorFrame.getName());
-                frameToEdit.setInitialPosX(mirrorFrame.getInitialPosX());
-                frameToEdit.setOccurTime(mirrorFrame.getOccurTime());
-                frameToEdit.setInitialProperTime(mirrorFrame.getInitialProperTime());
-                frameToEdit.setInitialVelocity(mirrorFrame.getInitialVelocity());
+                simulator.getFrameWorld().renameFrame(frameToEdit, mirrorFrame.getName());
+                simulator.getFrameWorld().editFrame(frameToEdit, mirrorFrame.getInitialPosX(),
+                        mirrorFrame.getOccurTime(), mirrorFrame.getInitialProperTime(),
+                        mirrorFrame.getInitialVelocity());
 
-                simulator.updateAll();
+                simulator.updateAfterEditing(frameToEdit);
                 creatorDialog.setVisible(false);
             } catch (NumberFormatException numberFormatException) {
                 errorMessage("Wrong format: number input must be double");
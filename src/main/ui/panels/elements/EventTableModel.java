@@ -0,0 +1,37 @@
+package ui.panels.elements;
+
+import model.PhysicalEvent;
+import model.PhysicalObject;
+
+/*Table of the events of a frameWorld: name, position and time of occurrence in the current reference frame, and the
+ *frame the event was given in with its initial position and time*/
+public class EventTableModel extends PhysicalObjectTableModel {
+    public static final String NOT_OBSERVED_INFO = "Not Observed Yet";
+    public static final int NAME_COLUMN = 0;
+    public static final int POSITION_COLUMN = 1;
+    public static final int TIME_COLUMN = 2;
+
+    // constructor
+    // EFFECTS: construct an empty table of events
+    public EventTableModel() {
+        super("Name", "Position(c*s)", "Time(s)", "Initial Observer");
+    }
+
+    @Override
+    protected String valueOf(PhysicalObject physicalObject, int column) {
+        PhysicalEvent event = (PhysicalEvent) physicalObject;
+        switch (column) {
+            case NAME_COLUMN:
+                return event.getName();
+            case POSITION_COLUMN:
+                return event.hasOccurred()
+                        ? String.valueOf(PhysicalObject.roundUp(event.getCurrentOccurX())) : NOT_OBSERVED_INFO;
+            case TIME_COLUMN:
+                return event.hasOccurred()
+                        ? String.valueOf(PhysicalObject.roundUp(event.getCurrentOccurTime())) : NOT_OBSERVED_INFO;
+            default:
+                return event.getInitialFrame().getName() + " at (" + PhysicalObject.roundUp(event.getInitialPosX())
+                        + " c*s, " + PhysicalObject.roundUp(event.getOccurTime()) + " s)";
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package ui.panels.elements;
+
+import model.FrameWorld;
+import model.PhysicalObject;
+import model.RefFrame;
+import model.exceptions.EmptyNameException;
+import model.exceptions.SameNameException;
+import ui.GraphicRelativitySimulator;
+
+/*Table of the frames of a frameWorld: name, position, clock reading and speed in the current reference frame. The
+ *name of every frame but Absolute Stationary Frame can be edited in place*/
+public class FrameTableModel extends PhysicalObjectTableModel {
+    public static final int NAME_COLUMN = 0;
+    public static final int POSITION_COLUMN = 1;
+    public static final int CLOCK_COLUMN = 2;
+    public static final int SPEED_COLUMN = 3;
+
+    private GraphicRelativitySimulator simulator;
+
+    // constructor
+    // EFFECTS: construct an empty table of the frames of the frameWorld of simulator
+    public FrameTableModel(GraphicRelativitySimulator simulator) {
+        super("Name", "Position(c*s)", "Clock Reading(s)", "Speed(c)");
+        this.simulator = simulator;
+    }
+
+    // EFFECTS: return true if frame can be edited, renamed or removed
+    public static boolean isChangeable(PhysicalObject frame) {
+        return !frame.getName().equals(FrameWorld.ABSOLUTE_STATIONARY_FRAME_NAME);
+    }
+
+    @Override
+    protected String valueOf(PhysicalObject physicalObject, int column) {
+        RefFrame frame = (RefFrame) physicalObject;
+        switch (column) {
+            case NAME_COLUMN:
+                return frame.getName();
+            case POSITION_COLUMN:
+                return String.valueOf(PhysicalObject.roundUp(frame.getPosX()));
+            case CLOCK_COLUMN:
+                return String.valueOf(PhysicalObject.roundUp(frame.getProperTime()));
+            default:
+                return String.valueOf(Math.max(Math.min(0.9999, PhysicalObject.roundUp(frame.getVelocity())), -0.9999));
+        }
+    }
+
+    // EFFECTS: return true if the cell is the name of a changeable frame
+    @Override
+    public boolean isCellEditable(int row, int column) {
+        return column == NAME_COLUMN && isChangeable(getObjectAt(row));
+    }
+
+    // MODIFIES: this, simulator
+    // EFFECTS: rename the frame in row to value in the frameWorld of simulator; if another frame is already named
+    //          value or value is empty, report it via a dialog and leave the frame unchanged
+    @Override
+    public void setValueAt(Object value, int row, int column) {
+        RefFrame frame = (RefFrame) getObjectAt(row);
+        String newName = ((String) value).trim();
+        try {
+            simulator.getFrameWorld().renameFrame(frame, newName);
+            fireTableRowsUpdated(row, row);
+            simulator.updateAfterEditing(frame);
+        } catch (SameNameException exception) {
+            GraphicRelativitySimulator.errorMessage("Frame named " + newName + " already exists.");
+        } catch (EmptyNameException exception) {
+            GraphicRelativitySimulator.errorMessage("Name of a frame cannot be empty.");
+        }
+    }
+}
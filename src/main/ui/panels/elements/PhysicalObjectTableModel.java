@@ -0,0 +1,92 @@
+package ui.panels.elements;
+
+import model.PhysicalObject;
+
+import javax.swing.table.AbstractTableModel;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Predicate;
+
+/*Table of physical objects, one row per object. A row only keeps its object (the data source): the text of its cells
+ *is read from the object when the table draws the row, so only rows in sight are ever turned into text, and an object
+ *changing needs nothing more than the table to be drawn again*/
+public abstract class PhysicalObjectTableModel extends AbstractTableModel {
+    private final String[] columnNames;
+    private List<PhysicalObject> rows;
+
+    // constructor
+    // EFFECTS: construct an empty table with the given column names
+    public PhysicalObjectTableModel(String... columnNames) {
+        this.columnNames = columnNames;
+        this.rows = new ArrayList<>();
+    }
+
+    // MODIFIES: this
+    // EFFECTS: add a row for physicalObject at the end
+    public void add(PhysicalObject physicalObject) {
+        rows.add(physicalObject);
+        fireTableRowsInserted(rows.size() - 1, rows.size() - 1);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: replace all rows by one row for each of physicalObjects, in order
+    public void setAll(Collection<? extends PhysicalObject> physicalObjects) {
+        rows = new ArrayList<>(physicalObjects);
+        fireTableDataChanged();
+    }
+
+    // MODIFIES: this
+    // EFFECTS: remove the rows whose objects match toRemove in one pass and return true if any was removed
+    public boolean removeIf(Predicate<PhysicalObject> toRemove) {
+        if (!rows.removeIf(toRemove)) {
+            return false;
+        }
+        fireTableDataChanged();
+        return true;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: let the table draw all rows again from their objects; only rows in sight are actually drawn
+    public void refreshAll() {
+        if (!rows.isEmpty()) {
+            fireTableRowsUpdated(0, rows.size() - 1);
+        }
+    }
+
+    // REQUIRES: 0 <= row < getRowCount()
+    // EFFECTS: return the object shown in row
+    public PhysicalObject getObjectAt(int row) {
+        return rows.get(row);
+    }
+
+    @Override
+    public int getRowCount() {
+        return rows.size();
+    }
+
+    @Override
+    public int getColumnCount() {
+        return columnNames.length;
+    }
+
+    @Override
+    public String getColumnName(int column) {
+        return columnNames[column];
+    }
+
+    @Override
+    public Class<?> getColumnClass(int column) {
+        return String.class;
+    }
+
+    // EFFECTS: return the text of the cell of physicalObject in column
+    @Override
+    public Object getValueAt(int row, int column) {
+        return valueOf(rows.get(row), column);
+    }
+
+    // REQUIRES: 0 <= column < getColumnCount()
+    // EFFECTS: return the text showing the current status of physicalObject in column
+    protected abstract String valueOf(PhysicalObject physicalObject, int column);
+}
@@ -0,0 +1,243 @@
+package model;
+
+import model.exceptions.FrameConstructException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FrameWorldDiffTest {
+    private FrameWorld current;
+    private FrameWorld target;
+
+    @BeforeEach
+    public void setUp() {
+        try {
+            current = buildWorld();
+            target = buildWorld();
+        } catch (FrameConstructException frameConstructException) {
+            fail("FrameWorldDiffTest Initialization failed");
+        }
+    }
+
+    // EFFECTS: return a frameWorld with two frames, each observing one event
+    private FrameWorld buildWorld() throws FrameConstructException {
+        FrameWorld world = new FrameWorld();
+        RefFrame frameA = new RefFrame("Frame A", 2, 8, 5, 0.5);
+        RefFrame frameB = new RefFrame("Frame B", -50, -20, -10, -0.7);
+        world.addFrame(frameA);
+        world.addFrame(frameB);
+        world.addEvent(new PhysicalEvent("Event 1", 50, 0, frameB));
+        world.addEvent(new PhysicalEvent("Event 2", -6, -10, frameA));
+        return world;
+    }
+
+    // EFFECTS: return a frameWorld with the frames of world under the same ids and the events of buildWorld
+    private FrameWorld copyWithIds(FrameWorld world) throws FrameConstructException {
+        FrameWorld copy = new FrameWorld();
+        for (PhysicalObject next : world.getFrameList()) {
+            RefFrame frame = (RefFrame) next;
+            if (frame != world.getAbsoluteStationaryFrame()) {
+                copy.addFrame(new RefFrame(frame.getId(), frame.getName(), frame.getInitialPosX(),
+                        frame.getOccurTime(), frame.getInitialProperTime(), frame.getInitialVelocity()));
+            }
+        }
+        copy.addEvent(new PhysicalEvent("Event 1", 50, 0, copy.findFrameByName("Frame B")));
+        copy.addEvent(new PhysicalEvent("Event 2", -6, -10, copy.findFrameByName("Frame A")));
+        return copy;
+    }
+
+    @Test
+    public void testSameWorldsEmptyDiff() {
+        FrameWorldDiff diff = new FrameWorldDiff(current, target);
+        assertTrue(diff.isEmpty());
+        assertTrue(diff.getFrameIdsToRemove().isEmpty());
+        assertTrue(diff.getEventNamesToRemove().isEmpty());
+        assertTrue(diff.getFramesToAddOrUpdate().isEmpty());
+        assertTrue(diff.getEventsToAddOrUpdate().isEmpty());
+    }
+
+    @Test
+    public void testDifferentReferenceNotEmpty() {
+        target.setCurrentReferenceAndUpdate(target.findFrameByName("Frame A"));
+        FrameWorldDiff diff = new FrameWorldDiff(current, target);
+        assertFalse(diff.isEmpty());
+        assertEquals(current.findFrameByName("Frame A").getId(), diff.getReferenceId());
+
+        target.setCurrentReferenceAndUpdate(target.getAbsoluteStationaryFrame());
+        target.setCurrentReferenceProperTime(3);
+        diff = new FrameWorldDiff(current, target);
+        assertFalse(diff.isEmpty());
+        assertEquals(3, diff.getReferenceProperTime());
+    }
+
+    @Test
+    public void testOnlyChangesRecorded() {
+        try {
+            target.deleteFrame(target.findFrameByName("Frame B"));
+            target.findFrameByName("Frame A").setInitialVelocity(0.2);
+            target.addFrame(new RefFrame("Frame C", 1, 1, 1, 0.1));
+            target.addEvent(new PhysicalEvent("Event 3", 1, 2, target.findFrameByName("Frame C")));
+
+            FrameWorldDiff diff = new FrameWorldDiff(current, target);
+            assertFalse(diff.isEmpty());
+            assertEquals(Collections.singletonList(current.findFrameByName("Frame B").getId()),
+                    diff.getFrameIdsToRemove());
+            assertEquals(Collections.singletonList("Event 1"), diff.getEventNamesToRemove());
+            assertEquals(Arrays.asList(target.findFrameByName("Frame A"), target.findFrameByName("Frame C")),
+                    diff.getFramesToAddOrUpdate());
+            assertEquals(Collections.singletonList(target.findEventByName("Event 3")),
+                    diff.getEventsToAddOrUpdate());
+        } catch (FrameConstructException frameConstructException) {
+            fail("FrameConstructException should not be thrown");
+        }
+    }
+
+    @Test
+    public void testApplyDiff() {
+        try {
+            RefFrame frameA = current.findFrameByName("Frame A");
+            PhysicalEvent event2 = current.findEventByName("Event 2");
+            target.deleteEvent(target.findEventByName("Event 1"));
+            target.findFrameByName("Frame A").setOccurTime(3);
+            target.addFrame(new RefFrame("Frame C", 1, 1, 1, 0.1));
+            target.deleteEvent(target.findEventByName("Event 2"));
+            target.addEvent(new PhysicalEvent("Event 2", 4, 4, target.findFrameByName("Frame C")));
+            target.setCurrentReferenceAndUpdate(target.findFrameByName("Frame C"));
+            target.setCurrentReferenceProperTime(7);
+
+            current.applyDiff(new FrameWorldDiff(current, target));
+            assertTrue(new FrameWorldDiff(current, target).isEmpty());
+            assertEquals(current, target);
+            assertSame(frameA, current.findFrameByName("Frame A"));
+            assertSame(event2, current.findEventByName("Event 2"));
+            assertEquals(0, frameA.getEventsSize());
+            assertSame(event2, current.findFrameByName("Frame C").findEventByName("Event 2"));
+            assertNull(current.findEventByName("Event 1"));
+            assertNull(current.findFrameByName("Frame B").findEventByName("Event 1"));
+        } catch (FrameConstructException frameConstructException) {
+            fail("FrameConstructException should not be thrown");
+        }
+    }
+
+    @Test
+    public void testApplyDiffRemoveFrameWithEvents() {
+        try {
+            target.deleteFrame(target.findFrameByName("Frame B"));
+            current.setCurrentReferenceAndUpdate(current.findFrameByName("Frame B"));
+
+            current.applyDiff(new FrameWorldDiff(current, target));
+            assertNull(current.findFrameByName("Frame B"));
+            assertNull(current.findEventByName("Event 1"));
+            assertEquals(1, current.getEventList().size());
+            assertEquals(current.getAbsoluteStationaryFrame(), current.getCurrentReference());
+            assertEquals(current, target);
+        } catch (FrameConstructException frameConstructException) {
+            fail("FrameConstructException should not be thrown");
+        }
+    }
+
+    @Test
+    public void testKeepReferenceOf() {
+        try {
+            current.setCurrentReferenceAndUpdate(current.findFrameByName("Frame A"));
+            current.setCurrentReferenceProperTime(5);
+            target.findFrameByName("Frame B").setInitialVelocity(0.2);
+            FrameWorldDiff diff = new FrameWorldDiff(current, target);
+            diff.keepReferenceOf(current);
+            assertEquals(current.findFrameByName("Frame A").getId(), diff.getReferenceId());
+            assertEquals(5, diff.getReferenceProperTime());
+
+            current.applyDiff(diff);
+            assertEquals(current.findFrameByName("Frame A"), current.getCurrentReference());
+            assertEquals(5, current.getCurrentReference().getProperTime());
+            assertEquals(0.2, current.findFrameByName("Frame B").getInitialVelocity());
+
+            target.setCurrentReferenceAndUpdate(target.findFrameByName("Frame B"));
+            target.setCurrentReferenceProperTime(5);
+            current.setCurrentReferenceAndUpdate(current.findFrameByName("Frame B"));
+            current.setCurrentReferenceProperTime(5);
+            diff = new FrameWorldDiff(current, target);
+            diff.keepReferenceOf(current);
+            assertTrue(diff.isEmpty());
+        } catch (FrameConstructException frameConstructException) {
+            fail("FrameConstructException should not be thrown");
+        }
+    }
+
+    @Test
+    public void testKeepReferenceOfRemovedFrame() {
+        target.deleteFrame(target.findFrameByName("Frame B"));
+        current.setCurrentReferenceAndUpdate(current.findFrameByName("Frame B"));
+        current.setCurrentReferenceProperTime(5);
+        FrameWorldDiff diff = new FrameWorldDiff(current, target);
+        diff.keepReferenceOf(current);
+        assertEquals(target.getCurrentReference().getId(), diff.getReferenceId());
+        assertEquals(target.getCurrentReference().getProperTime(), diff.getReferenceProperTime());
+    }
+
+    @Test
+    public void testApplyDiffThenRenameContentHash() {
+        try {
+            target.deleteEvent(target.findEventByName("Event 2"));
+            target.addEvent(new PhysicalEvent("Event 2", 4, 4, target.findFrameByName("Frame B")));
+            current.applyDiff(new FrameWorldDiff(current, target));
+            assertEquals(target.contentHash(), current.contentHash());
+
+            current.renameFrame(current.findFrameByName("Frame B"), "Frame C");
+            target.renameFrame(target.findFrameByName("Frame B"), "Frame C");
+            assertEquals(target.contentHash(), current.contentHash());
+        } catch (FrameConstructException frameConstructException) {
+            fail("FrameConstructException should not be thrown");
+        }
+    }
+
+    @Test
+    public void testRenamedFrameMatchedById() {
+        try {
+            FrameWorld copy = copyWithIds(current);
+            copy.renameFrame(copy.findFrameByName("Frame A"), "Frame C");
+            RefFrame frameA = current.findFrameByName("Frame A");
+
+            FrameWorldDiff diff = new FrameWorldDiff(current, copy);
+            assertTrue(diff.getFrameIdsToRemove().isEmpty());
+            assertEquals(Collections.singletonList(copy.findFrameByName("Frame C")), diff.getFramesToAddOrUpdate());
+
+            current.applyDiff(diff);
+            assertSame(frameA, current.findFrameByName("Frame C"));
+            assertNull(current.findFrameByName("Frame A"));
+            assertSame(frameA, current.findEventByName("Event 2").getInitialFrame());
+            assertEquals(copy.contentHash(), current.contentHash());
+            assertEquals(copy, current);
+        } catch (FrameConstructException frameConstructException) {
+            fail("FrameConstructException should not be thrown");
+        }
+    }
+
+    @Test
+    public void testSwappedNamesAndAddedFrameKeepIds() {
+        try {
+            RefFrame frameA = current.findFrameByName("Frame A");
+            RefFrame frameB = current.findFrameByName("Frame B");
+            target = copyWithIds(current);
+            target.renameFrame(target.findFrameByName("Frame A"), "Frame X");
+            target.renameFrame(target.findFrameByName("Frame B"), "Frame A");
+            target.renameFrame(target.findFrameByName("Frame X"), "Frame B");
+            RefFrame frameC = new RefFrame("Frame C", 1, 1, 1, 0.1);
+            target.addFrame(frameC);
+
+            current.applyDiff(new FrameWorldDiff(current, target));
+            assertSame(frameA, current.findFrameByName("Frame B"));
+            assertSame(frameB, current.findFrameByName("Frame A"));
+            assertEquals(frameC.getId(), current.findFrameByName("Frame C").getId());
+            assertSame(current.findFrameByName("Frame C"), current.findFrameById(frameC.getId()));
+            assertEquals(target, current);
+            assertTrue(new FrameWorldDiff(current, target).isEmpty());
+        } catch (FrameConstructException frameConstructException) {
+            fail("FrameConstructException should not be thrown");
+        }
+    }
+}
@@ -1,11 +1,13 @@
 package model;
 
+import model.exceptions.ExceedSpeedOfLightException;
 import model.exceptions.FrameConstructException;
 import model.exceptions.SameNameException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -133,6 +135,57 @@ public class FrameWorldTest {
         }
     }
 
+    @Test
+    public void testAddEventsBatch() {
+        try {
+            RefFrame stationary = world1.getAbsoluteStationaryFrame();
+            world1.addEvent(new PhysicalEvent("Event0", 0, 0, stationary));
+            List<PhysicalEvent> batch = new ArrayList<>();
+            for (int i = 1; i <= 5; i++) {
+                batch.add(new PhysicalEvent("Event" + i, i, i, stationary));
+            }
+            long countBefore = world1.getModificationCount();
+            world1.addEvents(batch);
+            assertEquals(6, world1.getEventList().size());
+            assertEquals(batch.get(4), world1.getEventList().get(5));
+            assertEquals(batch.get(2), world1.findEventByName("Event3"));
+            assertEquals(countBefore + 1, world1.getModificationCount());
+        } catch (FrameConstructException frameConstructException) {
+            fail("FrameConstructException should not be thrown");
+        }
+    }
+
+    @Test
+    public void testAddEventsBatchFailAddsNone() {
+        try {
+            RefFrame stationary = world1.getAbsoluteStationaryFrame();
+            world1.addEvent(new PhysicalEvent("Event0", 0, 0, stationary));
+            long hashBefore = world1.contentHash();
+            List<PhysicalEvent> batch = new ArrayList<>();
+            batch.add(new PhysicalEvent("Event1", 1, 1, stationary));
+            batch.add(new PhysicalEvent("Event1", 2, 2, stationary));
+            try {
+                world1.addEvents(batch);
+                fail("SameNameException should be thrown");
+            } catch (SameNameException sameNameException) {
+                // expected
+            }
+            batch.remove(1);
+            batch.add(new PhysicalEvent("Event0", 2, 2, stationary));
+            try {
+                world1.addEvents(batch);
+                fail("SameNameException should be thrown");
+            } catch (SameNameException sameNameException) {
+                // expected
+            }
+            assertEquals(1, world1.getEventList().size());
+            assertNull(world1.findEventByName("Event1"));
+            assertEquals(hashBefore, world1.contentHash());
+        } catch (FrameConstructException frameConstructException) {
+            fail("FrameConstructException should not be thrown");
+        }
+    }
+
     @Test
     public void testAddFrameMultipleSuccess() {
         try {
@@ -313,6 +366,29 @@ public class FrameWorldTest {
         }
     }
 
+    @Test
+    public void testRenameFrame() {
+        try {
+            RefFrame frame1 = new RefFrame("Frame1", 10, 20, 30, 0.5);
+            RefFrame frame2 = new RefFrame("Frame2", 0, 0, 0, 0.1);
+            world1.addFrame(frame1);
+            world1.addFrame(frame2);
+
+            world1.renameFrame(frame1, "Renamed");
+            assertEquals("Renamed", frame1.getName());
+            assertEquals(frame1, world1.findFrameByName("Renamed"));
+            assertNull(world1.findFrameByName("Frame1"));
+
+            world1.renameFrame(frame1, "Frame2");
+            fail("SameNameException expected");
+        } catch (SameNameException sameNameException) {
+            assertNotNull(world1.findFrameByName("Renamed"));
+            assertEquals("Frame2", world1.findFrameByName("Frame2").getName());
+        } catch (FrameConstructException frameConstructException) {
+            fail("FrameConstructException should not be thrown");
+        }
+    }
+
     @Test
     public void testAllFramesInfo() {
         try {
@@ -521,6 +597,131 @@ public class FrameWorldTest {
         }
     }
 
+    @Test
+    public void testContentHash() {
+        try {
+            FrameWorld world2 = new FrameWorld();
+            assertEquals(world2.contentHash(), world1.contentHash());
+
+            RefFrame frame1 = new RefFrame("Frame1", 10, 20, 30, 0.5);
+            world1.addFrame(frame1);
+            world1.addEvent(new PhysicalEvent("Event1", 1, 2, frame1));
+            assertNotEquals(world2.contentHash(), world1.contentHash());
+
+            RefFrame frame2 = new RefFrame("Frame2", 1, 1, 1, 0.1);
+            world2.addFrame(frame2);
+            world2.addEvent(new PhysicalEvent("Event1", 1, 2, frame2));
+            world2.renameFrame(frame2, "Frame1");
+            world2.editFrame(frame2, 10, 20, 30, 0.5);
+            assertEquals(world1.contentHash(), world2.contentHash());
+
+            world1.setCurrentReferenceProperTime(5);
+            assertNotEquals(world2.contentHash(), world1.contentHash());
+            world1.setCurrentReferenceProperTime(0);
+            assertEquals(world1.contentHash(), world2.contentHash());
+
+            world1.deleteFrame(frame1);
+            assertEquals(new FrameWorld().contentHash(), world1.contentHash());
+        } catch (FrameConstructException frameConstructException) {
+            fail("FrameConstructException should not be thrown");
+        }
+    }
+
+    @Test
+    public void testEditFrameExceedSpeedOfLight() {
+        try {
+            RefFrame frame1 = new RefFrame("Frame1", 10, 20, 30, 0.5);
+            world1.addFrame(frame1);
+            world1.editFrame(frame1, 0, 0, 0, 1);
+            fail("ExceedSpeedOfLightException expected");
+        } catch (ExceedSpeedOfLightException exceedSpeedOfLightException) {
+            RefFrame frame1 = world1.findFrameByName("Frame1");
+            assertEquals(10, frame1.getInitialPosX());
+            assertEquals(0.5, frame1.getInitialVelocity());
+        } catch (FrameConstructException frameConstructException) {
+            fail("FrameConstructException should not be thrown");
+        }
+    }
+
+    @Test
+    public void testEditFrameViewsFrameAndItsEvents() {
+        try {
+            RefFrame frame1 = new RefFrame("Frame1", 10, 20, 30, 0.5);
+            RefFrame frame2 = new RefFrame("Frame2", -10, 0, 5, -0.3);
+            world1.addFrame(frame1);
+            world1.addFrame(frame2);
+            world1.addEvent(new PhysicalEvent("Event1", 4, 8, frame1));
+            world1.setCurrentReferenceAndUpdate(frame2);
+            world1.setCurrentReferenceProperTime(12);
+
+            world1.editFrame(frame1, 1, 2, 3, 0.4);
+            double posX = frame1.getPosX();
+            double properTime = frame1.getProperTime();
+            double velocity = frame1.getVelocity();
+            double eventTime = world1.findEventByName("Event1").getCurrentOccurTime();
+            double eventX = world1.findEventByName("Event1").getCurrentOccurX();
+            world1.viewAllInCurrentReference();
+
+            assertEquals(posX, frame1.getPosX());
+            assertEquals(properTime, frame1.getProperTime());
+            assertEquals(velocity, frame1.getVelocity());
+            assertEquals(eventTime, world1.findEventByName("Event1").getCurrentOccurTime());
+            assertEquals(eventX, world1.findEventByName("Event1").getCurrentOccurX());
+        } catch (FrameConstructException frameConstructException) {
+            fail("FrameConstructException should not be thrown");
+        }
+    }
+
+    @Test
+    public void testEditCurrentReferenceViewsAll() {
+        try {
+            RefFrame frame1 = new RefFrame("Frame1", 10, 20, 30, 0.5);
+            RefFrame frame2 = new RefFrame("Frame2", -10, 0, 5, -0.3);
+            world1.addFrame(frame1);
+            world1.addFrame(frame2);
+            world1.addEvent(new PhysicalEvent("Event1", 4, 8, frame1));
+            world1.setCurrentReferenceAndUpdate(frame2);
+
+            world1.editFrame(frame2, 1, 2, 3, 0.4);
+            double posX = frame1.getPosX();
+            double velocity = frame1.getVelocity();
+            double eventTime = world1.findEventByName("Event1").getCurrentOccurTime();
+            world1.viewAllInCurrentReference();
+
+            assertEquals(posX, frame1.getPosX());
+            assertEquals(velocity, frame1.getVelocity());
+            assertEquals(eventTime, world1.findEventByName("Event1").getCurrentOccurTime());
+            assertEquals(0, frame2.getPosX());
+            assertEquals(0, frame2.getVelocity());
+        } catch (FrameConstructException frameConstructException) {
+            fail("FrameConstructException should not be thrown");
+        }
+    }
+
+    @Test
+    public void testModificationCount() {
+        try {
+            long count = world1.getModificationCount();
+            RefFrame frame1 = new RefFrame("Frame1", 10, 20, 30, 0.5);
+            world1.addFrame(frame1);
+            assertTrue(world1.getModificationCount() > count);
+
+            count = world1.getModificationCount();
+            world1.setCurrentReferenceAndUpdate(frame1);
+            assertTrue(world1.getModificationCount() > count);
+
+            count = world1.getModificationCount();
+            world1.editFrame(frame1, 1, 2, 3, 0.4);
+            assertTrue(world1.getModificationCount() > count);
+
+            count = world1.getModificationCount();
+            world1.viewAllInCurrentReference();
+            assertEquals(count, world1.getModificationCount());
+        } catch (FrameConstructException frameConstructException) {
+            fail("FrameConstructException should not be thrown");
+        }
+    }
+
     @Test
     public void testMarkAsCurrentFrameWorld() {
         // set false
@@ -531,4 +732,85 @@ public class FrameWorldTest {
         world1.markAsCurrentFrameWorld(true);
         assertEquals(FrameWorld.CURRENT_FRAMEWORLD_NAME, world1.getName());
     }
+
+    @Test
+    public void testFindFrameById() {
+        try {
+            RefFrame frame1 = new RefFrame("Frame1", 10, 20, 30, 0.5);
+            world1.addFrame(frame1);
+            assertSame(world1.getAbsoluteStationaryFrame(),
+                    world1.findFrameById(FrameWorld.ABSOLUTE_STATIONARY_FRAME_ID));
+            assertSame(frame1, world1.findFrameById(frame1.getId()));
+
+            world1.renameFrame(frame1, "Renamed");
+            assertSame(frame1, world1.findFrameById(frame1.getId()));
+
+            world1.deleteFrame(frame1);
+            assertNull(world1.findFrameById(frame1.getId()));
+        } catch (FrameConstructException frameConstructException) {
+            fail("FrameConstructException should not be thrown");
+        }
+    }
+
+    @Test
+    public void testRenameFrameWithEventsContentHash() {
+        try {
+            RefFrame frame1 = new RefFrame("Frame1", 10, 20, 30, 0.5);
+            world1.addFrame(frame1);
+            PhysicalEvent event1 = new PhysicalEvent("Event1", 1, 2, frame1);
+            world1.addEvent(event1);
+            world1.addEvent(new PhysicalEvent("Event2", 3, 4, frame1));
+            world1.deleteEvent(event1);
+            world1.renameFrame(frame1, "Renamed");
+
+            FrameWorld world2 = new FrameWorld();
+            RefFrame frame2 = new RefFrame("Renamed", 10, 20, 30, 0.5);
+            world2.addFrame(frame2);
+            world2.addEvent(new PhysicalEvent("Event2", 3, 4, frame2));
+            assertEquals(world2.contentHash(), world1.contentHash());
+        } catch (FrameConstructException frameConstructException) {
+            fail("FrameConstructException should not be thrown");
+        }
+    }
+
+    @Test
+    public void testDeleteFrameWithManyEvents() {
+        try {
+            RefFrame frame1 = new RefFrame("Frame1", 10, 20, 30, 0.5);
+            world1.addFrame(frame1);
+            List<PhysicalEvent> events = new ArrayList<>();
+            for (int i = 0; i < 100000; i++) {
+                events.add(new PhysicalEvent("Event" + i, i, -i, frame1));
+            }
+            world1.addEvents(events);
+            PhysicalEvent kept = new PhysicalEvent("Kept", 1, 2, world1.getAbsoluteStationaryFrame());
+            world1.addEvent(kept);
+
+            List<PhysicalEvent> deletedEvents = world1.deleteFrame(frame1);
+            assertEquals(events, deletedEvents);
+            assertEquals(0, frame1.getEventsSize());
+            assertEquals(Collections.singletonList(kept), world1.getEventList());
+            assertNull(world1.findEventByName("Event5"));
+            assertNull(world1.findFrameById(frame1.getId()));
+            FrameWorld world2 = new FrameWorld();
+            world2.addEvent(new PhysicalEvent("Kept", 1, 2, world2.getAbsoluteStationaryFrame()));
+            assertEquals(world2.contentHash(), world1.contentHash());
+        } catch (FrameConstructException frameConstructException) {
+            fail("FrameConstructException should not be thrown");
+        }
+    }
+
+    @Test
+    public void testAddSameIdFails() {
+        try {
+            RefFrame frame1 = new RefFrame("Frame1", 10, 20, 30, 0.5);
+            world1.addFrame(frame1);
+            world1.addFrame(new RefFrame(frame1.getId(), "Frame2", 0, 0, 0, 0));
+            fail("SameNameException expected");
+        } catch (SameNameException sameNameException) {
+            assertNull(world1.findFrameByName("Frame2"));
+        } catch (FrameConstructException frameConstructException) {
+            fail("FrameConstructException should not be thrown");
+        }
+    }
 }
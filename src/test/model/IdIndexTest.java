@@ -0,0 +1,60 @@
+package model;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class IdIndexTest {
+    private IdIndex<String> index;
+
+    @BeforeEach
+    public void setUp() {
+        index = new IdIndex<>();
+    }
+
+    @Test
+    public void testPutAndGet() {
+        assertNull(index.get(1));
+        index.put(1, "one");
+        index.put(0, "zero");
+        assertEquals("one", index.get(1));
+        assertEquals("zero", index.get(0));
+        assertEquals(2, index.size());
+
+        index.put(1, "uno");
+        assertEquals("uno", index.get(1));
+        assertEquals(2, index.size());
+    }
+
+    @Test
+    public void testManyIdsResize() {
+        for (long id = 0; id < 10000; id++) {
+            index.put(id * 1024, "id" + id);
+        }
+        assertEquals(10000, index.size());
+        for (long id = 0; id < 10000; id++) {
+            assertEquals("id" + id, index.get(id * 1024));
+        }
+        assertNull(index.get(1));
+    }
+
+    @Test
+    public void testRemove() {
+        for (long id = 0; id < 1000; id++) {
+            index.put(id, "id" + id);
+        }
+        for (long id = 0; id < 1000; id += 2) {
+            index.remove(id);
+        }
+        index.remove(5000);
+        assertEquals(500, index.size());
+        for (long id = 0; id < 1000; id++) {
+            if (id % 2 == 0) {
+                assertNull(index.get(id));
+            } else {
+                assertEquals("id" + id, index.get(id));
+            }
+        }
+    }
+}
@@ -203,4 +203,13 @@ public class PhysicalEventTest {
             fail("FrameConstructException should not be thrown");
         }
     }
+
+    @Test
+    public void testHashCodeUnchangedWhenViewed() {
+        int hashCode = testPhysicalEvent.hashCode();
+        stationaryFrame.setProperTime(10);
+        testPhysicalEvent.viewInGivenFrame(stationaryFrame);
+        assertTrue(testPhysicalEvent.hasOccurred());
+        assertEquals(hashCode, testPhysicalEvent.hashCode());
+    }
 }
@@ -0,0 +1,101 @@
+package model;
+
+import model.exceptions.FrameConstructException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.ListIterator;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PhysicalObjectListTest {
+    private PhysicalObjectList list;
+    private RefFrame frame1;
+    private RefFrame frame2;
+    private RefFrame frame3;
+
+    @BeforeEach
+    public void setUp() {
+        try {
+            list = new PhysicalObjectList();
+            frame1 = new RefFrame("Frame1", 0, 0, 0, 0.1);
+            frame2 = new RefFrame("Frame2", 0, 0, 0, 0.2);
+            frame3 = new RefFrame("Frame3", 0, 0, 0, 0.3);
+            list.add(frame1);
+            list.add(frame2);
+            list.add(frame3);
+        } catch (FrameConstructException frameConstructException) {
+            fail("PhysicalObjectListTest Initialization failed");
+        }
+    }
+
+    @Test
+    public void testAddKeepsOrder() {
+        assertEquals(3, list.size());
+        assertEquals(Arrays.asList(frame1, frame2, frame3), list);
+        assertSame(frame2, list.get(1));
+        assertTrue(list.containsId(frame3.getId()));
+        assertTrue(list.contains(frame3));
+    }
+
+    @Test
+    public void testRemove() {
+        assertTrue(list.remove(frame2));
+        assertFalse(list.remove(frame2));
+        assertFalse(list.remove("Frame1"));
+        assertFalse(list.contains(frame2));
+        assertFalse(list.containsId(frame2.getId()));
+        assertEquals(Arrays.asList(frame1, frame3), list);
+
+        list.add(frame2);
+        assertEquals(Arrays.asList(frame1, frame3, frame2), list);
+    }
+
+    @Test
+    public void testRemoveOtherObjectWithSameId() {
+        try {
+            RefFrame sameId = new RefFrame(frame1.getId(), "Copy", 0, 0, 0, 0.1);
+            assertFalse(list.contains(sameId));
+            assertFalse(list.remove(sameId));
+            assertEquals(3, list.size());
+        } catch (FrameConstructException frameConstructException) {
+            fail("FrameConstructException should not be thrown");
+        }
+    }
+
+    @Test
+    public void testIteratorRemove() {
+        list.removeIf(next -> next == frame1 || next == frame3);
+        assertEquals(Arrays.asList(frame2), list);
+        assertFalse(list.containsId(frame1.getId()));
+    }
+
+    @Test
+    public void testListIteratorBothDirections() {
+        ListIterator<PhysicalObject> iterator = list.listIterator(3);
+        assertFalse(iterator.hasNext());
+        assertSame(frame3, iterator.previous());
+        assertSame(frame2, iterator.previous());
+        assertEquals(1, iterator.nextIndex());
+        iterator.remove();
+        assertEquals(1, iterator.nextIndex());
+        assertSame(frame3, iterator.next());
+        assertSame(frame3, iterator.previous());
+        assertSame(frame1, iterator.previous());
+        assertFalse(iterator.hasPrevious());
+        assertEquals(Arrays.asList(frame1, frame3), list);
+        assertThrows(UnsupportedOperationException.class, () -> iterator.set(frame2));
+        assertThrows(IndexOutOfBoundsException.class, () -> list.listIterator(3));
+    }
+
+    @Test
+    public void testConcurrentModification() {
+        Iterator<PhysicalObject> iterator = list.iterator();
+        iterator.next();
+        list.remove(frame3);
+        assertThrows(ConcurrentModificationException.class, iterator::next);
+    }
+}
@@ -1,10 +1,13 @@
 package model;
 
+import model.exceptions.FrameConstructException;
 import org.junit.jupiter.api.Test;
 
 import static java.lang.Math.pow;
 import static java.lang.Math.sqrt;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
 
 public class PhysicalObjectTest {
     static final double DELTA = pow(10, -13);
@@ -100,4 +103,23 @@ public class PhysicalObjectTest {
         assertEquals(1.25 * (-5 - (10.5 * -0.6)), PhysicalObject.inverseLorentzX(10.5, -5, 0.6));
         assertEquals(1.25 * (-5 - (10.5 * 0.6)), PhysicalObject.inverseLorentzX(10.5, -5, -0.6));
     }
+
+    @Test
+    public void testIds() {
+        try {
+            RefFrame frame = new RefFrame("Frame", 1, 2, 3, 0.1);
+            PhysicalEvent event = new PhysicalEvent("Event", 1, 2, frame);
+            assertTrue(event.getId() > frame.getId());
+
+            RefFrame restored = new RefFrame(frame.getId() + 1000, "Restored", 1, 2, 3, 0.1);
+            assertEquals(frame.getId() + 1000, restored.getId());
+            assertTrue(new PhysicalEvent("Later", 0, 0, restored).getId() > restored.getId());
+
+            frame.setName("Renamed");
+            assertEquals(restored.getId() - 1000, frame.getId());
+            assertEquals(frame.getId(), frame.toJson().getLong("id"));
+        } catch (FrameConstructException frameConstructException) {
+            fail("FrameConstructException should not be thrown");
+        }
+    }
 }
@@ -164,6 +164,73 @@ class RefFrameTest {
         }
     }
 
+    @Test
+    public void testViewInTheFrameWhichConstructionRefersToSameV() {
+        try {
+            RefFrame frame1 = new RefFrame("frame1", 60, 0, 20, 0.2);
+            frame1.setProperTime(40);
+
+            RefFrame frame2 = new RefFrame("frame2", 80, 10, 30, 0, frame1);
+            frame2.viewInGivenFrame(frame1);
+
+            assertEquals(80, frame2.getPosX(), DELTA);
+            assertEquals(0, frame2.getVelocity());
+            assertEquals(0.2, frame2.getInitialVelocity(), DELTA);
+        } catch (FrameConstructException frameConstructException) {
+            fail("FrameConstructException should not be thrown");
+        }
+    }
+
+    @Test
+    public void testViewInTheFrameWhichConstructionRefersToStationary() {
+        try {
+            stationaryFrame.setProperTime(25);
+            RefFrame frame1 = new RefFrame("frame1", 60, 10, 20, 0.3, stationaryFrame);
+            RefFrame frame2 = new RefFrame("frame2", 60, 10, 20, 0.3);
+            frame1.viewInGivenFrame(stationaryFrame);
+            frame2.viewInGivenFrame(stationaryFrame);
+
+            assertEquals(frame2.getPosX(), frame1.getPosX(), DELTA);
+            assertEquals(frame2.getVelocity(), frame1.getVelocity(), DELTA);
+            assertEquals(frame2.getProperTime(), frame1.getProperTime(), DELTA);
+        } catch (FrameConstructException frameConstructException) {
+            fail("FrameConstructException should not be thrown");
+        }
+    }
+
+    @Test
+    public void testRelateAllTo() {
+        try {
+            RefFrame reference = new RefFrame("reference", 60, 0, 20, 0.2);
+            reference.setProperTime(40);
+            List<RefFrame> frames = new LinkedList<>();
+            frames.add(new RefFrame("frame1", 80, 10, 30, 0.5));
+            frames.add(new RefFrame("frame2", -30, 50, 0, -0.7));
+            frames.add(new RefFrame("frame3", 5, 15, 1, -0.2));
+            RefFrame.relateAllTo(frames, reference);
+
+            RefFrame expected1 = new RefFrame("frame1", 80, 10, 30, 0.5, reference);
+            RefFrame expected2 = new RefFrame("frame2", -30, 50, 0, -0.7, reference);
+            RefFrame expected3 = new RefFrame("frame3", 5, 15, 1, -0.2, reference);
+            assertSameInitialConditions(expected1, frames.get(0));
+            assertSameInitialConditions(expected2, frames.get(1));
+            assertSameInitialConditions(expected3, frames.get(2));
+            assertEquals(0, frames.get(2).getInitialVelocity());
+        } catch (FrameConstructException frameConstructException) {
+            fail("FrameConstructException should not be thrown");
+        }
+    }
+
+    private void assertSameInitialConditions(RefFrame expected, RefFrame actual) {
+        assertEquals(expected.getInitialPosX(), actual.getInitialPosX());
+        assertEquals(expected.getOccurTime(), actual.getOccurTime());
+        assertEquals(expected.getInitialProperTime(), actual.getInitialProperTime());
+        assertEquals(expected.getInitialVelocity(), actual.getInitialVelocity());
+        assertEquals(expected.getPosX(), actual.getPosX());
+        assertEquals(expected.getVelocity(), actual.getVelocity());
+        assertEquals(expected.getProperTime(), actual.getProperTime());
+    }
+
     @Test
     public void testViewInGivenFrameSameV() {
         try {
@@ -664,4 +731,27 @@ class RefFrameTest {
             fail("FrameConstructException should not be thrown");
         }
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testViewInGivenFrameMatchesMeetingEvent() {
+        try {
+            RefFrame reference = new RefFrame("reference", -3.7, 1.3, 2.9, -0.45);
+            reference.setProperTime(11.3);
+            double[] velocities = {-0.99, -0.3, 0, 0.1, 0.45, 0.77};
+            for (double velocity : velocities) {
+                RefFrame frame = new RefFrame("frame", 12.25, -4.5, 0.3, velocity);
+                frame.viewInGivenFrame(reference);
+
+                MeetEvent meetEvent = frame.meetingEvent(reference);
+                double relativeV = frame.relativeVelocity(reference);
+                double deltaT = reference.getProperTime() - reference.properTimeAtEvent(meetEvent);
+                assertEquals(deltaT * relativeV, frame.getPosX());
+                assertEquals(frame.properTimeAtEvent(meetEvent) + deltaT / RefFrame.gamma(relativeV),
+                        frame.getProperTime());
+                assertEquals(relativeV, frame.getVelocity());
+            }
+        } catch (FrameConstructException frameConstructException) {
+            fail("FrameConstructException should not be thrown");
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package model;
+
+import model.exceptions.FrameConstructException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ViewCacheTest {
+    private static final double DELTA = 1e-9;
+
+    private FrameWorld world;
+    private RefFrame frameA;
+    private RefFrame frameB;
+    private WorldView view;
+
+    @BeforeEach
+    public void setUp() {
+        try {
+            world = new FrameWorld();
+            frameA = new RefFrame("Frame A", 2, 8, 5, 0.5);
+            frameB = new RefFrame("Frame B", -50, -20, -10, -0.7);
+            world.addFrame(frameA);
+            world.addFrame(frameB);
+            world.addEvent(new PhysicalEvent("Event 1", 50, 0, frameB));
+            world.addEvent(new PhysicalEvent("Event 2", -6, -10, frameA));
+            view = new WorldView(world);
+        } catch (FrameConstructException frameConstructException) {
+            fail("FrameConstructException should not be thrown");
+        }
+    }
+
+    @Test
+    public void testGetAndPut() {
+        ViewCache cache = new ViewCache(ViewCache.DEFAULT_MAX_BYTES);
+        assertNull(cache.get(1, 0));
+        cache.put(1, 0, view);
+        assertSame(view, cache.get(1, 0));
+        assertTrue(cache.contains(1, 0));
+        assertFalse(cache.contains(2, 0));
+        assertEquals(1, cache.getHits());
+        assertEquals(1, cache.getMisses());
+        assertEquals(0.5, cache.getHitRate());
+        assertEquals(view.estimatedBytes(), cache.getBytes());
+    }
+
+    @Test
+    public void testNewVersionDropsOlderViews() {
+        ViewCache cache = new ViewCache(ViewCache.DEFAULT_MAX_BYTES);
+        cache.put(1, 0, view);
+        assertNull(cache.get(1, 1));
+        cache.put(2, 1, view);
+        assertFalse(cache.contains(1, 0));
+        assertFalse(cache.contains(1, 1));
+        assertTrue(cache.contains(2, 1));
+        assertEquals(1, cache.size());
+        assertEquals(0, cache.getEvictions());
+    }
+
+    @Test
+    public void testEvictLeastRecentlyUsed() {
+        ViewCache cache = new ViewCache(2 * view.estimatedBytes());
+        cache.put(1, 0, view);
+        cache.put(2, 0, view);
+        cache.get(1, 0);
+        cache.put(3, 0, view);
+        assertTrue(cache.contains(1, 0));
+        assertFalse(cache.contains(2, 0));
+        assertTrue(cache.contains(3, 0));
+        assertEquals(1, cache.getEvictions());
+
+        cache.setMaxBytes(view.estimatedBytes());
+        assertEquals(1, cache.size());
+        assertTrue(cache.contains(3, 0));
+        cache.setMaxBytes(0);
+        assertEquals(0, cache.size());
+        assertEquals(0, cache.getBytes());
+    }
+
+    @Test
+    public void testViewOverLimitNotKept() {
+        ViewCache cache = new ViewCache(view.estimatedBytes() - 1);
+        cache.put(1, 0, view);
+        assertEquals(0, cache.size());
+        assertEquals(0, cache.getHitRate());
+    }
+
+    @Test
+    public void testSwitchBackRestoresView() {
+        world.setCurrentReferenceAndUpdate(frameA);
+        world.setCurrentReferenceProperTime(3);
+        world.setCurrentReferenceAndUpdate(frameB);
+        world.setCurrentReferenceAndUpdate(frameA);
+        assertEquals(1, world.getViewCache().getHits());
+
+        double posX = frameB.getPosX();
+        double properTime = frameB.getProperTime();
+        double velocity = frameB.getVelocity();
+        double occurTime = world.findEventByName("Event 1").getCurrentOccurTime();
+        double occurX = world.findEventByName("Event 1").getCurrentOccurX();
+        world.viewAllInCurrentReference();
+        assertEquals(0, frameA.getPosX());
+        assertEquals(posX, frameB.getPosX(), DELTA);
+        assertEquals(properTime, frameB.getProperTime(), DELTA);
+        assertEquals(velocity, frameB.getVelocity(), DELTA);
+        assertEquals(occurTime, world.findEventByName("Event 1").getCurrentOccurTime(), DELTA);
+        assertEquals(occurX, world.findEventByName("Event 1").getCurrentOccurX(), DELTA);
+    }
+
+    @Test
+    public void testChangeInvalidatesViews() {
+        try {
+            world.setCurrentReferenceAndUpdate(frameA);
+            world.editFrame(frameB, -40, -20, -10, -0.6);
+            world.setCurrentReferenceAndUpdate(world.getAbsoluteStationaryFrame());
+            assertEquals(0, world.getViewCache().getHits());
+            double time = world.getAbsoluteStationaryFrame().getProperTime();
+            assertEquals(-40 - 0.6 * (time + 20), frameB.getPosX(), DELTA);
+        } catch (FrameConstructException frameConstructException) {
+            fail("FrameConstructException should not be thrown");
+        }
+    }
+}
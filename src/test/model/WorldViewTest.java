@@ -0,0 +1,78 @@
+package model;
+
+import model.exceptions.FrameConstructException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class WorldViewTest {
+    private static final double DELTA = 1e-9;
+
+    private FrameWorld world;
+    private RefFrame frameA;
+
+    @BeforeEach
+    public void setUp() {
+        try {
+            world = new FrameWorld();
+            frameA = new RefFrame("Frame A", 2, 8, 5, 0.5);
+            RefFrame frameB = new RefFrame("Frame B", -50, -20, -10, -0.7);
+            RefFrame frameC = new RefFrame("Frame C", 3, 1, 0, 0.5);
+            world.addFrame(frameA);
+            world.addFrame(frameB);
+            world.addFrame(frameC);
+            world.addEvent(new PhysicalEvent("Event 1", 50, 0, frameB));
+            world.addEvent(new PhysicalEvent("Event 2", -6, -10, frameA));
+            world.addEvent(new PhysicalEvent("Event 3", 1, 4, frameC));
+            world.setCurrentReferenceAndUpdate(frameA);
+            world.setCurrentReferenceProperTime(3);
+        } catch (FrameConstructException frameConstructException) {
+            fail("FrameConstructException should not be thrown");
+        }
+    }
+
+    @Test
+    public void testSnapshot() {
+        WorldView view = new WorldView(world);
+        assertEquals("Frame A", view.getReferenceName());
+        assertEquals(3, view.getReferenceProperTime());
+        assertEquals(4, view.getFrameCount());
+        assertEquals(3, view.getEventCount());
+        assertEquals("Frame B", view.getFrameName(2));
+        assertEquals("Event 3", view.getEventName(2));
+        assertEquals(0, view.velocityOf(1));
+        assertEquals(((RefFrame) world.getFrameList().get(2)).getVelocity(), view.velocityOf(2));
+        PhysicalEvent event1 = world.findEventByName("Event 1");
+        assertEquals(event1.getCurrentOccurX(), view.occurXOf(0));
+        assertEquals(event1.getCurrentOccurTime(), view.occurTimeOf(0));
+    }
+
+    @Test
+    public void testMatchesPlayback() {
+        WorldView view = new WorldView(world);
+        for (double time = -40; time <= 40; time += 2.5) {
+            world.setCurrentReferenceProperTime(time);
+            for (int f = 0; f < view.getFrameCount(); f++) {
+                RefFrame frame = (RefFrame) world.getFrameList().get(f);
+                assertEquals(frame.getPosX(), view.posXAt(f, time), DELTA);
+                assertEquals(frame.getProperTime(), view.properTimeAt(f, time), DELTA);
+                assertEquals(frame.getVelocity(), view.velocityOf(f), DELTA);
+            }
+            for (int e = 0; e < view.getEventCount(); e++) {
+                PhysicalEvent event = (PhysicalEvent) world.getEventList().get(e);
+                assertEquals(event.hasOccurred(), view.hasOccurredAt(e, time));
+            }
+        }
+    }
+
+    @Test
+    public void testSnapshotUnaffectedByLaterChanges() {
+        WorldView view = new WorldView(world);
+        world.setCurrentReferenceProperTime(100);
+        world.setCurrentReferenceAndUpdate(world.getAbsoluteStationaryFrame());
+        assertEquals("Frame A", view.getReferenceName());
+        assertEquals(0, view.posXAt(1, 100), DELTA);
+        assertEquals(100, view.properTimeAt(1, 100), DELTA);
+    }
+}
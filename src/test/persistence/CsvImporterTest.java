@@ -0,0 +1,111 @@
+package persistence;
+
+import model.FrameWorld;
+import model.PhysicalEvent;
+import model.RefFrame;
+import model.exceptions.FrameConstructException;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CsvImporterTest {
+    @Test
+    void testImportFrames() throws IOException, FrameConstructException {
+        FrameWorld frameWorld = new FrameWorld();
+        ImportReport report = new CsvImporter("./data/testImportFrames.csv").importFrames(frameWorld);
+
+        assertEquals(3, report.getImported().size());
+        assertEquals(4, frameWorld.getFrameList().size());
+        assertEquals(new RefFrame("Frame A", 2, 8, 5, 0.5), frameWorld.findFrameByName("Frame A"));
+        assertEquals(new RefFrame("Frame, B", -50, -20, -10, -0.7), frameWorld.findFrameByName("Frame, B"));
+        assertEquals(new RefFrame("Frame F", -0.125, 3, 4, 0.1), frameWorld.findFrameByName("Frame F"));
+
+        List<ImportReport.RejectedRow> rejected = report.getRejectedRows();
+        assertEquals(5, rejected.size());
+        int[] lines = new int[rejected.size()];
+        for (int i = 0; i < lines.length; i++) {
+            lines[i] = rejected.get(i).getLineNumber();
+        }
+        assertArrayEquals(new int[] {4, 5, 6, 7, 8}, lines);
+        assertTrue(rejected.get(1).toString().startsWith("line 5: malformed number"));
+        assertEquals("3 rows imported, 5 rows rejected", report.toString());
+    }
+
+    @Test
+    void testImportNameOfRejectedRowReused() throws IOException, FrameConstructException {
+        FrameWorld frameWorld = new FrameWorld();
+        ImportReport report = new CsvImporter("./data/testImportRejectedThenAccepted.csv").importFrames(frameWorld);
+
+        assertEquals(2, report.getImported().size());
+        assertEquals(new RefFrame("Frame G", 1, 2, 3, 0.5), frameWorld.findFrameByName("Frame G"));
+        assertEquals(new RefFrame("Frame H", 4, 0, 0, 0), frameWorld.findFrameByName("Frame H"));
+        assertEquals(2, report.getRejectedRows().size());
+        assertEquals(2, report.getRejectedRows().get(0).getLineNumber());
+        assertEquals(4, report.getRejectedRows().get(1).getLineNumber());
+    }
+
+    @Test
+    void testImportFramesInReferenceFrames() throws IOException, FrameConstructException {
+        FrameWorld frameWorld = new JsonReader("./data/testReaderGeneralFrameWorld.json").read();
+        RefFrame frameA = frameWorld.findFrameByName("Frame A");
+        RefFrame frameB = frameWorld.findFrameByName("Frame B");
+        ImportReport report = new CsvImporter("./data/testImportRelatedFrames.csv").importFrames(frameWorld);
+
+        assertEquals(4, report.getImported().size());
+        assertEquals(new RefFrame("Frame P", 2, 8, 5, 0.5, frameA), frameWorld.findFrameByName("Frame P"));
+        assertEquals(new RefFrame("Frame Q", -1, 0, 0, -0.2, frameB), frameWorld.findFrameByName("Frame Q"));
+        assertEquals(new RefFrame("Frame R", 3, 1, 0, 0.25), frameWorld.findFrameByName("Frame R"));
+        assertEquals(new RefFrame("Frame T", 4, 2, 1, 0.1, frameA), frameWorld.findFrameByName("Frame T"));
+
+        assertEquals(1, report.getRejectedRows().size());
+        assertEquals(5, report.getRejectedRows().get(0).getLineNumber());
+        assertEquals("no frame named Frame Z", report.getRejectedRows().get(0).getReason());
+    }
+
+    @Test
+    void testImportEventsWithMappedColumns() throws IOException, FrameConstructException {
+        FrameWorld frameWorld = new JsonReader("./data/testReaderGeneralFrameWorld.json").read();
+        CsvImporter importer = new CsvImporter("./data/testImportEvents.tsv");
+        importer.mapColumn(CsvImporter.NAME, "label");
+        importer.mapColumn(CsvImporter.INITIAL_POS_X, "x");
+        importer.mapColumn(CsvImporter.OCCUR_TIME, "time");
+        importer.mapColumn(CsvImporter.INITIAL_FRAME, "frame");
+        ImportReport report = importer.importEvents(frameWorld);
+
+        assertEquals(3, report.getImported().size());
+        assertEquals(5, frameWorld.getEventList().size());
+        RefFrame frameA = frameWorld.findFrameByName("Frame A");
+        assertEquals(new PhysicalEvent("Event 3", 50, 0, frameWorld.findFrameByName("Frame B")),
+                frameWorld.findEventByName("Event 3"));
+        assertEquals(new PhysicalEvent("Event\n4", 2, 1, frameA), frameWorld.findEventByName("Event\n4"));
+        assertEquals(new PhysicalEvent("Event 6", 100, 0.25, frameA), frameWorld.findEventByName("Event 6"));
+
+        assertEquals(2, report.getRejectedRows().size());
+        assertEquals(3, report.getRejectedRows().get(0).getLineNumber());
+        assertEquals(6, report.getRejectedRows().get(1).getLineNumber());
+        assertEquals("no frame named Frame Z", report.getRejectedRows().get(1).getReason());
+    }
+
+    @Test
+    void testImportMissingColumn() throws FrameConstructException {
+        try {
+            new CsvImporter("./data/testImportEvents.tsv").importEvents(new FrameWorld());
+            fail("IOException expected");
+        } catch (IOException e) {
+            // expected
+        }
+    }
+
+    @Test
+    void testImportMissingFile() throws FrameConstructException {
+        try {
+            new CsvImporter("./data/noSuchFile.csv").importFrames(new FrameWorld());
+            fail("IOException expected");
+        } catch (IOException e) {
+            // expected
+        }
+    }
+}
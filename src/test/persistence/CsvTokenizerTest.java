@@ -0,0 +1,74 @@
+package persistence;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CsvTokenizerTest {
+    @Test
+    void testFieldsAndQuotes() throws IOException {
+        CsvTokenizer rows = new CsvTokenizer(new StringReader("a,\"b, \"\"c\"\"\",\r\n\n\"d\ne\",f"), ',');
+        assertTrue(rows.nextRow());
+        assertEquals(1, rows.getLineNumber());
+        assertEquals(3, rows.getFieldCount());
+        assertEquals("a", rows.field(0));
+        assertEquals("b, \"c\"", rows.field(1));
+        assertTrue(rows.fieldEquals(1, "b, \"c\""));
+        assertEquals("", rows.field(2));
+
+        assertTrue(rows.nextRow());
+        assertEquals(3, rows.getLineNumber());
+        assertEquals("d\ne", rows.field(0));
+        assertEquals("f", rows.field(1));
+        assertTrue(rows.fieldEquals(1, "f"));
+        assertFalse(rows.fieldEquals(1, "g"));
+        assertFalse(rows.fieldEquals(1, "ff"));
+        assertFalse(rows.nextRow());
+    }
+
+    @Test
+    void testFieldDouble() throws IOException {
+        String[] numbers = {"0", "-0", "+3.25", " 0.1 ", "1e-5", "1E3", "-0.0001", "123456789012345678901",
+            "0.30000000000000004", "9007199254740993", "1.7976931348623157e308", "4.9e-324", "12.", ".5", "2e+2"};
+        CsvTokenizer rows = new CsvTokenizer(new StringReader(String.join("\t", numbers)), '\t');
+        assertTrue(rows.nextRow());
+        for (int i = 0; i < numbers.length; i++) {
+            assertEquals(Double.parseDouble(numbers[i]), rows.fieldDouble(i), numbers[i]);
+        }
+    }
+
+    @Test
+    void testFieldDoubleMalformed() throws IOException {
+        String[] malformed = {"", "-", ".", "1.2.3", "1e", "e5", "abc", "1,5", "0x10", "NaN"};
+        CsvTokenizer rows = new CsvTokenizer(new StringReader(String.join(";", malformed)), ';');
+        assertTrue(rows.nextRow());
+        assertEquals(malformed.length, rows.getFieldCount());
+        for (int i = 0; i < malformed.length; i++) {
+            try {
+                rows.fieldDouble(i);
+                fail("NumberFormatException expected for " + malformed[i]);
+            } catch (NumberFormatException e) {
+                // expected
+            }
+        }
+    }
+
+    @Test
+    void testRowsAcrossBufferRefills() throws IOException {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < 50000; i++) {
+            text.append("\"name ").append(i).append("\",").append(i).append(".5\r\n");
+        }
+        CsvTokenizer rows = new CsvTokenizer(new StringReader(text.toString()), ',');
+        for (int i = 0; i < 50000; i++) {
+            assertTrue(rows.nextRow());
+            assertEquals(i + 1, rows.getLineNumber());
+            assertEquals("name " + i, rows.field(0));
+            assertEquals(i + 0.5, rows.fieldDouble(1));
+        }
+        assertFalse(rows.nextRow());
+    }
+}
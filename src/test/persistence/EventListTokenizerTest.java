@@ -0,0 +1,88 @@
+package persistence;
+
+import model.PhysicalObject;
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class EventListTokenizerTest {
+    @Test
+    void testTokenizeEvents() {
+        EventListTokenizer tokenizer = new EventListTokenizer("{\"eventList\": [\n"
+                + "  {\"occurTime\": -2.5E1, \"name\": \"Event \\\"1\\\"\\n\\u0041\", \"initialPosX\": 3,"
+                + " \"initialFrameId\": 7, \"id\": 12},\n"
+                + "  {\"name\": \"Event 2\", \"extra\": {\"list\": [1, \"]}\"]}, \"initialPosX\": 0.5,"
+                + " \"occurTime\": 0, \"initialFrame\": \"Frame, A\"}\n"
+                + "], \"currentReference\": \"Frame, A\"}");
+        assertEquals(1, tokenizer.getChunkCount());
+        JSONObject rest = new JSONObject(tokenizer.getRest());
+        assertEquals(0, rest.getJSONArray("eventList").length());
+        assertEquals("Frame, A", rest.getString("currentReference"));
+
+        EventListTokenizer.EventFields fields = tokenizer.tokenizeChunk(0);
+        assertEquals(2, fields.getCount());
+        assertEquals(12, fields.getId(0));
+        assertEquals("Event \"1\"\nA", fields.getName(0));
+        assertEquals(3, fields.getInitialPosX(0));
+        assertEquals(-25, fields.getOccurTime(0));
+        assertEquals(7, fields.getInitialFrameId(0));
+        assertNull(fields.getInitialFrameName(0));
+
+        assertEquals(PhysicalObject.NEW_ID, fields.getId(1));
+        assertEquals("Event 2", fields.getName(1));
+        assertEquals(0.5, fields.getInitialPosX(1));
+        assertEquals("Frame, A", fields.getInitialFrameName(1));
+    }
+
+    @Test
+    void testCutIntoChunks() {
+        StringBuilder text = new StringBuilder("{\"frameList\": [], \"eventList\": [");
+        int count = EventListTokenizer.CHUNK_SIZE * 2 + 1;
+        for (int i = 0; i < count; i++) {
+            text.append(i == 0 ? "" : ",").append("{\"name\": \"E").append(i)
+                    .append("\", \"initialPosX\": ").append(i).append(", \"occurTime\": 0, \"initialFrameId\": 1}");
+        }
+        EventListTokenizer tokenizer = new EventListTokenizer(text.append("]}").toString());
+
+        assertEquals(3, tokenizer.getChunkCount());
+        assertEquals(EventListTokenizer.CHUNK_SIZE, tokenizer.tokenizeChunk(1).getCount());
+        EventListTokenizer.EventFields last = tokenizer.tokenizeChunk(2);
+        assertEquals(1, last.getCount());
+        assertEquals("E" + (count - 1), last.getName(0));
+        assertEquals(count - 1, last.getInitialPosX(0));
+    }
+
+    @Test
+    void testNoEventList() {
+        String text = "{\"frameList\": [{\"name\": \"eventList\"}], \"eventList\": null}";
+        EventListTokenizer tokenizer = new EventListTokenizer(text);
+        assertEquals(0, tokenizer.getChunkCount());
+        assertEquals(text, tokenizer.getRest());
+    }
+
+    @Test
+    void testMissingField() {
+        EventListTokenizer tokenizer = new EventListTokenizer(
+                "{\"eventList\": [{\"name\": \"E\", \"initialPosX\": 1, \"initialFrameId\": 1}]}");
+        try {
+            tokenizer.tokenizeChunk(0);
+            fail("JSONException expected");
+        } catch (JSONException e) {
+            // pass
+        }
+    }
+
+    @Test
+    void testMalformedEvent() {
+        EventListTokenizer tokenizer = new EventListTokenizer(
+                "{\"eventList\": [{\"name\": \"E\" \"initialPosX\": 1, \"occurTime\": x, \"initialFrameId\": 1}]}");
+        try {
+            tokenizer.tokenizeChunk(0);
+            fail("JSONException expected");
+        } catch (JSONException e) {
+            // pass
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package persistence;
+
+import model.FrameWorld;
+import model.RefFrame;
+import model.exceptions.FrameConstructException;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.nio.file.attribute.FileTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FileStampTest {
+    private static final String STAMPED_FILE = "./data/testWriterEmptyWorkroom.json";
+
+    @Test
+    void testStampMissingFile() {
+        try {
+            new FileStamp("./data/wrongFilePath.json", 0);
+            fail("IOException expected");
+        } catch (IOException e) {
+            // pass
+        }
+    }
+
+    @Test
+    void testMatches() {
+        try {
+            FrameWorld frameWorld = new FrameWorld();
+            JsonWriter writer = new JsonWriter(STAMPED_FILE);
+            writer.open();
+            writer.write(frameWorld);
+            writer.close();
+
+            FileStamp stamp = new FileStamp(STAMPED_FILE, frameWorld.contentHash());
+            assertTrue(stamp.isFileUnchanged());
+            assertTrue(stamp.matches(frameWorld));
+
+            frameWorld.addFrame(new RefFrame("Frame A", 2, 8, 5, 0.5));
+            assertFalse(stamp.matches(frameWorld));
+        } catch (IOException e) {
+            fail("IOException should not be thrown");
+        } catch (FrameConstructException frameConstructException) {
+            fail("FrameConstructException should not be thrown");
+        }
+    }
+
+    @Test
+    void testFileChanged() {
+        try {
+            FrameWorld frameWorld = new FrameWorld();
+            FileStamp stamp = new FileStamp(STAMPED_FILE, frameWorld.contentHash());
+            FileTime lastModified = Files.getLastModifiedTime(Paths.get(STAMPED_FILE));
+            Files.setLastModifiedTime(Paths.get(STAMPED_FILE), FileTime.fromMillis(lastModified.toMillis() + 1000));
+
+            assertFalse(stamp.isFileUnchanged());
+            assertFalse(stamp.matches(frameWorld));
+        } catch (IOException e) {
+            fail("IOException should not be thrown");
+        } catch (FrameConstructException frameConstructException) {
+            fail("FrameConstructException should not be thrown");
+        }
+    }
+}
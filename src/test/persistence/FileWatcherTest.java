@@ -0,0 +1,116 @@
+package persistence;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FileWatcherTest {
+    private static final long DEBOUNCE_MILLIS = 300;
+
+    private Path directory;
+    private Path watchedFile;
+
+    @BeforeEach
+    void runBefore() throws IOException {
+        directory = Files.createTempDirectory("testFileWatcher");
+        watchedFile = directory.resolve("watched.json");
+    }
+
+    @AfterEach
+    void runAfter() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path next : (Iterable<Path>) files::iterator) {
+                Files.delete(next);
+            }
+        }
+        Files.delete(directory);
+    }
+
+    @Test
+    void testBurstOfWritesNotifiesOnce() {
+        Semaphore changes = new Semaphore(0);
+        try (FileWatcher watcher = new FileWatcher(watchedFile.toString(), DEBOUNCE_MILLIS, changes::release)) {
+            watcher.start();
+            for (int i = 0; i < 5; i++) {
+                Files.write(watchedFile, ("{\"write\": " + i + "}").getBytes(StandardCharsets.UTF_8));
+            }
+            assertTrue(changes.tryAcquire(10, TimeUnit.SECONDS));
+            assertFalse(changes.tryAcquire(DEBOUNCE_MILLIS * 3, TimeUnit.MILLISECONDS));
+        } catch (IOException e) {
+            fail("IOException should not be thrown");
+        } catch (InterruptedException e) {
+            fail("Test interrupted");
+        }
+    }
+
+    @Test
+    void testOtherFilesIgnored() {
+        Semaphore changes = new Semaphore(0);
+        try (FileWatcher watcher = new FileWatcher(watchedFile.toString(), DEBOUNCE_MILLIS, changes::release)) {
+            watcher.start();
+            Files.write(directory.resolve("other.json"), "{}".getBytes(StandardCharsets.UTF_8));
+            assertFalse(changes.tryAcquire(DEBOUNCE_MILLIS * 3, TimeUnit.MILLISECONDS));
+        } catch (IOException e) {
+            fail("IOException should not be thrown");
+        } catch (InterruptedException e) {
+            fail("Test interrupted");
+        }
+    }
+
+    @Test
+    void testOtherFilesDoNotPostpone() {
+        Semaphore changes = new Semaphore(0);
+        try (FileWatcher watcher = new FileWatcher(watchedFile.toString(), DEBOUNCE_MILLIS, changes::release)) {
+            watcher.start();
+            Files.write(watchedFile, "{}".getBytes(StandardCharsets.UTF_8));
+            boolean notified = false;
+            for (int i = 0; i < 40 && !notified; i++) {
+                Files.write(directory.resolve("other.json.tmp"), ("{\"write\": " + i + "}")
+                        .getBytes(StandardCharsets.UTF_8));
+                notified = changes.tryAcquire(DEBOUNCE_MILLIS / 6, TimeUnit.MILLISECONDS);
+            }
+            assertTrue(notified);
+        } catch (IOException e) {
+            fail("IOException should not be thrown");
+        } catch (InterruptedException e) {
+            fail("Test interrupted");
+        }
+    }
+
+    @Test
+    void testClosedWatcherStops() {
+        Semaphore changes = new Semaphore(0);
+        try {
+            FileWatcher watcher = new FileWatcher(watchedFile.toString(), DEBOUNCE_MILLIS, changes::release);
+            watcher.start();
+            watcher.close();
+            Files.write(watchedFile, "{}".getBytes(StandardCharsets.UTF_8));
+            assertFalse(changes.tryAcquire(DEBOUNCE_MILLIS * 3, TimeUnit.MILLISECONDS));
+        } catch (IOException e) {
+            fail("IOException should not be thrown");
+        } catch (InterruptedException e) {
+            fail("Test interrupted");
+        }
+    }
+
+    @Test
+    void testMissingDirectory() {
+        try {
+            new FileWatcher(directory.resolve("noSuchDirectory").resolve("file.json").toString(), DEBOUNCE_MILLIS,
+                    () -> { });
+            fail("IOException expected");
+        } catch (IOException e) {
+            // pass
+        }
+    }
+}
@@ -6,7 +6,17 @@ import model.FrameWorld;
 import model.exceptions.FrameConstructException;
 import org.junit.jupiter.api.Test;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.zip.DeflaterOutputStream;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -37,6 +47,41 @@ public class JsonReaderTest {
         }
     }
 
+    @Test
+    void testReaderManyEventsInChunks() {
+        try {
+            FrameWorld frameWorld = new FrameWorld();
+            RefFrame frame = new RefFrame("Frame", 1, 2, 3, 0.3);
+            frameWorld.addFrame(frame);
+            for (int i = 0; i < 10000; i++) {
+                frameWorld.addEvent(new PhysicalEvent("Event" + i, i * 0.5, -i, frame));
+            }
+            byte[] json = frameWorld.toJson().toString().getBytes(StandardCharsets.UTF_8);
+            FrameWorld readFrameWorld = new JsonReader("memory").read(new ByteArrayInputStream(json),
+                    (parsed, total) -> { });
+            assertEquals(frameWorld, readFrameWorld);
+            assertEquals(frameWorld.contentHash(), readFrameWorld.contentHash());
+            assertEquals("Event9999", readFrameWorld.getEventList().get(9999).getName());
+        } catch (IOException e) {
+            fail("IOException should not be thrown");
+        } catch (FrameConstructException frameConstructException) {
+            fail("FrameConstructException should not be thrown");
+        }
+    }
+
+    @Test
+    void testReaderUnknownInitialFrame() {
+        JsonReader reader = new JsonReader("./data/testReaderUnknownInitialFrame.json");
+        try {
+            reader.read();
+            fail("FrameConstructionException expected");
+        } catch (IOException e) {
+            fail("IOException should not be thrown");
+        } catch (FrameConstructException frameConstructException) {
+            // expected
+        }
+    }
+
 
     @Test
     void testReaderNewFrameWorld() {
@@ -74,4 +119,105 @@ public class JsonReaderTest {
             fail("FrameConstructionException should not be thrown");
         }
     }
+
+    @Test
+    void testReaderReportsProgress() {
+        JsonReader reader = new JsonReader("./data/testReaderGeneralFrameWorld.json");
+        List<Integer> progress = new ArrayList<>();
+        try {
+            reader.read((parsed, total) -> {
+                assertEquals(JsonReader.PROGRESS_TOTAL, total);
+                progress.add(parsed);
+            });
+            assertTrue(progress.size() > 4);
+            for (int i = 1; i < progress.size(); i++) {
+                assertTrue(progress.get(i - 1) <= progress.get(i));
+            }
+            assertTrue(progress.get(0) > 0);
+            assertEquals(JsonReader.PROGRESS_TOTAL, (int) progress.get(progress.size() - 1));
+        } catch (IOException e) {
+            fail("Couldn't read from file");
+        } catch (FrameConstructException frameConstructException) {
+            fail("FrameConstructionException should not be thrown");
+        }
+    }
+
+    @Test
+    void testReaderCancelledWhileReading() throws FrameConstructException {
+        JsonReader reader = new JsonReader("./data/testReaderGeneralFrameWorld.json");
+        List<Integer> progress = new ArrayList<>();
+        try {
+            reader.read((parsed, total) -> {
+                progress.add(parsed);
+                throw new CancellationException();
+            });
+            fail("CancellationException expected");
+        } catch (CancellationException e) {
+            assertEquals(1, progress.size());
+            assertTrue(progress.get(0) < JsonReader.PROGRESS_TOTAL);
+        } catch (IOException e) {
+            fail("Couldn't read from file");
+        }
+    }
+
+    @Test
+    void testReaderDeflateCompressedFrameWorld() {
+        try {
+            byte[] plain = Files.readAllBytes(Paths.get("./data/testReaderGeneralFrameWorld.json"));
+            Path deflatedFile = Files.createTempFile("testReaderDeflatedFrameWorld", ".json.z");
+            try {
+                try (OutputStream out = new DeflaterOutputStream(Files.newOutputStream(deflatedFile))) {
+                    out.write(plain);
+                }
+
+                FrameWorld plainWorld = new JsonReader("./data/testReaderGeneralFrameWorld.json").read();
+                FrameWorld deflatedWorld = new JsonReader(deflatedFile.toString()).read();
+                assertTrue(deflatedWorld.equals(plainWorld));
+            } finally {
+                Files.delete(deflatedFile);
+            }
+        } catch (IOException e) {
+            fail("Couldn't read from file");
+        } catch (FrameConstructException frameConstructException) {
+            fail("FrameConstructionException should not be thrown");
+        }
+    }
+
+    @Test
+    void testReaderKeepsIds() {
+        try {
+            FrameWorld frameWorld = new FrameWorld();
+            RefFrame frame = new RefFrame("Frame", 1, 2, 3, 0.3);
+            frameWorld.addFrame(frame);
+            PhysicalEvent event = new PhysicalEvent("Event", 1, 2, frame);
+            frameWorld.addEvent(event);
+            frameWorld.addEvent(new PhysicalEvent("Stationary Event", 3, 4, frameWorld.getAbsoluteStationaryFrame()));
+            byte[] json = frameWorld.toJson().toString().getBytes(StandardCharsets.UTF_8);
+            FrameWorld readFrameWorld = new JsonReader("memory").read(new ByteArrayInputStream(json),
+                    (parsed, total) -> { });
+            assertEquals(frameWorld, readFrameWorld);
+            assertEquals("Frame", readFrameWorld.findFrameById(frame.getId()).getName());
+            assertEquals(event.getId(), readFrameWorld.findEventByName("Event").getId());
+            assertSame(readFrameWorld.getAbsoluteStationaryFrame(),
+                    readFrameWorld.findEventByName("Stationary Event").getInitialFrame());
+            assertTrue(new RefFrame("New", 0, 0, 0, 0).getId() > event.getId());
+        } catch (IOException e) {
+            fail("IOException should not be thrown");
+        } catch (FrameConstructException frameConstructException) {
+            fail("FrameConstructException should not be thrown");
+        }
+    }
+
+    @Test
+    void testReaderDuplicateFrameId() {
+        JsonReader reader = new JsonReader("./data/testReaderDuplicateFrameId.json");
+        try {
+            reader.read();
+            fail("FrameConstructionException expected");
+        } catch (IOException e) {
+            fail("IOException should not be thrown");
+        } catch (FrameConstructException frameConstructException) {
+            // expected
+        }
+    }
 }
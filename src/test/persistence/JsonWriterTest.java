@@ -4,13 +4,27 @@ import model.PhysicalEvent;
 import model.RefFrame;
 import model.FrameWorld;
 import model.exceptions.FrameConstructException;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 
 import static org.junit.jupiter.api.Assertions.*;
 
 public class JsonWriterTest {
+    private static final String FULL_DEVICE = "/dev/full"; // every write to it fails for lack of space
+    private Path writtenFile; // temporary file written by the test, so that no fixture changes with new object ids
+
+    @AfterEach
+    void runAfter() throws IOException {
+        if (writtenFile != null) {
+            Files.delete(writtenFile);
+        }
+    }
+
     @Test
     void testWriterInvalidFile() {
         try {
@@ -60,12 +74,13 @@ public class JsonWriterTest {
 
             frameWorld.setCurrentReferenceAndUpdate(frame2);
 
-            JsonWriter writer = new JsonWriter("./data/testWriterGeneralFrameWorld.json");
+            writtenFile = Files.createTempFile("testWriterGeneralFrameWorld", ".json");
+            JsonWriter writer = new JsonWriter(writtenFile.toString());
             writer.open();
             writer.write(frameWorld);
             writer.close();
 
-            JsonReader reader = new JsonReader("./data/testWriterGeneralFrameWorld.json");
+            JsonReader reader = new JsonReader(writtenFile.toString());
             FrameWorld readFrameWorld = reader.read();
             assertTrue(readFrameWorld.equals(frameWorld));
         } catch (IOException e) {
@@ -74,4 +89,53 @@ public class JsonWriterTest {
             fail("FrameConstructException should not be thrown");
         }
     }
+
+    @Test
+    void testWriterCompressedFrameWorld() {
+        try {
+            FrameWorld frameWorld = new FrameWorld();
+            RefFrame frame1 = new RefFrame("Frame1", 10, 20, 30, 0.5);
+            frameWorld.addFrame(frame1);
+            frameWorld.addEvent(new PhysicalEvent("Event1", 10, 20, frame1));
+            frameWorld.setCurrentReferenceAndUpdate(frame1);
+
+            writtenFile = Files.createTempFile("testWriterCompressedFrameWorld", ".json.gz");
+            JsonWriter writer = new JsonWriter(writtenFile.toString(), true);
+            writer.open();
+            writer.write(frameWorld);
+            writer.close();
+
+            byte[] written = Files.readAllBytes(writtenFile);
+            assertEquals((byte) 0x1f, written[0]);
+            assertEquals((byte) 0x8b, written[1]);
+
+            JsonReader reader = new JsonReader(writtenFile.toString());
+            FrameWorld readFrameWorld = reader.read();
+            assertTrue(readFrameWorld.equals(frameWorld));
+        } catch (IOException e) {
+            fail("IOException should not be thrown");
+        } catch (FrameConstructException frameConstructException) {
+            fail("FrameConstructException should not be thrown");
+        }
+    }
+
+    @Test
+    void testWriterReportsFailedWrite() {
+        if (!Files.isWritable(Paths.get(FULL_DEVICE))) {
+            return; // no device that is always full on this system
+        }
+        try {
+            FrameWorld frameWorld = new FrameWorld();
+            frameWorld.addFrame(new RefFrame("Frame1", 10, 20, 30, 0.5));
+            JsonWriter writer = new JsonWriter(FULL_DEVICE);
+            writer.open();
+            writer.write(frameWorld);
+            writer.close();
+            fail("IOException was expected");
+        } catch (IOException e) {
+            // pass
+        } catch (FrameConstructException frameConstructException) {
+            fail("FrameConstructException should not be thrown");
+        }
+    }
 }
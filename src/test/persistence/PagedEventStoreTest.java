@@ -0,0 +1,174 @@
+package persistence;
+
+import model.FrameWorld;
+import model.PhysicalEvent;
+import model.PhysicalObject;
+import model.RefFrame;
+import model.WorldView;
+import model.exceptions.FrameConstructException;
+import model.exceptions.SameNameException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PagedEventStoreTest {
+    private FrameWorld original;
+    private Path storeFile; // temporary files, so that no fixture changes with new object ids
+    private Path copyFile;
+
+    @BeforeEach
+    void runBefore() throws FrameConstructException, IOException {
+        storeFile = Files.createTempFile("testPagedEventStore", ".pages");
+        copyFile = Files.createTempFile("testPagedEventStoreCopy", ".pages");
+        original = new FrameWorld();
+        RefFrame frameA = new RefFrame("Frame A", 2, 8, 5, 0.5);
+        RefFrame frameB = new RefFrame("Frame B", -50, -20, -10, -0.7);
+        RefFrame frameC = new RefFrame("Frame C", 0, 0, 0, 0.1);
+        original.addFrame(frameA);
+        original.addFrame(frameB);
+        original.addFrame(frameC);
+        for (int i = 0; i < 3; i++) {
+            original.addEvent(new PhysicalEvent("A" + i, i, -i, frameA));
+            original.addEvent(new PhysicalEvent("B" + i, -i, i, frameB));
+        }
+        original.setCurrentReferenceAndUpdate(frameB);
+        original.setCurrentReferenceProperTime(4);
+        PagedEventStore.save(storeFile.toString(), original);
+    }
+
+    @AfterEach
+    void runAfter() throws IOException {
+        Files.delete(storeFile);
+        Files.delete(copyFile);
+    }
+
+    @Test
+    void testOpenKeepsEventsOnDisk() throws IOException, FrameConstructException {
+        FrameWorld paged = PagedEventStore.open(storeFile.toString(), 3);
+        assertEquals(original.getFrameList(), paged.getFrameList());
+        assertEquals("Frame B", paged.getCurrentReference().getName());
+        assertTrue(paged.isPagedOut(paged.findFrameByName("Frame A")));
+        assertTrue(paged.isPagedOut(paged.findFrameByName("Frame B")));
+        assertFalse(paged.isPagedOut(paged.findFrameByName("Frame C")));
+        assertEquals(0, paged.getResidentEventCount());
+        assertEquals(original.contentHash(), paged.contentHash());
+    }
+
+    @Test
+    void testPageInThroughFrame() throws IOException, FrameConstructException {
+        FrameWorld paged = PagedEventStore.open(storeFile.toString(), 3);
+        RefFrame frameA = paged.findFrameByName("Frame A");
+        assertEquals(3, frameA.getObservedEvents().size());
+        assertFalse(paged.isPagedOut(frameA));
+        assertTrue(paged.isPagedOut(paged.findFrameByName("Frame B")));
+        PhysicalEvent a1 = frameA.findEventByName("A1");
+        PhysicalEvent originalA1 = original.findEventByName("A1");
+        assertEquals(originalA1, a1);
+        assertEquals(originalA1.getCurrentOccurTime(), a1.getCurrentOccurTime(), 1e-9);
+        assertEquals(originalA1.hasOccurred(), a1.hasOccurred());
+    }
+
+    @Test
+    void testPageOutOverBudget() throws IOException, FrameConstructException {
+        FrameWorld paged = PagedEventStore.open(storeFile.toString(), 3);
+        RefFrame frameA = paged.findFrameByName("Frame A");
+        RefFrame frameB = paged.findFrameByName("Frame B");
+        frameA.getObservedEvents();
+        assertEquals(3, paged.getResidentEventCount());
+        frameB.getObservedEvents();
+        assertTrue(paged.isPagedOut(frameA));
+        assertFalse(paged.isPagedOut(frameB));
+        assertEquals(3, paged.getResidentEventCount());
+        assertNull(paged.findEventByName("C0"));
+        assertEquals(frameA, paged.findEventByName("A2").getInitialFrame());
+        assertTrue(paged.isPagedOut(frameB));
+        assertEquals(original.contentHash(), paged.contentHash());
+    }
+
+    @Test
+    void testEventListPagesInAll() throws IOException, FrameConstructException {
+        FrameWorld paged = PagedEventStore.open(storeFile.toString(), 3);
+        Set<PhysicalObject> events = new HashSet<>(paged.getEventList());
+        assertEquals(new HashSet<>(original.getEventList()), events);
+        assertEquals(6, paged.getResidentEventCount());
+    }
+
+    @Test
+    void testForEachEventStaysInBudget() throws IOException, FrameConstructException {
+        FrameWorld paged = PagedEventStore.open(storeFile.toString(), 3);
+        assertEquals(6, paged.getEventCount());
+        assertEquals(0, paged.getResidentEventCount());
+        Set<String> names = new HashSet<>();
+        paged.forEachEvent(event -> {
+            assertTrue(paged.getResidentEventCount() <= 3);
+            names.add(event.getName());
+        });
+        assertEquals(6, names.size());
+        assertEquals(3, paged.getResidentEventCount());
+        assertEquals(6, paged.getEventCount());
+    }
+
+    @Test
+    void testViewOfPagedWorld() throws IOException, FrameConstructException {
+        FrameWorld paged = PagedEventStore.open(storeFile.toString(), 3);
+        WorldView view = new WorldView(paged);
+        assertEquals(6, view.getEventCount());
+        assertTrue(paged.getResidentEventCount() <= 3);
+        for (int i = 0; i < view.getEventCount(); i++) {
+            PhysicalEvent originalEvent = original.findEventByName(view.getEventName(i));
+            assertEquals(originalEvent.getCurrentOccurX(), view.occurXOf(i), 1e-9);
+            assertEquals(originalEvent.getCurrentOccurTime(), view.occurTimeOf(i), 1e-9);
+        }
+    }
+
+    @Test
+    void testChangedPagesStayInMemory() throws IOException, FrameConstructException {
+        FrameWorld paged = PagedEventStore.open(storeFile.toString(), 3);
+        RefFrame frameA = paged.findFrameByName("Frame A");
+        RefFrame frameB = paged.findFrameByName("Frame B");
+        try {
+            paged.addEvent(new PhysicalEvent("B1", 0, 0, paged.findFrameByName("Frame C")));
+            fail("SameNameException expected");
+        } catch (SameNameException sameNameException) {
+            // expected
+        }
+        paged.addEvent(new PhysicalEvent("A3", 3, 3, frameA));
+        frameB.getObservedEvents();
+        assertFalse(paged.isPagedOut(frameA));
+        assertEquals(4, frameA.getObservedEvents().size());
+
+        paged.deleteEvent(paged.findEventByName("B0"));
+        assertNull(paged.findEventByName("B0"));
+
+        original.addEvent(new PhysicalEvent("A3", 3, 3, original.findFrameByName("Frame A")));
+        original.deleteEvent(original.findEventByName("B0"));
+        assertEquals(original.contentHash(), paged.contentHash());
+    }
+
+    @Test
+    void testDeletePagedOutFrame() throws IOException, FrameConstructException {
+        FrameWorld paged = PagedEventStore.open(storeFile.toString(), 3);
+        original.deleteFrame(original.findFrameByName("Frame A"));
+        paged.deleteFrame(paged.findFrameByName("Frame A"));
+        assertNull(paged.findEventByName("A0"));
+        assertEquals(original.contentHash(), paged.contentHash());
+        assertEquals(new HashSet<>(original.getEventList()), new HashSet<>(paged.getEventList()));
+    }
+
+    @Test
+    void testSaveAgainFromPagedWorld() throws IOException, FrameConstructException {
+        FrameWorld paged = PagedEventStore.open(storeFile.toString(), 1);
+        PagedEventStore.save(copyFile.toString(), paged);
+        FrameWorld copy = PagedEventStore.open(copyFile.toString(), 100);
+        assertEquals(original.contentHash(), copy.contentHash());
+        assertEquals(new HashSet<>(original.getEventList()), new HashSet<>(copy.getEventList()));
+    }
+}
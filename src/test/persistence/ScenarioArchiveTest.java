@@ -0,0 +1,170 @@
+package persistence;
+
+import model.FrameWorld;
+import model.PhysicalEvent;
+import model.RefFrame;
+import model.exceptions.FrameConstructException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ScenarioArchiveTest {
+    private Path archiveFile; // temporary file, deleted after each test
+    private ScenarioArchive archive;
+    private FrameWorld world1;
+    private FrameWorld world2;
+
+    @BeforeEach
+    void runBefore() throws IOException, FrameConstructException {
+        archiveFile = Files.createTempFile("testScenarioArchive", ".archive");
+        Files.delete(archiveFile);
+        archive = new ScenarioArchive(archiveFile.toString());
+
+        world1 = new FrameWorld();
+        RefFrame frame1 = new RefFrame("Frame1", 10, 20, 30, 0.5);
+        world1.addFrame(frame1);
+        world1.addEvent(new PhysicalEvent("Event1", 10, 20, frame1));
+
+        world2 = new FrameWorld();
+        RefFrame frame2 = new RefFrame("Frame2", -9, -8, -7, -0.35);
+        world2.addFrame(frame2);
+        world2.addEvent(new PhysicalEvent("Event2", -6, -10, frame2));
+        world2.setCurrentReferenceAndUpdate(frame2);
+    }
+
+    @AfterEach
+    void runAfter() throws IOException {
+        Files.deleteIfExists(archiveFile);
+    }
+
+    @Test
+    void testEmptyArchive() throws IOException {
+        assertTrue(archive.getScenarioNames().isEmpty());
+    }
+
+    @Test
+    void testAppendAndRead() throws IOException, FrameConstructException {
+        archive.append("first", world1);
+        archive.append("second", world2);
+
+        assertEquals(Arrays.asList("first", "second"), archive.getScenarioNames());
+        assertEquals(world1, archive.read("first"));
+        FrameWorld readWorld2 = archive.read("second");
+        assertEquals(world2, readWorld2);
+        assertEquals("Frame2", readWorld2.getCurrentReference().getName());
+    }
+
+    @Test
+    void testAppendDoesNotRewriteScenarios() throws IOException, FrameConstructException {
+        archive.append("first", world1);
+        byte[] before = Files.readAllBytes(archiveFile);
+        archive.append("second", world2);
+        byte[] after = Files.readAllBytes(archiveFile);
+
+        // everything written before, the old index and trailer included, is kept as it was
+        assertArrayEquals(before, Arrays.copyOf(after, before.length));
+        assertEquals(world1, archive.read("first"));
+    }
+
+    @Test
+    void testInterruptedAppendKeepsScenarios() throws IOException, FrameConstructException {
+        archive.append("first", world1);
+        byte[] before = Files.readAllBytes(archiveFile);
+        archive.append("second", world2);
+        byte[] after = Files.readAllBytes(archiveFile);
+
+        for (int cut : new int[]{before.length + 1, (before.length + after.length) / 2, after.length - 1}) {
+            // the append stopped after writing only the first cut bytes of the file
+            Files.write(archiveFile, Arrays.copyOf(after, cut));
+            assertEquals(Arrays.asList("first"), archive.getScenarioNames());
+            assertEquals(world1, archive.read("first"));
+        }
+
+        archive.append("third", world2);
+        assertEquals(Arrays.asList("first", "third"), archive.getScenarioNames());
+        assertEquals(world1, archive.read("first"));
+        assertEquals(world2, archive.read("third"));
+    }
+
+    @Test
+    void testCompact() throws IOException, FrameConstructException {
+        archive.append("first", world1);
+        archive.append("second", world2);
+        archive.append("first", world2);
+        long sizeBefore = Files.size(archiveFile);
+
+        archive.compact();
+        assertTrue(Files.size(archiveFile) < sizeBefore);
+        assertEquals(Arrays.asList("first", "second"), archive.getScenarioNames());
+        assertEquals(world2, archive.read("first"));
+        assertEquals(world2, archive.read("second"));
+    }
+
+    @Test
+    void testAppendCompactsWhenMostlyReplaced() throws IOException, FrameConstructException {
+        archive.append("first", world1);
+        long singleSize = Files.size(archiveFile);
+        archive.append("first", world1);
+        assertTrue(Files.size(archiveFile) > singleSize);
+
+        archive.append("first", world1);
+        assertEquals(singleSize, Files.size(archiveFile));
+        assertEquals(world1, archive.read("first"));
+    }
+
+    @Test
+    void testAppendReplacesSameName() throws IOException, FrameConstructException {
+        archive.append("first", world1);
+        archive.append("first", world2);
+
+        assertEquals(Arrays.asList("first"), archive.getScenarioNames());
+        assertEquals(world2, archive.read("first"));
+    }
+
+    @Test
+    void testReadMissingScenario() throws IOException, FrameConstructException {
+        archive.append("first", world1);
+        try {
+            archive.read("second");
+            fail("IOException was expected");
+        } catch (IOException e) {
+            // pass
+        }
+    }
+
+    @Test
+    void testReadCorruptedScenario() throws IOException, FrameConstructException {
+        archive.append("first", world1);
+        try (RandomAccessFile file = new RandomAccessFile(archiveFile.toFile(), "rw")) {
+            file.seek(20);
+            int b = file.read();
+            file.seek(20);
+            file.write(b ^ 0xff);
+        }
+        try {
+            archive.read("first");
+            fail("IOException was expected");
+        } catch (IOException e) {
+            // pass
+        }
+    }
+
+    @Test
+    void testNotAnArchive() {
+        archive = new ScenarioArchive("./data/testReaderGeneralFrameWorld.json");
+        try {
+            archive.getScenarioNames();
+            fail("IOException was expected");
+        } catch (IOException e) {
+            // pass
+        }
+    }
+}
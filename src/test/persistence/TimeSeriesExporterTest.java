@@ -0,0 +1,114 @@
+package persistence;
+
+import model.FrameWorld;
+import model.PhysicalEvent;
+import model.RefFrame;
+import model.WorldView;
+import model.exceptions.FrameConstructException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TimeSeriesExporterTest {
+    private WorldView view;
+    private Path exportedFile; // temporary file exported by the test, so that no fixture is written
+
+    @BeforeEach
+    void runBefore() throws FrameConstructException {
+        FrameWorld frameWorld = new FrameWorld();
+        RefFrame frame = new RefFrame("Frame, A", 0, 0, 0, 0.6);
+        frameWorld.addFrame(frame);
+        frameWorld.addEvent(new PhysicalEvent("Event", 0, 1, frameWorld.getAbsoluteStationaryFrame()));
+        view = new WorldView(frameWorld);
+    }
+
+    @AfterEach
+    void runAfter() throws IOException {
+        if (exportedFile != null) {
+            Files.delete(exportedFile);
+        }
+    }
+
+    @Test
+    void testTickCount() {
+        assertEquals(11, TimeSeriesExporter.tickCount(0, 1, 0.1));
+        assertEquals(1, TimeSeriesExporter.tickCount(2, 2, 1));
+        assertEquals(3, TimeSeriesExporter.tickCount(0, 2.5, 1));
+        try {
+            TimeSeriesExporter.tickCount(0, 1, 0);
+            fail("IllegalArgumentException expected");
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+        try {
+            TimeSeriesExporter.tickCount(1, 0, 1);
+            fail("IllegalArgumentException expected");
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+    }
+
+    @Test
+    void testExportCsv() throws IOException {
+        exportedFile = Files.createTempFile("testExportTimeSeries", ".csv");
+        assertEquals(3, new TimeSeriesExporter(exportedFile.toString()).export(view, 0, 2, 1));
+
+        List<String> lines = Files.readAllLines(exportedFile, StandardCharsets.UTF_8);
+        assertEquals(4, lines.size());
+        assertEquals("time,Absolute Stationary Frame posX,Absolute Stationary Frame properTime,"
+                + "Absolute Stationary Frame velocity,\"Frame, A posX\",\"Frame, A properTime\","
+                + "\"Frame, A velocity\",Event occurred", lines.get(0));
+        assertEquals("0.0,0.0,0.0,0.0,0.0,0.0,0.6,0", lines.get(1));
+        assertEquals("1.0,0.0,1.0,0.0,0.6,0.8,0.6,1", lines.get(2));
+        assertEquals("2.0,0.0,2.0,0.0,1.2,1.6,0.6,1", lines.get(3));
+    }
+
+    @Test
+    void testExportBinary() throws IOException {
+        exportedFile = Files.createTempFile("testExportTimeSeries", ".srts");
+        long ticks = new TimeSeriesExporter(exportedFile.toString()).export(view, -1, 3, 0.5);
+        assertEquals(9, ticks);
+
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(
+                Files.newInputStream(exportedFile)))) {
+            assertEquals(TimeSeriesExporter.MAGIC, in.readInt());
+            assertEquals(TimeSeriesExporter.VERSION, in.readInt());
+            assertEquals(2, in.readInt());
+            assertEquals(1, in.readInt());
+            for (String name : new String[] {"Absolute Stationary Frame", "Frame, A", "Event"}) {
+                byte[] bytes = new byte[in.readInt()];
+                in.readFully(bytes);
+                assertEquals(name, new String(bytes, StandardCharsets.UTF_8));
+            }
+            assertEquals(-1, in.readDouble());
+            assertEquals(0.5, in.readDouble());
+            assertEquals(9, in.readLong());
+            assertTrue(in.readInt() >= 9);
+            for (int f = 0; f < 2; f++) {
+                for (int k = 0; k < 9; k++) {
+                    assertEquals(view.posXAt(f, -1 + k * 0.5), in.readDouble());
+                }
+                for (int k = 0; k < 9; k++) {
+                    assertEquals(view.properTimeAt(f, -1 + k * 0.5), in.readDouble());
+                }
+                for (int k = 0; k < 9; k++) {
+                    assertEquals(view.velocityOf(f), in.readDouble());
+                }
+            }
+            for (int k = 0; k < 9; k++) {
+                assertEquals(-1 + k * 0.5 >= 1 ? 1 : 0, in.readByte());
+            }
+            assertEquals(-1, in.read());
+        }
+    }
+}